@@ -0,0 +1,137 @@
+package org.example.cache.benchmark;
+
+import com.example.cache.eviction.FifoEvictionStrategy;
+import org.example.cache.GenericConcurrentCache;
+import org.example.cache.eviction.ClockEvictionStrategy;
+import org.example.cache.eviction.EvictionStrategy;
+import org.example.cache.eviction.LruEvictionStrategy;
+import org.example.cache.eviction.TinyLfuEvictionStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Débit et latence de {@link GenericConcurrentCache} pour chaque stratégie d'éviction.
+ *
+ * <p>Les clés suivent une loi de Zipf sur un espace deux fois plus grand que le cache, de sorte
+ * que les lectures mêlent hits et misses et que les écritures déclenchent des évictions.
+ * Le nombre de threads se règle avec {@code -t} ou via {@link CacheBenchmarkRunner}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheBenchmark {
+
+    @Param({"LRU", "FIFO", "CLOCK", "TINY_LFU"})
+    public Strategy strategy;
+
+    @Param({"1000", "100000"})
+    public int maxSize;
+
+    /** Exposant de Zipf : 0 = uniforme, ~1 = distribution des requêtes JDM. */
+    @Param({"0.0", "0.99"})
+    public double skew;
+
+    @Param({"false", "true"})
+    public boolean ttl;
+
+    GenericConcurrentCache<Integer, Integer> cache;
+    ZipfKeys keys;
+
+    public enum Strategy {
+        LRU(capacity -> new LruEvictionStrategy<>()),
+        FIFO(capacity -> new FifoEvictionStrategy<>()),
+        CLOCK(capacity -> new ClockEvictionStrategy<>()),
+        TINY_LFU(TinyLfuEvictionStrategy::new);
+
+        final IntFunction<EvictionStrategy<Integer>> factory;
+
+        Strategy(IntFunction<EvictionStrategy<Integer>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GenericConcurrentCache.Builder<Integer, Integer> builder = GenericConcurrentCache.<Integer, Integer>builder()
+                .maximumSize(maxSize)
+                .evictionStrategy(strategy.factory);
+        if (ttl) {
+            // Échéance longue : on mesure le coût des vérifications, pas des expirations
+            builder.expireAfterWrite(Duration.ofMinutes(10));
+        }
+        cache = builder.build();
+        keys = new ZipfKeys(maxSize * 2, skew, 42);
+        for (int i = 0; i < maxSize; i++) {
+            cache.put(keys.key(i), i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cache.close();
+    }
+
+    /**
+     * Curseur propre à chaque thread dans la séquence de clés.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            index = ThreadLocalRandom.current().nextInt();
+        }
+
+        int next() {
+            return index++;
+        }
+    }
+
+    @Benchmark
+    public Integer get(Cursor cursor) {
+        return cache.get(keys.key(cursor.next()));
+    }
+
+    @Benchmark
+    public void put(Cursor cursor) {
+        Integer key = keys.key(cursor.next());
+        cache.put(key, key);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Integer mixedGet(Cursor cursor) {
+        return cache.get(keys.key(cursor.next()));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedPut(Cursor cursor) {
+        Integer key = keys.key(cursor.next());
+        cache.put(key, key);
+    }
+}
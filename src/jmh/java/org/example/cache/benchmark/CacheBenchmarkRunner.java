@@ -0,0 +1,40 @@
+package org.example.cache.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lance les benchmarks pour 1, 2, 4… threads jusqu'au nombre de cœurs, avec le profiler GC
+ * (taux d'allocation). Les arguments sont des options JMH classiques (filtre, -p, -f…).
+ */
+public final class CacheBenchmarkRunner {
+
+    private CacheBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            OptionsBuilder builder = new OptionsBuilder();
+            builder.parent(commandLine);
+            // Les includes s'additionnent : n'ajouter le filtre par défaut que si l'appelant n'en donne aucun
+            if (commandLine.getIncludes().isEmpty()) {
+                builder.include(CacheBenchmark.class.getSimpleName() + "\\.(get|put)$");
+            }
+            Options options = builder
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh-threads-" + threads + ".json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.cache.benchmark;
+
+import org.example.cache.Cache;
+import org.example.cache.GenericConcurrentCache;
+import org.example.jdm.CachedJdmClient;
+import org.example.jdm.JdmClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du chemin HIT de {@link CachedJdmClient} selon la façon dont il est instrumenté.
+ *
+ * <ul>
+ *   <li>{@code INFO_LOG} : l'ancien chemin, un log INFO formaté par appel (référence « avant ») ;</li>
+ *   <li>{@code TRACED} : {@link org.example.jdm.RequestTracer} actif, sans échantillonnage ;</li>
+ *   <li>{@code OFF} : traçage désactivé à chaud.</li>
+ * </ul>
+ *
+ * <p>slf4j-simple écrit sur stderr, que JMH relaie depuis le fork : on le redirige vers
+ * /dev/null, ce qui ne retire que le coût du terminal, pas celui du formatage ni de l'écriture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.logFile=/dev/null")
+public class CachedJdmClientBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedJdmClient.class);
+    private static final int TERMS = 1024;
+
+    @Param({"INFO_LOG", "TRACED", "OFF"})
+    public String instrumentation;
+
+    private Cache<String, String> cache;
+    private CachedJdmClient client;
+    private String[] terms;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = GenericConcurrentCache.<String, String>builder().maximumSize(TERMS * 2).build();
+        client = new CachedJdmClient(new ConstantJdmClient(), cache);
+        client.getTracer().setEnabled(!"OFF".equals(instrumentation));
+        terms = new String[TERMS];
+        for (int i = 0; i < TERMS; i++) {
+            terms[i] = "terme" + i;
+            client.getTermRaw(terms[i]);
+        }
+    }
+
+    @Benchmark
+    public String hit() {
+        String term = terms[cursor++ & (TERMS - 1)];
+        if ("INFO_LOG".equals(instrumentation)) {
+            return loggedHit(term);
+        }
+        return client.getTermRaw(term);
+    }
+
+    // Reproduction du chemin HIT d'avant le traçage échantillonné
+    private String loggedHit(String term) {
+        String key = "term:" + term;
+        long start = System.nanoTime();
+        String cached = cache.get(key);
+        long duration = System.nanoTime() - start;
+        LOGGER.info("Cache HIT for key={}, duration={}µs", key, duration / 1_000);
+        return cached;
+    }
+
+    private static final class ConstantJdmClient extends JdmClient {
+        @Override
+        public String getTermRaw(String term) {
+            return "{\"name\":\"" + term + "\"}";
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.cache.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cache.GenericConcurrentCache;
+import org.example.jdm.CachedJdmClient;
+import org.example.jdm.JdmClient;
+import org.example.jdm.relation.RelationParser;
+import org.example.jdm.relation.TermRelations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'une lecture « en cache » des relations d'un terme.
+ *
+ * <ul>
+ *   <li>{@code treeHit} : valeur brute en cache puis {@code readTree} à chaque appel (avant) ;</li>
+ *   <li>{@code streamingParse} : analyse en flux vers {@link TermRelations}, seule (coût d'un miss) ;</li>
+ *   <li>{@code typedHit} : {@link CachedJdmClient#getTermRelations} sur une entrée déjà parsée.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.logFile=/dev/null")
+public class RelationParsingBenchmark {
+
+    @Param({"20", "500"})
+    public int relations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RelationParser parser = new RelationParser(objectMapper.getFactory());
+    private CachedJdmClient client;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        json = relationsJson("chat", relations);
+        client = new CachedJdmClient(new JdmClient() {
+            @Override
+            public String getRelationsRaw(String term) {
+                return json;
+            }
+        }, GenericConcurrentCache.<String, String>builder().maximumSize(16).build());
+        client.getTermRelations("chat");
+    }
+
+    @Benchmark
+    public JsonNode treeHit() throws Exception {
+        return objectMapper.readTree(client.getRelationsRaw("chat"));
+    }
+
+    @Benchmark
+    public TermRelations streamingParse() {
+        return parser.parse("chat", json);
+    }
+
+    @Benchmark
+    public TermRelations typedHit() {
+        return client.getTermRelations("chat");
+    }
+
+    static String relationsJson(String term, int relations) {
+        StringBuilder sb = new StringBuilder("{\"nodes\":[{\"id\":0,\"name\":\"").append(term)
+                .append("\",\"type\":1,\"w\":100}");
+        for (int i = 1; i <= relations; i++) {
+            sb.append(",{\"id\":").append(i).append(",\"name\":\"cible").append(i)
+                    .append("\",\"type\":1,\"w\":").append(i % 300).append(",\"level\":0.5}");
+        }
+        sb.append("],\"relations\":[");
+        for (int i = 1; i <= relations; i++) {
+            if (i > 1) sb.append(',');
+            sb.append("{\"id\":").append(1000 + i).append(",\"node1\":0,\"node2\":").append(i)
+                    .append(",\"type\":").append(i % 10).append(",\"w\":").append(i % 50 - 5)
+                    .append(",\"creationdate\":\"2021-03-04\",\"touchdate\":\"2024-01-02\"}");
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.cache.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Séquence de clés précalculée suivant une loi de Zipf (exposant 0 = uniforme).
+ *
+ * <p>Les clés sont des {@code Integer} créés une fois pour toutes : la boucle mesurée ne fait
+ * qu'un accès tableau, sans autoboxing ni tirage aléatoire.
+ */
+final class ZipfKeys {
+
+    private static final int SAMPLES = 1 << 16;
+
+    private final Integer[] sequence = new Integer[SAMPLES];
+
+    ZipfKeys(int keySpace, double exponent, long seed) {
+        Integer[] keys = new Integer[keySpace];
+        for (int i = 0; i < keySpace; i++) {
+            keys[i] = i;
+        }
+        double[] cumulative = new double[keySpace];
+        double sum = 0;
+        for (int i = 0; i < keySpace; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < SAMPLES; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            sequence[i] = keys[Math.min(keySpace - 1, index >= 0 ? index : -index - 1)];
+        }
+    }
+
+    Integer key(int i) {
+        return sequence[i & (SAMPLES - 1)];
+    }
+}
@@ -1,14 +1,106 @@
 package org.example.cache;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
 public interface Cache<K, V> {
 
     V get(K key);
 
+    /**
+     * Returns the value for key, computing it with loader if absent.
+     *
+     * <p>The default implementation is a simple check-then-act: concurrent callers may
+     * each run the loader. Implementations should override it with an atomic version.
+     *
+     * @return the cached or loaded value, or null if the loader returned null
+     */
+    default V get(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(loader, "loader must not be null");
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached values of keys, in the iteration order of keys; absent keys are skipped.
+     */
+    default Map<K, V> getAll(Collection<? extends K> keys) {
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
     void put(K key, V value);
 
+    default void putAll(Map<? extends K, ? extends V> entries) {
+        for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Stores the value with its own time-to-live (optional operation).
+     *
+     * @throws UnsupportedOperationException if the cache has no per-entry expiration
+     */
+    default void put(K key, V value, Duration ttl) {
+        throw new UnsupportedOperationException("per-entry TTL is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Time elapsed since the value of key was written, used for refresh-ahead.
+     *
+     * @return the age in nanoseconds, or -1 if the key is absent or the cache does not track it
+     */
+    default long ageNanos(K key) {
+        return -1L;
+    }
+
+    /**
+     * Up to limit cached keys, hottest first, as ranked by the eviction policy (optional
+     * operation). Used to export a warm-up list; has no effect on statistics or on the policy.
+     *
+     * @return the hottest keys, or an empty list if the cache cannot rank them
+     */
+    default List<K> hottestKeys(int limit) {
+        return List.of();
+    }
+
     void invalidate(K key);
 
+    /**
+     * Removes key only if it is currently mapped to value (compared by identity).
+     *
+     * <p>The default implementation is a check-then-act; implementations should make it atomic.
+     *
+     * @return true if the entry was removed
+     */
+    default boolean invalidate(K key, V value) {
+        Objects.requireNonNull(key, "key must not be null");
+        if (value != null && get(key) == value) {
+            invalidate(key);
+            return true;
+        }
+        return false;
+    }
+
     void clear();
 
     CacheStats getStats();
-}
\ No newline at end of file
+}
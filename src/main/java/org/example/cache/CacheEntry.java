@@ -0,0 +1,80 @@
+package org.example.cache;
+
+/**
+ * Entrée stockée dans un segment de {@link GenericConcurrentCache}.
+ *
+ * <p>La valeur est immuable ; l'échéance est volatile car le mode expire-after-access la
+ * repousse sans verrou à chaque lecture. Les liens {@code prevInTimer}/{@code nextInTimer}
+ * appartiennent à la {@link TimerWheel} du segment et ne sont manipulés que sous son verrou.
+ */
+final class CacheEntry<K, V> {
+
+    static final long NO_EXPIRY = -1L;
+
+    private final K key;
+    private final V value;
+    // Durée de vie propre à l'entrée (0 = pas d'expiration)
+    private final long ttlNanos;
+    private final long writeNanos;
+    // Poids figé à l'écriture : la même valeur est retranchée quand l'entrée quitte le store
+    private final int weight;
+    private volatile long expiryNanos;
+
+    CacheEntry<K, V> prevInTimer;
+    CacheEntry<K, V> nextInTimer;
+
+    CacheEntry(K key, V value, long ttlNanos, long now) {
+        this(key, value, ttlNanos, now, 0);
+    }
+
+    CacheEntry(K key, V value, long ttlNanos, long now, int weight) {
+        this.key = key;
+        this.value = value;
+        this.ttlNanos = ttlNanos;
+        this.weight = weight;
+        this.writeNanos = now;
+        this.expiryNanos = ttlNanos > 0 ? now + ttlNanos : NO_EXPIRY;
+    }
+
+    K key() {
+        return key;
+    }
+
+    V value() {
+        return value;
+    }
+
+    int weight() {
+        return weight;
+    }
+
+    long writeNanos() {
+        return writeNanos;
+    }
+
+    long expiryNanos() {
+        return expiryNanos;
+    }
+
+    boolean expires() {
+        return expiryNanos != NO_EXPIRY;
+    }
+
+    boolean isExpired() {
+        // Pas d'appel à nanoTime pour les entrées sans échéance
+        return expiryNanos != NO_EXPIRY && System.nanoTime() - expiryNanos > 0;
+    }
+
+    boolean isExpired(long now) {
+        return expiryNanos != NO_EXPIRY && now - expiryNanos > 0;
+    }
+
+    /**
+     * Expire-after-access : repousse l'échéance d'une durée de vie complète.
+     */
+    void touch(long now) {
+        if (ttlNanos > 0) {
+            expiryNanos = now + ttlNanos;
+        }
+    }
+}
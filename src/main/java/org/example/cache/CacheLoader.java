@@ -0,0 +1,19 @@
+package org.example.cache;
+
+/**
+ * Computes the value of a key on a cache miss.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+@FunctionalInterface
+public interface CacheLoader<K, V> {
+
+    /**
+     * Loads the value associated with the key.
+     *
+     * @return the value, or null if the key has no value (nothing is cached)
+     * @throws Exception if the value cannot be loaded
+     */
+    V load(K key) throws Exception;
+}
@@ -0,0 +1,13 @@
+package org.example.cache;
+
+/**
+ * Thrown when a {@link CacheLoader} fails with a checked exception.
+ */
+public class CacheLoadingException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CacheLoadingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
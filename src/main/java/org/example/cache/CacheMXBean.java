@@ -0,0 +1,76 @@
+package org.example.cache;
+
+/**
+ * JMX view of a {@link GenericConcurrentCache}, registered by {@link CacheManagement}.
+ *
+ * <p>Counters are cumulative since the cache was created. Latencies are in nanoseconds;
+ * get latencies stay at 0 unless the cache was built with {@code recordLatency(true)}.
+ */
+public interface CacheMXBean {
+
+    int getSize();
+
+    int getMaximumSize();
+
+    int getSegmentCount();
+
+    /**
+     * Total weight of the entries, 0 if the cache has no weigher.
+     */
+    long getWeight();
+
+    /**
+     * Weight budget, {@link Long#MAX_VALUE} if the cache is bounded by entry count only.
+     */
+    long getMaximumWeight();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    double getMissRate();
+
+    long getPutCount();
+
+    long getEvictionCount();
+
+    long getExpirationCount();
+
+    long getExplicitRemovalCount();
+
+    long getLoadSuccessCount();
+
+    long getLoadFailureCount();
+
+    double getAverageLoadPenaltyNanos();
+
+    long getLoadLatencyP50Nanos();
+
+    long getLoadLatencyP99Nanos();
+
+    long getGetLatencyP50Nanos();
+
+    long getGetLatencyP99Nanos();
+
+    /**
+     * Removes every entry.
+     */
+    void clear();
+
+    /**
+     * Changes the maximum size; shrinking evicts the excess entries immediately.
+     */
+    void resize(int maximumSize);
+
+    /**
+     * Changes the weight budget of a weighted cache; shrinking evicts immediately.
+     */
+    void resizeWeight(long maximumWeight);
+
+    /**
+     * Purges expired entries now and returns how many were removed.
+     */
+    int cleanUp();
+}
@@ -0,0 +1,229 @@
+package org.example.cache;
+
+import org.example.metrics.MetricsRegistry;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publication d'un {@link GenericConcurrentCache} en MBean de plateforme
+ * ({@code org.example.cache:type=Cache,name=...}) ou dans un {@link MetricsRegistry}.
+ *
+ * <p>Les valeurs sont lues à la demande depuis {@link GenericConcurrentCache#getStats()} :
+ * la publication ne coûte rien sur le chemin de lecture du cache.
+ */
+public final class CacheManagement {
+
+    private static final String DOMAIN = "org.example.cache";
+
+    private CacheManagement() {
+    }
+
+    public static ObjectName objectName(String name) {
+        try {
+            return new ObjectName(DOMAIN + ":type=Cache,name=" + ObjectName.quote(name));
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid cache name: " + name, e);
+        }
+    }
+
+    /**
+     * Enregistre le cache sur le MBeanServer de la plateforme.
+     *
+     * @throws IllegalStateException si un cache de ce nom est déjà enregistré
+     */
+    public static ObjectName register(String name, GenericConcurrentCache<?, ?> cache) {
+        return register(ManagementFactory.getPlatformMBeanServer(), name, cache);
+    }
+
+    public static ObjectName register(MBeanServer server, String name, GenericConcurrentCache<?, ?> cache) {
+        Objects.requireNonNull(cache, "cache must not be null");
+        ObjectName objectName = objectName(name);
+        try {
+            server.registerMBean(new CacheView(cache), objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Cache MBean already registered: " + objectName, e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register cache MBean " + objectName, e);
+        }
+        return objectName;
+    }
+
+    /**
+     * Retire le MBean du cache de ce nom (sans effet s'il n'est pas enregistré).
+     */
+    public static void unregister(String name) {
+        unregister(ManagementFactory.getPlatformMBeanServer(), name);
+    }
+
+    public static void unregister(MBeanServer server, String name) {
+        try {
+            server.unregisterMBean(objectName(name));
+        } catch (InstanceNotFoundException e) {
+            // déjà retiré
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister cache MBean " + name, e);
+        }
+    }
+
+    /**
+     * Publie les jauges {@code cache.*} du cache, avec le tag {@code cache=name}.
+     */
+    public static void bindTo(MetricsRegistry registry, String name, GenericConcurrentCache<?, ?> cache) {
+        Map<String, String> tags = Map.of("cache", name);
+        registry.gauge("cache.size", tags, cache::size);
+        registry.gauge("cache.capacity", tags, cache::maxSize);
+        registry.gauge("cache.weight", tags, cache::weight);
+        gauge(registry, "cache.hits", tags, cache, CacheStats::hits);
+        gauge(registry, "cache.misses", tags, cache, CacheStats::misses);
+        gauge(registry, "cache.hit.rate", tags, cache, CacheStats::hitRate);
+        gauge(registry, "cache.miss.rate", tags, cache, CacheStats::missRate);
+        gauge(registry, "cache.puts", tags, cache, CacheStats::puts);
+        gauge(registry, "cache.evictions", tags, cache, CacheStats::evictions);
+        gauge(registry, "cache.expirations", tags, cache, CacheStats::expirations);
+        gauge(registry, "cache.load.successes", tags, cache, CacheStats::loadSuccesses);
+        gauge(registry, "cache.load.failures", tags, cache, CacheStats::loadFailures);
+        gauge(registry, "cache.load.latency.p99", tags, cache, s -> s.loadLatency().percentileNanos(99));
+    }
+
+    private static void gauge(MetricsRegistry registry, String metric, Map<String, String> tags,
+                              GenericConcurrentCache<?, ?> cache, ToDoubleFunction<CacheStats> value) {
+        registry.gauge(metric, tags, () -> value.applyAsDouble(cache.getStats()));
+    }
+
+    private static final class CacheView implements CacheMXBean {
+        private final GenericConcurrentCache<?, ?> cache;
+
+        CacheView(GenericConcurrentCache<?, ?> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public int getSize() {
+            return cache.size();
+        }
+
+        @Override
+        public int getMaximumSize() {
+            return cache.maxSize();
+        }
+
+        @Override
+        public int getSegmentCount() {
+            return cache.segmentCount();
+        }
+
+        @Override
+        public long getWeight() {
+            return cache.weight();
+        }
+
+        @Override
+        public long getMaximumWeight() {
+            return cache.maxWeight();
+        }
+
+        @Override
+        public long getHitCount() {
+            return cache.getStats().hits();
+        }
+
+        @Override
+        public long getMissCount() {
+            return cache.getStats().misses();
+        }
+
+        @Override
+        public double getHitRate() {
+            return cache.getStats().hitRate();
+        }
+
+        @Override
+        public double getMissRate() {
+            return cache.getStats().missRate();
+        }
+
+        @Override
+        public long getPutCount() {
+            return cache.getStats().puts();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return cache.getStats().evictions();
+        }
+
+        @Override
+        public long getExpirationCount() {
+            return cache.getStats().expirations();
+        }
+
+        @Override
+        public long getExplicitRemovalCount() {
+            return cache.getStats().removals(RemovalCause.EXPLICIT);
+        }
+
+        @Override
+        public long getLoadSuccessCount() {
+            return cache.getStats().loadSuccesses();
+        }
+
+        @Override
+        public long getLoadFailureCount() {
+            return cache.getStats().loadFailures();
+        }
+
+        @Override
+        public double getAverageLoadPenaltyNanos() {
+            return cache.getStats().averageLoadPenaltyNanos();
+        }
+
+        @Override
+        public long getLoadLatencyP50Nanos() {
+            return cache.getStats().loadLatency().percentileNanos(50);
+        }
+
+        @Override
+        public long getLoadLatencyP99Nanos() {
+            return cache.getStats().loadLatency().percentileNanos(99);
+        }
+
+        @Override
+        public long getGetLatencyP50Nanos() {
+            return cache.getStats().getLatency().percentileNanos(50);
+        }
+
+        @Override
+        public long getGetLatencyP99Nanos() {
+            return cache.getStats().getLatency().percentileNanos(99);
+        }
+
+        @Override
+        public void clear() {
+            cache.clear();
+        }
+
+        @Override
+        public void resize(int maximumSize) {
+            cache.resize(maximumSize);
+        }
+
+        @Override
+        public void resizeWeight(long maximumWeight) {
+            cache.resizeWeight(maximumWeight);
+        }
+
+        @Override
+        public int cleanUp() {
+            return cache.cleanUp();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.cache;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ordonnanceur partagé par les caches pour leurs tâches de fond (expiration, rafraîchissement).
+ *
+ * <p>Un seul thread démon : les tâches planifiées doivent rester courtes.
+ */
+final class CacheScheduler {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ScheduledExecutorService SHARED =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cache-scheduler-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private CacheScheduler() {
+    }
+
+    static ScheduledExecutorService shared() {
+        return SHARED;
+    }
+}
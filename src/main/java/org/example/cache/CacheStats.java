@@ -1,20 +1,55 @@
 package org.example.cache;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * Immutable statistics for a cache instance.
+ *
+ * <p>Counters are cumulative since the cache was created; {@link #minus(CacheStats)} turns two
+ * snapshots into the activity of the interval between them (for rates on dashboards).
  */
 public final class CacheStats {
 
+    private static final int CAUSES = RemovalCause.values().length;
+
     private final long hits;
     private final long misses;
     private final long puts;
+    private final long loadSuccesses;
+    private final long loadFailures;
+    private final long totalLoadTimeNanos;
+    private final long[] removals;
+    private final LatencyHistogram.Snapshot getLatency;
+    private final LatencyHistogram.Snapshot loadLatency;
 
     public CacheStats(long hits, long misses, long puts) {
+        this(hits, misses, puts, 0L, 0L, 0L);
+    }
+
+    public CacheStats(long hits, long misses, long puts,
+                      long loadSuccesses, long loadFailures, long totalLoadTimeNanos) {
+        this(hits, misses, puts, loadSuccesses, loadFailures, totalLoadTimeNanos,
+                new long[CAUSES], LatencyHistogram.Snapshot.EMPTY, LatencyHistogram.Snapshot.EMPTY);
+    }
+
+    /**
+     * @param removals nombre de suppressions indexé par {@link RemovalCause#ordinal()}
+     */
+    public CacheStats(long hits, long misses, long puts,
+                      long loadSuccesses, long loadFailures, long totalLoadTimeNanos,
+                      long[] removals,
+                      LatencyHistogram.Snapshot getLatency, LatencyHistogram.Snapshot loadLatency) {
+        if (removals.length != CAUSES) throw new IllegalArgumentException("one counter per RemovalCause expected");
         this.hits = hits;
         this.misses = misses;
         this.puts = puts;
+        this.loadSuccesses = loadSuccesses;
+        this.loadFailures = loadFailures;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.removals = removals.clone();
+        this.getLatency = Objects.requireNonNull(getLatency);
+        this.loadLatency = Objects.requireNonNull(loadLatency);
     }
 
     public long hits() {
@@ -29,6 +64,59 @@ public final class CacheStats {
         return puts;
     }
 
+    public long loadSuccesses() {
+        return loadSuccesses;
+    }
+
+    public long loadFailures() {
+        return loadFailures;
+    }
+
+    public long totalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    public long loads() {
+        return loadSuccesses + loadFailures;
+    }
+
+    public double averageLoadPenaltyNanos() {
+        long loads = loads();
+        if (loads == 0) {
+            return 0.0;
+        }
+        return (double) totalLoadTimeNanos / (double) loads;
+    }
+
+    /**
+     * Number of entries removed for the given cause.
+     */
+    public long removals(RemovalCause cause) {
+        return removals[cause.ordinal()];
+    }
+
+    /**
+     * Number of entries evicted to respect the capacity.
+     */
+    public long evictions() {
+        return removals(RemovalCause.SIZE);
+    }
+
+    public long expirations() {
+        return removals(RemovalCause.EXPIRED);
+    }
+
+    /**
+     * Latency of get calls; empty unless latency recording is enabled on the cache.
+     */
+    public LatencyHistogram.Snapshot getLatency() {
+        return getLatency;
+    }
+
+    public LatencyHistogram.Snapshot loadLatency() {
+        return loadLatency;
+    }
+
     public long requests() {
         return hits + misses;
     }
@@ -49,16 +137,39 @@ public final class CacheStats {
         return (double) misses / (double) requests;
     }
 
+    /**
+     * Activity between previous and this snapshot (negative differences are clamped to 0).
+     */
+    public CacheStats minus(CacheStats previous) {
+        long[] removalDelta = new long[CAUSES];
+        for (int i = 0; i < CAUSES; i++) {
+            removalDelta[i] = Math.max(0L, removals[i] - previous.removals[i]);
+        }
+        return new CacheStats(
+                Math.max(0L, hits - previous.hits),
+                Math.max(0L, misses - previous.misses),
+                Math.max(0L, puts - previous.puts),
+                Math.max(0L, loadSuccesses - previous.loadSuccesses),
+                Math.max(0L, loadFailures - previous.loadFailures),
+                Math.max(0L, totalLoadTimeNanos - previous.totalLoadTimeNanos),
+                removalDelta,
+                getLatency.minus(previous.getLatency),
+                loadLatency.minus(previous.loadLatency));
+    }
+
     public CacheStats addHit() {
-        return new CacheStats(hits + 1, misses, puts);
+        return new CacheStats(hits + 1, misses, puts, loadSuccesses, loadFailures, totalLoadTimeNanos,
+                removals, getLatency, loadLatency);
     }
 
     public CacheStats addMiss() {
-        return new CacheStats(hits, misses + 1, puts);
+        return new CacheStats(hits, misses + 1, puts, loadSuccesses, loadFailures, totalLoadTimeNanos,
+                removals, getLatency, loadLatency);
     }
 
     public CacheStats addPut() {
-        return new CacheStats(hits, misses, puts + 1);
+        return new CacheStats(hits, misses, puts + 1, loadSuccesses, loadFailures, totalLoadTimeNanos,
+                removals, getLatency, loadLatency);
     }
 
     @Override
@@ -67,11 +178,18 @@ public final class CacheStats {
                 "hits=" + hits +
                 ", misses=" + misses +
                 ", puts=" + puts +
+                ", loadSuccesses=" + loadSuccesses +
+                ", loadFailures=" + loadFailures +
+                ", totalLoadTimeNanos=" + totalLoadTimeNanos +
+                ", evictions=" + evictions() +
+                ", expirations=" + expirations() +
+                ", explicitRemovals=" + removals(RemovalCause.EXPLICIT) +
                 ", hitRate=" + hitRate() +
                 ", missRate=" + missRate() +
                 '}';
     }
 
+    // Les histogrammes ne participent pas à l'égalité : ce sont des vues dérivées des compteurs
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -79,11 +197,16 @@ public final class CacheStats {
         CacheStats that = (CacheStats) o;
         return hits == that.hits &&
                 misses == that.misses &&
-                puts == that.puts;
+                puts == that.puts &&
+                loadSuccesses == that.loadSuccesses &&
+                loadFailures == that.loadFailures &&
+                totalLoadTimeNanos == that.totalLoadTimeNanos &&
+                Arrays.equals(removals, that.removals);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(hits, misses, puts);
+        return Objects.hash(hits, misses, puts, loadSuccesses, loadFailures, totalLoadTimeNanos,
+                Arrays.hashCode(removals));
     }
-}
\ No newline at end of file
+}
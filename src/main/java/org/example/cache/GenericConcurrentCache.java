@@ -3,15 +3,29 @@ package org.example.cache;
 
 
 import org.example.cache.eviction.EvictionStrategy;
+import org.example.cache.eviction.LruEvictionStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.time.Instant;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * Cache générique concurrent implémentant plusieurs stratégies d’éviction.
@@ -21,33 +35,105 @@ import java.util.concurrent.locks.ReentrantLock;
  * - Performant : opérations get/put en O(1)
  * - Extensible via un pattern Strategy (EvictionStrategy)
  * - Support optionnel du TTL
+ * - Chargement atomique par clé via {@link #get(Object, Function)}
+ * - Mode segmenté optionnel : N segments choisis par hash de clé, chacun avec sa part de
+ *   capacité, sa propre stratégie d'éviction et son propre verrou. Les évictions de segments
+ *   différents s'exécutent en parallèle et la borne de taille est tenue à quelques entrées près
+ *   (au plus une par put concurrent en cours dans le segment).
+ * - Expiration : TTL après écriture ou après accès, TTL par entrée ({@link #put(Object, Object, Duration)}),
+ *   vérifiée paresseusement à la lecture et, en option, purgée en arrière-plan par une
+ *   {@link TimerWheel} par segment pilotée par un ordonnanceur partagé.
+ * - Borne en poids optionnelle ({@link Builder#maximumWeight(long)} + {@link Weigher}) : chaque
+ *   segment tient un poids total, ajusté à chaque entrée qui entre ou sort du store par
+ *   l'opération même qui l'a insérée ou retirée, et évince tant que son budget est dépassé.
+ * - Notification des suppressions ({@link Builder#removalListener(RemovalListener)}) avec leur cause.
+ *
+ * <p>Les options avancées se configurent via {@link #builder()}.
  *
  * @param <K> type de la clé
  * @param <V> type de la valeur
  */
-public final class GenericConcurrentCache<K, V> implements Cache<K, V> {
+public final class GenericConcurrentCache<K, V> implements Cache<K, V>, AutoCloseable {
 
-    private final ConcurrentHashMap<K, CacheEntry<V>> store;
-    private final EvictionStrategy<K> evictionStrategy;
-    private final int maxSize;
-    private final long ttlNanos;
-    private final boolean useTtl;
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenericConcurrentCache.class);
 
-    // Lock dédié uniquement à l’éviction (et non à tous les puts)
-    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Segment<K, V>[] segments;
+    private volatile int maxSize;
+    private volatile long maxWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long ttlNanos;
+    private final boolean expireAfterAccess;
+    private final ScheduledFuture<?> expiryTask;
 
-    // Stats avec LongAdder pour limiter la contention
-    private final LongAdder hits = new LongAdder();
-    private final LongAdder misses = new LongAdder();
+    // Compteurs striés (LongAdder) pour limiter la contention
+    private final StatsCounter stats;
 
     public GenericConcurrentCache(int maxSize, long ttlMillis, EvictionStrategy<K> evictionStrategy) {
+        this(GenericConcurrentCache.<K, V>builder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(Math.max(0, ttlMillis)))
+                .evictionStrategy(evictionStrategy));
+    }
+
+    /**
+     * Cache segmenté.
+     *
+     * @param strategyFactory crée la stratégie d'un segment à partir de la capacité de ce segment
+     * @param segmentCount    nombre de segments (1 = comportement non segmenté)
+     */
+    public GenericConcurrentCache(int maxSize, long ttlMillis,
+                                  IntFunction<? extends EvictionStrategy<K>> strategyFactory,
+                                  int segmentCount) {
+        this(GenericConcurrentCache.<K, V>builder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(Math.max(0, ttlMillis)))
+                .evictionStrategy(strategyFactory)
+                .segments(segmentCount));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private GenericConcurrentCache(Builder<K, V> builder) {
+        int segmentCount = builder.segmentCount;
+        boolean weighted = builder.weigher != null;
+        if (weighted != builder.maxWeight > 0) {
+            throw new IllegalStateException("maximumWeight and weigher must be set together");
+        }
+        // Borné en poids, le nombre d'entrées n'est limité que si maximumSize est aussi donné
+        int maxSize = weighted && builder.maxSize == 0 ? Integer.MAX_VALUE : builder.maxSize;
         if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be > 0");
+        if (segmentCount <= 0) throw new IllegalArgumentException("segmentCount must be > 0");
+        if (segmentCount > maxSize) throw new IllegalArgumentException("segmentCount must be <= maxSize");
+        if (builder.sharedStrategy && segmentCount > 1) {
+            throw new IllegalStateException("a single evictionStrategy instance requires segments(1); pass a factory");
+        }
+        if (weighted && segmentCount > builder.maxWeight) {
+            throw new IllegalArgumentException("segmentCount must be <= maxWeight");
+        }
         this.maxSize = maxSize;
-        this.ttlNanos = ttlMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(ttlMillis) : 0L;
-        this.useTtl = ttlMillis > 0;
-        this.evictionStrategy = Objects.requireNonNull(evictionStrategy);
-        // Pré-dimensionnement pour limiter les réallocations
-        this.store = new ConcurrentHashMap<>(maxSize * 2);
+        this.weigher = builder.weigher;
+        this.maxWeight = weighted ? builder.maxWeight : Long.MAX_VALUE;
+        this.ttlNanos = builder.ttlNanos;
+        this.expireAfterAccess = builder.expireAfterAccess;
+        this.stats = new StatsCounter(builder.recordLatency);
+        boolean useTimerWheel = builder.expiryTickNanos > 0;
+        long now = System.nanoTime();
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int capacity = segmentCapacity(maxSize, segmentCount, i);
+            // Sans borne en nombre, les stratégies dimensionnées (TinyLFU) reçoivent une estimation
+            int expectedEntries = maxSize == Integer.MAX_VALUE
+                    ? Math.max(1, segmentCapacity(builder.expectedEntries, segmentCount, i)) : capacity;
+            EvictionStrategy<K> strategy = Objects.requireNonNull(builder.strategyFactory.apply(expectedEntries));
+            segments[i] = new Segment<>(capacity, segmentWeight(maxWeight, segmentCount, i), expectedEntries,
+                    strategy, useTimerWheel ? new TimerWheel<>(now) : null, stats, builder.removalListener);
+        }
+        this.expiryTask = useTimerWheel
+                ? ExpiryTask.schedule(this, builder.scheduler, builder.expiryTickNanos)
+                : null;
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
     }
 
     /**
@@ -58,22 +144,166 @@ public final class GenericConcurrentCache<K, V> implements Cache<K, V> {
     @Override
     public V get(K key) {
         Objects.requireNonNull(key, "key must not be null");
-        CacheEntry<V> entry = store.get(key);
+        if (!stats.recordsGetLatency()) {
+            return lookup(key);
+        }
+        long start = System.nanoTime();
+        try {
+            return lookup(key);
+        } finally {
+            stats.recordGetLatency(System.nanoTime() - start);
+        }
+    }
+
+    private V lookup(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        CacheEntry<K, V> entry = segment.store.get(key);
         if (entry == null) {
-            misses.increment();
+            stats.recordMiss();
             return null;
         }
-        if (useTtl && entry.isExpired()) {
-            // Nettoyage paresseux
-            invalidate(key);
-            misses.increment();
-            return null;
+        if (entry.expires()) {
+            long now = System.nanoTime();
+            if (entry.isExpired(now)) {
+                // Nettoyage paresseux (conditionnel : ne supprime pas une valeur fraîchement réécrite)
+                segment.remove(entry, RemovalCause.EXPIRED);
+                stats.recordMiss();
+                return null;
+            }
+            if (expireAfterAccess) {
+                entry.touch(now);
+            }
         }
-        hits.increment();
-        evictionStrategy.onGet(key);
+        stats.recordHit();
+        segment.evictionStrategy.onGet(key);
         return entry.value();
     }
 
+    /**
+     * Lecture groupée en une passe ; les statistiques sont mises à jour une seule fois.
+     *
+     * @pre keys != null, sans clé null
+     * @post renvoie les valeurs présentes et non expirées, dans l'ordre de keys
+     */
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        Map<K, V> result = new LinkedHashMap<>(Math.max(16, keys.size() * 4 / 3 + 1));
+        long now = System.nanoTime();
+        long hitCount = 0;
+        long missCount = 0;
+        for (K key : keys) {
+            Objects.requireNonNull(key, "key must not be null");
+            if (result.containsKey(key)) {
+                continue; // clé en double dans le lot
+            }
+            Segment<K, V> segment = segmentFor(key);
+            CacheEntry<K, V> entry = segment.store.get(key);
+            if (entry == null) {
+                missCount++;
+                continue;
+            }
+            if (entry.isExpired(now)) {
+                segment.remove(entry, RemovalCause.EXPIRED);
+                missCount++;
+                continue;
+            }
+            if (expireAfterAccess) {
+                entry.touch(now);
+            }
+            segment.evictionStrategy.onGet(key);
+            result.put(key, entry.value());
+            hitCount++;
+        }
+        stats.recordHits(hitCount);
+        stats.recordMisses(missCount);
+        return result;
+    }
+
+    /**
+     * Chargement atomique : au plus un appel du loader par clé à un instant donné.
+     *
+     * <p>Repose sur {@link ConcurrentHashMap#compute} : seuls les écrivains de la même
+     * case de la table attendent pendant le chargement, les lectures ({@link #get(Object)})
+     * ne sont jamais bloquées. Le loader ne doit pas modifier ce cache.
+     *
+     * @pre key != null && loader != null
+     * @post renvoie la valeur présente et non expirée, sinon la valeur chargée (null si le loader renvoie null)
+     * @post incrémente hit ou miss, et loadSuccess/loadFailure en cas de chargement
+     */
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(loader, "loader must not be null");
+        if (!stats.recordsGetLatency()) {
+            return getOrLoad(key, loader);
+        }
+        long start = System.nanoTime();
+        try {
+            return getOrLoad(key, loader);
+        } finally {
+            stats.recordGetLatency(System.nanoTime() - start);
+        }
+    }
+
+    private V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        // Chemin rapide sans verrou pour les hits
+        Segment<K, V> segment = segmentFor(key);
+        CacheEntry<K, V> entry = segment.store.get(key);
+        if (entry != null && !entry.isExpired()) {
+            if (expireAfterAccess && entry.expires()) {
+                entry.touch(System.nanoTime());
+            }
+            stats.recordHit();
+            segment.evictionStrategy.onGet(key);
+            return entry.value();
+        }
+
+        LoadOutcome<K, V> outcome = new LoadOutcome<>();
+        CacheEntry<K, V> result = segment.store.compute(key, (k, current) -> {
+            if (current != null && !current.isExpired()) {
+                return current;
+            }
+            outcome.previous = current;
+            outcome.loaded = true;
+            long start = System.nanoTime();
+            V value;
+            try {
+                value = loader.apply(k);
+            } catch (RuntimeException | Error e) {
+                stats.recordLoadFailure(System.nanoTime() - start);
+                throw e;
+            }
+            long end = System.nanoTime();
+            if (value == null) {
+                stats.recordLoadFailure(end - start);
+                return null;
+            }
+            stats.recordLoadSuccess(end - start);
+            return newEntry(k, value, ttlNanos, end);
+        });
+
+        if (!outcome.loaded) {
+            stats.recordHit();
+            segment.evictionStrategy.onGet(key);
+            return result.value();
+        }
+        stats.recordMiss();
+        if (outcome.previous != null) {
+            segment.notifyRemoval(outcome.previous, RemovalCause.EXPIRED);
+        }
+        segment.adjustWeight(outcome.previous, result);
+        segment.updateTimer(outcome.previous, result);
+        if (result == null) {
+            if (outcome.previous != null) {
+                segment.evictionStrategy.onRemove(key);
+            }
+            return null;
+        }
+        segment.evictionStrategy.onPut(key);
+        segment.enforceCapacityIfNeeded();
+        return result.value();
+    }
+
     /**
      * @pre key != null && value != null
      * @post le cache contient la paire (key, value)
@@ -82,61 +312,667 @@ public final class GenericConcurrentCache<K, V> implements Cache<K, V> {
     @Override
     public void put(K key, V value) {
         Objects.requireNonNull(key, "key must not be null");
-        long expiry = useTtl ? System.nanoTime() + ttlNanos : CacheEntry.NO_EXPIRY;
-        store.put(key, new CacheEntry<>(value, expiry));
-        evictionStrategy.onPut(key);
-        enforceCapacityIfNeeded();
+        putEntry(key, value, ttlNanos);
     }
 
-    private void enforceCapacityIfNeeded() {
-        // Check rapide, sans lock
-        if (store.size() <= maxSize) return;
+    /**
+     * Insère une entrée avec sa propre durée de vie, quelle que soit la configuration du cache.
+     * En mode expire-after-access, chaque lecture repousse l'échéance de cette durée.
+     *
+     * @pre key != null && ttl > 0
+     * @post le cache contient la paire (key, value) jusqu'à expiration de ttl
+     */
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(ttl, "ttl must not be null");
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("ttl must be > 0");
+        putEntry(key, value, ttl.toNanos());
+    }
 
-        // On essaie de prendre le lock; si on échoue, un autre thread est déjà en train d'évincer
-        if (!evictionLock.tryLock()) {
-            return;
+    /**
+     * Écriture groupée : la capacité n'est vérifiée qu'une fois par segment touché, en fin de lot.
+     */
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        boolean[] touched = new boolean[segments.length];
+        long now = System.nanoTime();
+        for (Map.Entry<? extends K, ? extends V> e : entries.entrySet()) {
+            K key = Objects.requireNonNull(e.getKey(), "key must not be null");
+            int index = segmentIndex(key);
+            Segment<K, V> segment = segments[index];
+            CacheEntry<K, V> entry = newEntry(key, e.getValue(), ttlNanos, now);
+            CacheEntry<K, V> previous = segment.store.put(key, entry);
+            segment.adjustWeight(previous, entry);
+            segment.updateTimer(previous, entry);
+            segment.evictionStrategy.onPut(key);
+            stats.recordPut();
+            if (previous != null) {
+                segment.notifyRemoval(previous, RemovalCause.REPLACED);
+            }
+            touched[index] = true;
         }
-        try {
-            while (store.size() > maxSize) {
-                evictionStrategy
-                        .selectKeyToEvict()
-                        .ifPresentOrElse(
-                                store::remove,
-                                () -> { /* plus rien à évincer, on sort */ });
+        for (int i = 0; i < segments.length; i++) {
+            if (touched[i]) {
+                segments[i].enforceCapacityIfNeeded();
             }
-        } finally {
-            evictionLock.unlock();
         }
     }
 
+    private void putEntry(K key, V value, long entryTtlNanos) {
+        Segment<K, V> segment = segmentFor(key);
+        CacheEntry<K, V> entry = newEntry(key, value, entryTtlNanos, System.nanoTime());
+        CacheEntry<K, V> previous = segment.store.put(key, entry);
+        segment.adjustWeight(previous, entry);
+        segment.updateTimer(previous, entry);
+        segment.evictionStrategy.onPut(key);
+        stats.recordPut();
+        if (previous != null) {
+            segment.notifyRemoval(previous, RemovalCause.REPLACED);
+        }
+        segment.enforceCapacityIfNeeded();
+    }
+
+    private CacheEntry<K, V> newEntry(K key, V value, long entryTtlNanos, long now) {
+        if (weigher == null) {
+            return new CacheEntry<>(key, value, entryTtlNanos, now);
+        }
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) throw new IllegalArgumentException("weight must be >= 0: " + weight);
+        return new CacheEntry<>(key, value, entryTtlNanos, now, weight);
+    }
+
+    /**
+     * Âge de l'entrée depuis sa dernière écriture, sans effet sur les statistiques ni sur la stratégie.
+     *
+     * @return l'âge en nanosecondes, ou -1 si la clé est absente ou expirée
+     */
+    @Override
+    public long ageNanos(K key) {
+        Objects.requireNonNull(key, "key must not be null");
+        CacheEntry<K, V> entry = segmentFor(key).store.get(key);
+        if (entry == null) {
+            return -1L;
+        }
+        long now = System.nanoTime();
+        return entry.isExpired(now) ? -1L : now - entry.writeNanos();
+    }
+
     @Override
     public void invalidate(K key) {
         Objects.requireNonNull(key, "key must not be null");
-        store.remove(key);
-        evictionStrategy.onRemove(key);
+        Segment<K, V> segment = segmentFor(key);
+        CacheEntry<K, V> removed = segment.store.remove(key);
+        segment.evictionStrategy.onRemove(key);
+        segment.adjustWeight(removed, null);
+        segment.updateTimer(removed, null);
+        if (removed != null) {
+            segment.notifyRemoval(removed, RemovalCause.EXPLICIT);
+        }
+    }
+
+    /**
+     * Suppression conditionnelle atomique : seulement si la valeur courante est value (identité).
+     */
+    @Override
+    public boolean invalidate(K key, V value) {
+        Objects.requireNonNull(key, "key must not be null");
+        Segment<K, V> segment = segmentFor(key);
+        CacheEntry<K, V> entry = segment.store.get(key);
+        return entry != null && entry.value() == value && segment.remove(entry, RemovalCause.EXPLICIT);
     }
 
     @Override
     public void clear() {
-        store.clear();
-        // Éventuellement : réinitialiser la stratégie si besoin
+        for (Segment<K, V> segment : segments) {
+            // Suppression clé par clé pour garder la stratégie cohérente avec le store
+            for (K key : segment.store.keySet()) {
+                CacheEntry<K, V> removed = segment.store.remove(key);
+                if (removed != null) {
+                    segment.evictionStrategy.onRemove(key);
+                    segment.adjustWeight(removed, null);
+                    segment.updateTimer(removed, null);
+                    segment.notifyRemoval(removed, RemovalCause.EXPLICIT);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parcourt les entrées non expirées, sans effet sur les statistiques ni sur la stratégie.
+     * Vue faiblement cohérente : les écritures concurrentes peuvent être vues ou non.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action, "action must not be null");
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            for (CacheEntry<K, V> entry : segment.store.values()) {
+                if (!entry.isExpired(now)) {
+                    action.accept(entry.key(), entry.value());
+                }
+            }
+        }
+    }
+
+    /**
+     * Clés les plus chaudes d'après la stratégie d'éviction de chaque segment, limitées aux
+     * entrées présentes et non expirées. Les classements de segments différents ne sont pas
+     * comparables : ils sont entrelacés (le 1er de chaque segment, puis le 2e, etc.). Une
+     * stratégie qui ne classe pas ses clés est remplacée par l'ordre du store.
+     */
+    @Override
+    public List<K> hottestKeys(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("limit must be >= 0");
+        long now = System.nanoTime();
+        List<List<K>> ranked = new ArrayList<>(segments.length);
+        for (Segment<K, V> segment : segments) {
+            List<K> keys = segment.evictionStrategy.hottestKeys(limit);
+            if (keys.isEmpty()) {
+                keys = new ArrayList<>(segment.store.keySet());
+            }
+            List<K> live = new ArrayList<>(Math.min(limit, keys.size()));
+            for (K key : keys) {
+                CacheEntry<K, V> entry = segment.store.get(key);
+                if (entry != null && !entry.isExpired(now)) {
+                    live.add(key);
+                    if (live.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+            ranked.add(live);
+        }
+        List<K> hottest = new ArrayList<>(limit);
+        for (int rank = 0; hottest.size() < limit; rank++) {
+            boolean any = false;
+            for (List<K> keys : ranked) {
+                if (rank < keys.size() && hottest.size() < limit) {
+                    hottest.add(keys.get(rank));
+                    any = true;
+                }
+            }
+            if (!any) {
+                break;
+            }
+        }
+        return hottest;
+    }
+
+    /**
+     * Purge immédiatement les entrées expirées : via la roue temporelle si l'expiration en
+     * arrière-plan est active, sinon par un parcours complet du store.
+     *
+     * @return le nombre d'entrées supprimées
+     */
+    public int cleanUp() {
+        long now = System.nanoTime();
+        int expired = 0;
+        for (Segment<K, V> segment : segments) {
+            expired += segment.expireEntries(now);
+        }
+        return expired;
+    }
+
+    /**
+     * Arrête la tâche d'expiration en arrière-plan (sans effet sinon). Le cache reste utilisable.
+     */
+    @Override
+    public void close() {
+        if (expiryTask != null) {
+            expiryTask.cancel(false);
+        }
+    }
+
+    /**
+     * Nombre d'entrées actuellement stockées (y compris celles expirées mais pas encore nettoyées).
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.store.size();
+        }
+        return size;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Poids total des entrées stockées (0 si le cache n'a pas de {@link Weigher}).
+     */
+    public long weight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            weight += segment.weight.get();
+        }
+        return weight;
+    }
+
+    /**
+     * Budget de poids, ou {@link Long#MAX_VALUE} si le cache n'est borné qu'en nombre d'entrées.
+     */
+    public long maxWeight() {
+        return maxWeight;
     }
 
+    /**
+     * Change le budget de poids à chaud ; en cas de réduction, les entrées en trop sont évincées.
+     *
+     * @throws IllegalStateException si le cache n'a pas été construit avec un {@link Weigher}
+     */
+    public void resizeWeight(long maxWeight) {
+        if (weigher == null) throw new IllegalStateException("cache is not weighted");
+        if (maxWeight < segments.length) throw new IllegalArgumentException("maxWeight must be >= segmentCount");
+        this.maxWeight = maxWeight;
+        for (int i = 0; i < segments.length; i++) {
+            segments[i].maxWeight = segmentWeight(maxWeight, segments.length, i);
+            segments[i].enforceCapacityIfNeeded();
+        }
+    }
+
+    /**
+     * Change la capacité à chaud. En cas de réduction, les entrées en trop sont évincées
+     * immédiatement par la stratégie de chaque segment.
+     *
+     * @pre segmentCount() <= maxSize
+     */
+    public void resize(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be > 0");
+        if (segments.length > maxSize) throw new IllegalArgumentException("maxSize must be >= segmentCount");
+        this.maxSize = maxSize;
+        for (int i = 0; i < segments.length; i++) {
+            segments[i].capacity = segmentCapacity(maxSize, segments.length, i);
+            segments[i].enforceCapacityIfNeeded();
+        }
+    }
+
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Instantané des compteurs cumulés ; deux instantanés se soustraient via {@link CacheStats#minus}.
+     */
     @Override
     public CacheStats getStats() {
-        long h = hits.sum();
-        long m = misses.sum();
-        long total = h + m;
-        double hitRate = total == 0 ? 0.0 : (double) h / total;
-        return new CacheStats(h, m, (long) hitRate);
+        return stats.snapshot();
     }
 
-    // CacheEntry record interne
-    private record CacheEntry<V>(V value, long expiryNanos) {
-        static final long NO_EXPIRY = -1L;
+    // Répartition exacte : la somme des capacités vaut maxSize
+    private static int segmentCapacity(int maxSize, int segmentCount, int index) {
+        return maxSize / segmentCount + (index < maxSize % segmentCount ? 1 : 0);
+    }
+
+    private static long segmentWeight(long maxWeight, int segmentCount, int index) {
+        if (maxWeight == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return maxWeight / segmentCount + (index < maxWeight % segmentCount ? 1 : 0);
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        return segments[segmentIndex(key)];
+    }
+
+    private int segmentIndex(K key) {
+        if (segments.length == 1) {
+            return 0;
+        }
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h * 0x9E3779B9, segments.length);
+    }
+
+    /**
+     * Segment : store, stratégie et verrou d'éviction propres, avec une part de la capacité.
+     * Le verrou protège aussi la roue temporelle du segment.
+     */
+    private static final class Segment<K, V> {
+        final ConcurrentHashMap<K, CacheEntry<K, V>> store;
+        final EvictionStrategy<K> evictionStrategy;
+        volatile int capacity;
+        volatile long maxWeight;
+        // Somme des poids des entrées du store ; reste à 0 sans Weigher (aucune écriture partagée)
+        final AtomicLong weight = new AtomicLong();
+        final TimerWheel<K, V> timerWheel;
+        final StatsCounter stats;
+        final RemovalListener<? super K, ? super V> removalListener;
+
+        // Lock dédié uniquement à l’éviction (et non à tous les puts)
+        final ReentrantLock evictionLock = new ReentrantLock();
+        // Mises à jour de la roue en attente : appliquées par qui obtient evictionLock
+        final ConcurrentLinkedQueue<TimerUpdate<K, V>> timerUpdates = new ConcurrentLinkedQueue<>();
+
+        Segment(int capacity, long maxWeight, int expectedEntries, EvictionStrategy<K> evictionStrategy,
+                TimerWheel<K, V> timerWheel, StatsCounter stats,
+                RemovalListener<? super K, ? super V> removalListener) {
+            this.capacity = capacity;
+            this.maxWeight = maxWeight;
+            this.evictionStrategy = evictionStrategy;
+            this.timerWheel = timerWheel;
+            this.stats = stats;
+            this.removalListener = removalListener;
+            // Pré-dimensionnement pour limiter les réallocations
+            this.store = new ConcurrentHashMap<>(expectedEntries * 2);
+        }
+
+        /**
+         * Supprime l'entrée si elle est toujours la valeur courante de sa clé.
+         */
+        boolean remove(CacheEntry<K, V> entry, RemovalCause cause) {
+            if (!store.remove(entry.key(), entry)) {
+                return false;
+            }
+            evictionStrategy.onRemove(entry.key());
+            adjustWeight(entry, null);
+            updateTimer(entry, null);
+            notifyRemoval(entry, cause);
+            return true;
+        }
+
+        /**
+         * Appelé par le thread qui a remplacé previous par current dans le store (l'un ou l'autre
+         * peut être null) : chaque entrée n'est ajoutée puis retranchée qu'une fois.
+         */
+        void adjustWeight(CacheEntry<K, V> previous, CacheEntry<K, V> current) {
+            long delta = (current == null ? 0 : current.weight()) - (previous == null ? 0 : previous.weight());
+            if (delta != 0) {
+                weight.addAndGet(delta);
+            }
+        }
+
+        void notifyRemoval(CacheEntry<K, V> entry, RemovalCause cause) {
+            stats.recordRemoval(cause);
+            RemovalListener<? super K, ? super V> listener = removalListener;
+            if (listener == null) {
+                return;
+            }
+            try {
+                listener.onRemoval(entry.key(), entry.value(), cause);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Removal listener failed for key={}, cause={}", entry.key(), cause, e);
+            }
+        }
+
+        private boolean overBudget() {
+            return store.size() > capacity || weight.get() > maxWeight;
+        }
+
+        /**
+         * Remplace previous par current dans la roue temporelle (l'un ou l'autre peut être null).
+         *
+         * <p>La mise à jour est mise en file puis appliquée si evictionLock est libre ; sinon le
+         * détenteur du verrou (éviction, tâche d'expiration) ou une écriture suivante s'en charge.
+         * Les écrivains ne s'attendent donc jamais entre eux. Une entrée remplacée avant que sa
+         * planification soit appliquée reste dans la roue jusqu'à son échéance, où elle est
+         * abandonnée.
+         */
+        void updateTimer(CacheEntry<K, V> previous, CacheEntry<K, V> current) {
+            if (timerWheel == null || (previous == null && (current == null || !current.expires()))) {
+                return;
+            }
+            timerUpdates.add(new TimerUpdate<>(previous, current));
+            while (!timerUpdates.isEmpty() && evictionLock.tryLock()) {
+                try {
+                    applyTimerUpdates();
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+        }
+
+        // Sous evictionLock
+        private void applyTimerUpdates() {
+            TimerUpdate<K, V> update;
+            while ((update = timerUpdates.poll()) != null) {
+                if (update.previous() != null) {
+                    timerWheel.deschedule(update.previous());
+                }
+                if (update.current() != null) {
+                    timerWheel.schedule(update.current());
+                }
+            }
+        }
+
+        int expireEntries(long now) {
+            if (timerWheel == null) {
+                int expired = 0;
+                for (CacheEntry<K, V> entry : store.values()) {
+                    if (entry.isExpired(now) && remove(entry, RemovalCause.EXPIRED)) {
+                        expired++;
+                    }
+                }
+                return expired;
+            }
+            evictionLock.lock();
+            try {
+                applyTimerUpdates();
+                return timerWheel.advance(now, entry -> {
+                    if (!store.remove(entry.key(), entry)) {
+                        return false; // entrée obsolète : déjà remplacée ou supprimée
+                    }
+                    evictionStrategy.onRemove(entry.key());
+                    adjustWeight(entry, null);
+                    notifyRemoval(entry, RemovalCause.EXPIRED);
+                    return true;
+                });
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        void enforceCapacityIfNeeded() {
+            // Check rapide, sans lock
+            if (!overBudget()) return;
+
+            // Lock bloquant : un thread qui dépasse la capacité attend et évince à son tour,
+            // sinon la taille peut dériver bien au-delà de la borne sous forte charge
+            evictionLock.lock();
+            try {
+                if (timerWheel != null) {
+                    applyTimerUpdates();
+                }
+                while (overBudget()) {
+                    Optional<K> victim = evictionStrategy.selectKeyToEvict();
+                    if (victim.isEmpty()) {
+                        break; // plus rien à évincer, on sort
+                    }
+                    CacheEntry<K, V> removed = store.remove(victim.get());
+                    if (removed != null) {
+                        adjustWeight(removed, null);
+                        notifyRemoval(removed, RemovalCause.SIZE);
+                        if (timerWheel != null) {
+                            timerWheel.deschedule(removed);
+                        }
+                    }
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private record TimerUpdate<K, V>(CacheEntry<K, V> previous, CacheEntry<K, V> current) {
+    }
+
+    // Résultat d'un compute : renseigné par la fonction de remapping (même thread)
+    private static final class LoadOutcome<K, V> {
+        boolean loaded;
+        CacheEntry<K, V> previous;
+    }
+
+    /**
+     * Tâche périodique d'expiration. Ne retient le cache que faiblement : un cache abandonné
+     * sans {@link #close()} est collecté et sa tâche s'annule d'elle-même.
+     */
+    private static final class ExpiryTask implements Runnable {
+        private final WeakReference<GenericConcurrentCache<?, ?>> cacheRef;
+        private volatile ScheduledFuture<?> future;
+
+        private ExpiryTask(GenericConcurrentCache<?, ?> cache) {
+            this.cacheRef = new WeakReference<>(cache);
+        }
+
+        static ScheduledFuture<?> schedule(GenericConcurrentCache<?, ?> cache,
+                                           ScheduledExecutorService scheduler, long tickNanos) {
+            ExpiryTask task = new ExpiryTask(cache);
+            task.future = scheduler.scheduleWithFixedDelay(task, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+            return task.future;
+        }
+
+        @Override
+        public void run() {
+            GenericConcurrentCache<?, ?> cache = cacheRef.get();
+            if (cache == null) {
+                ScheduledFuture<?> f = future;
+                if (f != null) {
+                    f.cancel(false);
+                }
+                return;
+            }
+            cache.cleanUp();
+        }
+    }
+
+    /**
+     * Configuration d'un {@link GenericConcurrentCache}.
+     */
+    public static final class Builder<K, V> {
+        private static final int DEFAULT_EXPECTED_ENTRIES = 16_384;
+
+        private int maxSize;
+        private long maxWeight;
+        private Weigher<? super K, ? super V> weigher;
+        private int expectedEntries = DEFAULT_EXPECTED_ENTRIES;
+        private int segmentCount = 1;
+        private long ttlNanos;
+        private boolean expireAfterAccess;
+        private long expiryTickNanos;
+        private boolean recordLatency;
+        private RemovalListener<? super K, ? super V> removalListener;
+        private ScheduledExecutorService scheduler = CacheScheduler.shared();
+        private IntFunction<? extends EvictionStrategy<K>> strategyFactory = capacity -> new LruEvictionStrategy<>();
+        private boolean sharedStrategy;
+
+        private Builder() {
+        }
+
+        public Builder<K, V> maximumSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Borne le cache par la somme des poids de ses entrées ; exige un {@link #weigher(Weigher)}.
+         * Combiné à {@link #maximumSize(int)}, les deux bornes s'appliquent.
+         */
+        public Builder<K, V> maximumWeight(long maxWeight) {
+            if (maxWeight <= 0) throw new IllegalArgumentException("maxWeight must be > 0");
+            this.maxWeight = maxWeight;
+            return this;
+        }
+
+        public Builder<K, V> weigher(Weigher<? super K, ? super V> weigher) {
+            this.weigher = Objects.requireNonNull(weigher);
+            return this;
+        }
+
+        /**
+         * Nombre d'entrées attendu quand le cache n'est borné qu'en poids : dimensionne le store
+         * et les stratégies qui en dépendent (sketch de TinyLFU).
+         */
+        public Builder<K, V> expectedEntries(int expectedEntries) {
+            if (expectedEntries <= 0) throw new IllegalArgumentException("expectedEntries must be > 0");
+            this.expectedEntries = expectedEntries;
+            return this;
+        }
+
+        /**
+         * Stratégie unique ; n'est valable qu'avec un seul segment (sinon les segments
+         * partageraient la même instance et mélangeraient leurs clés) : build() lève
+         * IllegalStateException si segments(n) avec n > 1.
+         */
+        public Builder<K, V> evictionStrategy(EvictionStrategy<K> evictionStrategy) {
+            Objects.requireNonNull(evictionStrategy);
+            this.strategyFactory = capacity -> evictionStrategy;
+            this.sharedStrategy = true;
+            return this;
+        }
+
+        /**
+         * Fabrique de stratégie, appelée une fois par segment avec la capacité du segment.
+         */
+        public Builder<K, V> evictionStrategy(IntFunction<? extends EvictionStrategy<K>> strategyFactory) {
+            this.strategyFactory = Objects.requireNonNull(strategyFactory);
+            this.sharedStrategy = false;
+            return this;
+        }
+
+        public Builder<K, V> segments(int segmentCount) {
+            this.segmentCount = segmentCount;
+            return this;
+        }
+
+        /**
+         * Durée de vie comptée depuis la dernière écriture (0 = pas d'expiration).
+         */
+        public Builder<K, V> expireAfterWrite(Duration ttl) {
+            this.ttlNanos = Math.max(0, ttl.toNanos());
+            this.expireAfterAccess = false;
+            return this;
+        }
+
+        /**
+         * Durée de vie comptée depuis le dernier accès (lecture ou écriture).
+         */
+        public Builder<K, V> expireAfterAccess(Duration ttl) {
+            this.ttlNanos = Math.max(0, ttl.toNanos());
+            this.expireAfterAccess = true;
+            return this;
+        }
+
+        /**
+         * Active la purge en arrière-plan des entrées expirées par une roue temporelle,
+         * avancée toutes les {@code tick} sur l'ordonnanceur partagé.
+         *
+         * <p>Coût : chaque écriture d'une entrée qui expire met une mise à jour de la roue en file
+         * (une petite allocation) ; la file est vidée sans attente par l'écrivain qui trouve le
+         * verrou d'éviction libre, sinon par l'éviction ou au tick suivant.
+         */
+        public Builder<K, V> backgroundExpiry(Duration tick) {
+            if (tick.isNegative() || tick.isZero()) throw new IllegalArgumentException("tick must be > 0");
+            this.expiryTickNanos = tick.toNanos();
+            return this;
+        }
+
+        /**
+         * Ordonnanceur utilisé pour la purge en arrière-plan (par défaut : ordonnanceur partagé).
+         */
+        public Builder<K, V> scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = Objects.requireNonNull(scheduler);
+            return this;
+        }
+
+        /**
+         * Mesure la latence de chaque get dans un histogramme ({@link CacheStats#getLatency()}).
+         * Désactivé par défaut : deux appels à {@link System#nanoTime()} par lecture.
+         */
+        public Builder<K, V> recordLatency(boolean recordLatency) {
+            this.recordLatency = recordLatency;
+            return this;
+        }
+
+        /**
+         * Écouteur notifié de chaque entrée retirée du cache, quelle qu'en soit la cause.
+         */
+        public Builder<K, V> removalListener(RemovalListener<? super K, ? super V> removalListener) {
+            this.removalListener = Objects.requireNonNull(removalListener);
+            return this;
+        }
 
-        boolean isExpired() {
-            return expiryNanos != NO_EXPIRY && System.nanoTime() > expiryNanos;
+        public GenericConcurrentCache<K, V> build() {
+            return new GenericConcurrentCache<>(this);
         }
     }
 }
@@ -0,0 +1,108 @@
+package org.example.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * {@link LoadingCache} backed by any {@link Cache} and a single {@link CacheLoader}.
+ *
+ * <p>Loads go through {@link Cache#get(Object, java.util.function.Function)}, so they are
+ * atomic per key when the delegate is a {@link GenericConcurrentCache}. Every other operation,
+ * including the batch and conditional ones, is forwarded to the delegate so that its own
+ * implementation (atomicity, one-pass statistics) is used rather than the interface default.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class GenericLoadingCache<K, V> implements LoadingCache<K, V> {
+
+    private final Cache<K, V> delegate;
+    private final CacheLoader<K, V> loader;
+
+    public GenericLoadingCache(Cache<K, V> delegate, CacheLoader<K, V> loader) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.loader = Objects.requireNonNull(loader);
+    }
+
+    @Override
+    public V getOrLoad(K key) {
+        return delegate.get(key, this::loadUnchecked);
+    }
+
+    @Override
+    public V get(K key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return delegate.get(key, loader);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> entries) {
+        delegate.putAll(entries);
+    }
+
+    @Override
+    public void put(K key, V value, Duration ttl) {
+        delegate.put(key, value, ttl);
+    }
+
+    @Override
+    public long ageNanos(K key) {
+        return delegate.ageNanos(key);
+    }
+
+    @Override
+    public List<K> hottestKeys(int limit) {
+        return delegate.hottestKeys(limit);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        delegate.invalidate(key);
+    }
+
+    @Override
+    public boolean invalidate(K key, V value) {
+        return delegate.invalidate(key, value);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return delegate.getStats();
+    }
+
+    private V loadUnchecked(K key) {
+        try {
+            return loader.load(key);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheLoadingException("Interrupted while loading key " + key, e);
+        } catch (Exception e) {
+            throw new CacheLoadingException("Error loading key " + key, e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fichier de clés chaudes pour le démarrage à chaud d'un cache.
+ *
+ * <p>Format compact : flux gzip contenant {@code magic, nombre de clés}, puis chaque clé en
+ * UTF-8 modifié préfixé par sa longueur ({@link DataOutputStream#writeUTF}). Les clés partagent
+ * de longs préfixes ({@code relations:…}) : gzip les réduit fortement. L'ordre des clés est
+ * conservé (les plus chaudes d'abord).
+ *
+ * <p>L'écriture passe par un fichier temporaire renommé atomiquement : un lecteur ne voit jamais
+ * un fichier à moitié écrit.
+ */
+public final class HotKeyFile {
+
+    private static final int MAGIC = 0x484F5431; // "HOT1"
+
+    private HotKeyFile() {
+    }
+
+    /**
+     * Writes the keys, in iteration order, replacing any existing file.
+     */
+    public static void write(Path file, Collection<String> keys) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp))))) {
+                out.writeInt(MAGIC);
+                out.writeInt(keys.size());
+                for (String key : keys) {
+                    out.writeUTF(key);
+                }
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads the keys in the order they were written.
+     *
+     * @throws IOException if the file is missing, truncated or not a hot-key file
+     */
+    public static List<String> read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a hot-key file: " + file);
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupted hot-key file: " + file);
+            }
+            List<String> keys = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                keys.add(in.readUTF());
+            }
+            return keys;
+        }
+    }
+}
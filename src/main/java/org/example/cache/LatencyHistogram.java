@@ -0,0 +1,144 @@
+package org.example.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets (HdrHistogram-style).
+ *
+ * <p>Each power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, giving a
+ * relative error below 1/{@value #SUB_BUCKETS} (~6%) on any value from 1 ns to ~292 years.
+ * Recording is a couple of atomic increments and never allocates; reading is done on a
+ * {@link Snapshot}, which can be subtracted from a later one to get the distribution of an
+ * interval.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records one value in nanoseconds (negative values are recorded as 0).
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, count.sum(), sum.sum(), max.get());
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    // Borne supérieure (incluse) des valeurs rangées dans la case index
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long base = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return base + (1L << shift) - 1;
+    }
+
+    /**
+     * Immutable view of a histogram.
+     */
+    public static final class Snapshot {
+
+        public static final Snapshot EMPTY = new Snapshot(new long[BUCKETS], 0, 0, 0);
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long totalNanos() {
+            return sum;
+        }
+
+        /**
+         * Largest value recorded since the histogram was created (not reduced by {@link #minus}).
+         */
+        public long maxNanos() {
+            return max;
+        }
+
+        public double meanNanos() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * Value at the given percentile (0..100), as the upper bound of its bucket.
+         */
+        public long percentileNanos(double percentile) {
+            if (count == 0) {
+                return 0L;
+            }
+            long rank = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * count);
+            rank = Math.max(1L, rank);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Distribution of the values recorded between previous and this snapshot.
+         */
+        public Snapshot minus(Snapshot previous) {
+            long[] delta = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                delta[i] = Math.max(0L, counts[i] - previous.counts[i]);
+            }
+            return new Snapshot(delta, Math.max(0L, count - previous.count), Math.max(0L, sum - previous.sum), max);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "count=" + count +
+                    ", mean=" + meanNanos() +
+                    ", p50=" + percentileNanos(50) +
+                    ", p99=" + percentileNanos(99) +
+                    ", max=" + max +
+                    '}';
+        }
+    }
+}
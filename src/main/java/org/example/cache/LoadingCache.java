@@ -0,0 +1,17 @@
+package org.example.cache;
+
+/**
+ * Cache that knows how to compute missing values through a {@link CacheLoader}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public interface LoadingCache<K, V> extends Cache<K, V> {
+
+    /**
+     * Returns the cached value, loading it atomically if absent or expired.
+     *
+     * @throws CacheLoadingException if the loader throws a checked exception
+     */
+    V getOrLoad(K key);
+}
@@ -0,0 +1,26 @@
+package org.example.cache;
+
+/**
+ * Why an entry left the cache.
+ */
+public enum RemovalCause {
+
+    /** Removed by {@code invalidate} or {@code clear}. */
+    EXPLICIT,
+
+    /** Value overwritten by a new {@code put} of the same key. */
+    REPLACED,
+
+    /** Evicted by the eviction strategy to respect the capacity. */
+    SIZE,
+
+    /** Time-to-live elapsed. */
+    EXPIRED;
+
+    /**
+     * True if the removal was decided by the cache rather than by the caller.
+     */
+    public boolean wasEvicted() {
+        return this == SIZE || this == EXPIRED;
+    }
+}
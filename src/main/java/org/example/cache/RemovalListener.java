@@ -0,0 +1,17 @@
+package org.example.cache;
+
+/**
+ * Notifié chaque fois qu'une entrée quitte un {@link GenericConcurrentCache}.
+ *
+ * <p>Appelé de façon synchrone par le thread qui a retiré l'entrée, parfois sous le verrou
+ * d'éviction d'un segment : l'implémentation doit être rapide, thread-safe, et ne pas rappeler
+ * le cache. Une exception levée est journalisée puis ignorée.
+ *
+ * @param <K> type de la clé
+ * @param <V> type de la valeur
+ */
+@FunctionalInterface
+public interface RemovalListener<K, V> {
+
+    void onRemoval(K key, V value, RemovalCause cause);
+}
@@ -0,0 +1,171 @@
+package org.example.cache;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key into a single in-flight call.
+ *
+ * <p>The first caller for a key (the leader) runs the loader; every caller arriving
+ * while that load is in flight waits for it and receives the same value or exception.
+ * Once the load completes the key is released, so the next miss triggers a new load.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @pre key != null && loader != null
+     * @post renvoie le résultat du chargement en cours pour key, ou en lance un nouveau
+     * @throws RuntimeException l'exception levée par le loader (les checked sont encapsulées)
+     */
+    public V load(K key, Callable<? extends V> loader) {
+        return load(key, k -> null, loader);
+    }
+
+    /**
+     * Like {@link #load(Object, Callable)}, but the leader first calls lookup and returns its
+     * result, if not null, without running loader. A caller that missed the cache just before a
+     * previous load stored the value and released the key thus does not load it a second time.
+     *
+     * @param lookup lecture du cache, appelée par le leader une fois la clé réservée
+     */
+    public V load(K key, Function<? super K, ? extends V> lookup, Callable<? extends V> loader) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(lookup, "lookup must not be null");
+        Objects.requireNonNull(loader, "loader must not be null");
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            // Le chargement précédent a rangé sa valeur avant de libérer la clé : elle est visible ici
+            V value = lookup.apply(key);
+            if (value != null) {
+                coalesced.increment();
+            } else {
+                loads.increment();
+                value = loader.call();
+            }
+            mine.complete(value);
+            return value;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw propagate(t);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Starts an asynchronous load of key on the executor, unless one is already in flight.
+     * Synchronous callers arriving meanwhile join this load.
+     *
+     * @return the future of the started load, or null if a load of key was already in flight
+     */
+    public CompletableFuture<V> loadAsync(K key, Callable<? extends V> loader, Executor executor) {
+        return loadAsync(key, k -> null, loader, executor);
+    }
+
+    /**
+     * Like {@link #loadAsync(Object, Callable, Executor)}, but once the key is reserved, the
+     * value returned by lookup, if not null, completes the load without running loader.
+     */
+    public CompletableFuture<V> loadAsync(K key, Function<? super K, ? extends V> lookup,
+                                          Callable<? extends V> loader, Executor executor) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(lookup, "lookup must not be null");
+        Objects.requireNonNull(loader, "loader must not be null");
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) {
+            return null;
+        }
+        try {
+            V cached = lookup.apply(key);
+            if (cached != null) {
+                coalesced.increment();
+                inFlight.remove(key, mine);
+                mine.complete(cached);
+                return mine;
+            }
+        } catch (Throwable t) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(t);
+            return mine;
+        }
+        loads.increment();
+        try {
+            executor.execute(() -> {
+                try {
+                    mine.complete(loader.call());
+                } catch (Throwable t) {
+                    mine.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    /**
+     * Number of loads actually executed (one per leader).
+     */
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Number of calls that joined an in-flight load, or found the value already loaded, instead
+     * of running their own.
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Number of keys currently being loaded.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw propagate(e.getCause());
+        }
+    }
+
+    private static RuntimeException propagate(Throwable t) {
+        if (t instanceof RuntimeException re) {
+            return re;
+        }
+        if (t instanceof Error err) {
+            throw err;
+        }
+        return new CompletionException(t);
+    }
+}
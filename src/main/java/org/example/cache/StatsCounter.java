@@ -0,0 +1,90 @@
+package org.example.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collecte des statistiques d'un cache avec des compteurs striés ({@link LongAdder}) :
+ * les threads n'écrivent pas sur la même ligne de cache, le chemin rapide ne se sérialise pas.
+ *
+ * <p>La latence des lectures n'est mesurée que si elle est activée (deux appels à
+ * {@link System#nanoTime()} par get) ; celle des chargements l'est toujours.
+ */
+public final class StatsCounter {
+
+    private static final RemovalCause[] CAUSES = RemovalCause.values();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder loadSuccesses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder[] removals = new LongAdder[CAUSES.length];
+    private final LatencyHistogram getLatency;
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+
+    public StatsCounter(boolean recordGetLatency) {
+        for (int i = 0; i < removals.length; i++) {
+            removals[i] = new LongAdder();
+        }
+        this.getLatency = recordGetLatency ? new LatencyHistogram() : null;
+    }
+
+    public boolean recordsGetLatency() {
+        return getLatency != null;
+    }
+
+    public void recordHits(long count) {
+        hits.add(count);
+    }
+
+    public void recordMisses(long count) {
+        misses.add(count);
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordPut() {
+        puts.increment();
+    }
+
+    public void recordGetLatency(long nanos) {
+        if (getLatency != null) {
+            getLatency.record(nanos);
+        }
+    }
+
+    public void recordLoadSuccess(long loadNanos) {
+        loadSuccesses.increment();
+        totalLoadTime.add(loadNanos);
+        loadLatency.record(loadNanos);
+    }
+
+    public void recordLoadFailure(long loadNanos) {
+        loadFailures.increment();
+        totalLoadTime.add(loadNanos);
+        loadLatency.record(loadNanos);
+    }
+
+    public void recordRemoval(RemovalCause cause) {
+        removals[cause.ordinal()].increment();
+    }
+
+    public CacheStats snapshot() {
+        long[] removalCounts = new long[CAUSES.length];
+        for (int i = 0; i < CAUSES.length; i++) {
+            removalCounts[i] = removals[i].sum();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), puts.sum(),
+                loadSuccesses.sum(), loadFailures.sum(), totalLoadTime.sum(),
+                removalCounts,
+                getLatency == null ? LatencyHistogram.Snapshot.EMPTY : getLatency.snapshot(),
+                loadLatency.snapshot());
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.cache;
+
+import java.util.function.Predicate;
+
+/**
+ * Roue temporelle hiérarchique pour l'expiration en arrière-plan (cf. Varghese &amp; Lauck).
+ *
+ * <p>Cinq niveaux de granularité croissante (~1,07 s, ~1,14 min, ~1,22 h, ~1,63 j, ~6,5 j).
+ * Chaque case est une liste doublement chaînée d'entrées : planifier, déplanifier et expirer une
+ * entrée coûtent O(1). À chaque avancée, les cases écoulées sont vidées ; les entrées dont
+ * l'échéance a été repoussée entre-temps (expire-after-access) ou qui relèvent d'une granularité
+ * plus fine sont replanifiées (cascade).
+ *
+ * <p>Non thread-safe : toutes les méthodes sont appelées sous le verrou du segment propriétaire.
+ */
+final class TimerWheel<K, V> {
+
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final long[] SPANS = {
+            1L << 30, // ~1,07 s
+            1L << 36, // ~1,14 min
+            1L << 42, // ~1,22 h
+            1L << 47, // ~1,63 j
+            1L << 49, // ~6,5 j
+            1L << 49,
+    };
+    private static final int[] SHIFT = {30, 36, 42, 47, 49};
+
+    private final CacheEntry<K, V>[][] wheel;
+    // Origine des temps : les positions sont calculées sur (nanoTime - origin) >= 0
+    private final long origin;
+    private long nanos;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimerWheel(long now) {
+        this.origin = now;
+        this.wheel = new CacheEntry[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new CacheEntry[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                CacheEntry<K, V> sentinel = new CacheEntry<>(null, null, 0, now);
+                sentinel.prevInTimer = sentinel;
+                sentinel.nextInTimer = sentinel;
+                wheel[i][j] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Planifie l'entrée à son échéance courante.
+     */
+    void schedule(CacheEntry<K, V> entry) {
+        if (!entry.expires()) {
+            return;
+        }
+        CacheEntry<K, V> sentinel = findBucket(entry.expiryNanos() - origin);
+        entry.prevInTimer = sentinel.prevInTimer;
+        entry.nextInTimer = sentinel;
+        sentinel.prevInTimer.nextInTimer = entry;
+        sentinel.prevInTimer = entry;
+    }
+
+    /**
+     * Retire l'entrée de la roue si elle y est planifiée.
+     */
+    void deschedule(CacheEntry<K, V> entry) {
+        if (entry.nextInTimer != null) {
+            entry.nextInTimer.prevInTimer = entry.prevInTimer;
+            entry.prevInTimer.nextInTimer = entry.nextInTimer;
+            entry.nextInTimer = null;
+            entry.prevInTimer = null;
+        }
+    }
+
+    /**
+     * Avance la roue jusqu'à now. Pour chaque entrée échue, {@code expirer} la retire du store
+     * et renvoie false si l'entrée n'est plus la valeur courante (elle est alors abandonnée).
+     *
+     * @return le nombre d'entrées expirées
+     */
+    int advance(long now, Predicate<CacheEntry<K, V>> expirer) {
+        long previous = nanos;
+        long current = now - origin;
+        if (current - previous <= 0) {
+            return 0;
+        }
+        nanos = current;
+        int expired = 0;
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previous >>> SHIFT[i];
+            long currentTicks = current >>> SHIFT[i];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            expired += expire(i, previousTicks, delta, expirer);
+        }
+        return expired;
+    }
+
+    private int expire(int level, long previousTicks, long delta, Predicate<CacheEntry<K, V>> expirer) {
+        CacheEntry<K, V>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        int expired = 0;
+        for (int i = start; i < start + steps; i++) {
+            CacheEntry<K, V> sentinel = buckets[i & mask];
+            CacheEntry<K, V> entry = sentinel.nextInTimer;
+            sentinel.prevInTimer = sentinel;
+            sentinel.nextInTimer = sentinel;
+            while (entry != sentinel) {
+                CacheEntry<K, V> next = entry.nextInTimer;
+                entry.prevInTimer = null;
+                entry.nextInTimer = null;
+                if (entry.expiryNanos() - origin - nanos > 0) {
+                    schedule(entry); // pas encore échue : cascade vers une case plus fine
+                } else if (expirer.test(entry)) {
+                    expired++;
+                }
+                entry = next;
+            }
+        }
+        return expired;
+    }
+
+    private CacheEntry<K, V> findBucket(long time) {
+        // Une échéance déjà dépassée va dans la case courante, traitée au prochain tick
+        time = Math.max(time, nanos);
+        long duration = time - nanos;
+        int last = wheel.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[last][0];
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.cache;
+
+/**
+ * Poids d'une entrée, pour borner un cache par un budget ({@code maximumWeight}) plutôt que par
+ * un nombre d'entrées. Le poids est calculé une fois, à l'écriture de l'entrée.
+ *
+ * @param <K> type de la clé
+ * @param <V> type de la valeur
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * @return un poids >= 0 ; une entrée de poids 0 n'est jamais évincée pour raison de poids
+     */
+    int weigh(K key, V value);
+
+    /**
+     * Pèse une valeur String par sa taille encodée en UTF-8, calculée sans encoder ni allouer.
+     */
+    static <K> Weigher<K, String> utf8Length() {
+        return (key, value) -> utf8Length(value);
+    }
+
+    /**
+     * Taille en octets de s encodée en UTF-8 (une paire de substitution compte 4 octets).
+     */
+    static int utf8Length(CharSequence s) {
+        int length = s.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 2; // 4 octets pour deux char
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,511 @@
+package org.example.cache.disk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Stockage clé/valeur persistant sur disque : journal en ajout seul réparti en fichiers
+ * projetés en mémoire ({@link FileChannel#map}), index en mémoire et compaction.
+ *
+ * <p>Format d'un enregistrement : {@code magic, crc32, writeMillis, keyLength, valueLength,
+ * key, value} (valueLength = -1 pour une suppression). Au démarrage, l'index est reconstruit en
+ * ne lisant que les en-têtes et les clés : les valeurs sont sautées, sauf dans le dernier fichier
+ * où le CRC détecte une écriture interrompue (la suite du fichier est alors ignorée). Le CRC de
+ * chaque valeur est vérifié à la lecture.
+ *
+ * <p>Lectures sans verrou. Les écritures et la compaction sont sérialisées par un verrou ; la
+ * compaction réécrit les enregistrements vivants dans de nouveaux fichiers quand les octets morts
+ * dépassent les vivants. Un fichier compacté est supprimé mais sa projection reste valide pour
+ * les lecteurs en cours (elle n'est libérée que par le GC).
+ *
+ * <p>Les écritures vont dans le cache de pages du système : elles survivent à un arrêt du
+ * processus ; {@link #flush()} (appelé par {@link #close()}) les force sur le disque.
+ */
+public final class DiskStore implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiskStore.class);
+
+    private static final int MAGIC = 0x4A444D31; // "JDM1"
+    private static final int HEADER_BYTES = 24;
+    private static final int TOMBSTONE = -1;
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final long fileBytes;
+    private final long ttlMillis;
+    private final long compactionThreshold;
+
+    private final ConcurrentHashMap<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, LogFile> files = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Protégés par writeLock
+    private LogFile active;
+    private long liveBytes;
+    private long deadBytes;
+    private volatile boolean closed;
+
+    private DiskStore(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.fileBytes = builder.fileBytes;
+        this.ttlMillis = builder.ttlMillis;
+        this.compactionThreshold = builder.compactionThreshold;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    /**
+     * @return la valeur, ou null si absente, expirée ou corrompue
+     */
+    public String get(String key) {
+        Objects.requireNonNull(key, "key must not be null");
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Location location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            if (isExpired(location.writeMillis, System.currentTimeMillis())) {
+                return null;
+            }
+            LogFile file = files.get(location.fileId);
+            if (file == null) {
+                continue; // fichier compacté entre-temps : l'index pointe déjà ailleurs
+            }
+            byte[] record = new byte[location.length];
+            file.buffer.get(location.offset, record, 0, record.length);
+            if (!checksumMatches(record)) {
+                LOGGER.warn("Corrupted record for key={} in {}", key, file.path);
+                return null;
+            }
+            int keyLength = readInt(record, 16);
+            return new String(record, HEADER_BYTES + keyLength, record.length - HEADER_BYTES - keyLength,
+                    StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    public void put(String key, String value) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(value, "value must not be null");
+        append(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Supprime key (enregistre une suppression, pour qu'elle survive au redémarrage).
+     */
+    public void remove(String key) {
+        Objects.requireNonNull(key, "key must not be null");
+        if (index.containsKey(key)) {
+            append(key, null);
+        }
+    }
+
+    public boolean containsKey(String key) {
+        Location location = index.get(key);
+        return location != null && !isExpired(location.writeMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Supprime toutes les entrées et tous les fichiers.
+     */
+    public void clear() {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            index.clear();
+            List<LogFile> old = new ArrayList<>(files.values());
+            files.clear();
+            active = null;
+            liveBytes = 0;
+            deadBytes = 0;
+            deleteAll(old);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Réécrit les enregistrements vivants et non expirés dans de nouveaux fichiers.
+     */
+    public void compact() {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            compactLocked();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Force les écritures sur le disque.
+     */
+    public void flush() {
+        for (LogFile file : files.values()) {
+            file.buffer.force();
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Octets des enregistrements vivants.
+     */
+    public long liveBytes() {
+        writeLock.lock();
+        try {
+            return liveBytes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Octets des enregistrements remplacés ou supprimés, récupérés par la compaction.
+     */
+    public long deadBytes() {
+        writeLock.lock();
+        try {
+            return deadBytes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int fileCount() {
+        return files.size();
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            flush();
+            for (LogFile file : files.values()) {
+                file.closeChannel();
+            }
+            closed = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void append(String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] record = encode(keyBytes, value, System.currentTimeMillis());
+        writeLock.lock();
+        try {
+            ensureOpen();
+            Location location = write(record, readLong(record, 8));
+            Location previous = value == null ? index.remove(key) : index.put(key, location);
+            if (previous != null) {
+                liveBytes -= previous.length;
+                deadBytes += previous.length;
+            }
+            if (value == null) {
+                deadBytes += record.length; // la suppression elle-même n'est utile que jusqu'à la compaction
+            } else {
+                liveBytes += record.length;
+            }
+            if (deadBytes > compactionThreshold && deadBytes > liveBytes) {
+                compactLocked();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Location write(byte[] record, long writeMillis) {
+        if (active == null || active.position + record.length > active.capacity) {
+            active = createFile(Math.max(fileBytes, record.length));
+        }
+        long offset = active.position;
+        active.buffer.put((int) offset, record, 0, record.length);
+        active.position += record.length;
+        return new Location(active.id, (int) offset, record.length, writeMillis);
+    }
+
+    private void compactLocked() {
+        List<LogFile> old = new ArrayList<>(files.values());
+        active = null;
+        long now = System.currentTimeMillis();
+        long live = 0;
+        for (Map.Entry<String, Location> entry : index.entrySet()) {
+            Location location = entry.getValue();
+            if (isExpired(location.writeMillis, now)) {
+                index.remove(entry.getKey(), location);
+                continue;
+            }
+            byte[] record = new byte[location.length];
+            files.get(location.fileId).buffer.get(location.offset, record, 0, record.length);
+            entry.setValue(write(record, location.writeMillis));
+            live += record.length;
+        }
+        // Les nouveaux fichiers sont déjà dans files ; l'index ne pointe plus vers les anciens
+        for (LogFile file : old) {
+            files.remove(file.id);
+        }
+        deleteAll(old);
+        liveBytes = live;
+        deadBytes = 0;
+        LOGGER.debug("Compacted {}: {} entries, {} bytes in {} files", directory, index.size(), live, files.size());
+    }
+
+    private void recover() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> listing = Files.list(directory)) {
+            paths = listing.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < paths.size(); i++) {
+            LogFile file = LogFile.open(paths.get(i));
+            files.put(file.id, file);
+            boolean last = i == paths.size() - 1;
+            file.position = scan(file, last, now);
+            if (last) {
+                active = file;
+            }
+        }
+        LOGGER.debug("Recovered {}: {} entries from {} files", directory, index.size(), files.size());
+    }
+
+    // Reconstruit l'index depuis un fichier ; renvoie la position de fin des enregistrements valides
+    private long scan(LogFile file, boolean verifyChecksums, long now) {
+        MappedByteBuffer buffer = file.buffer;
+        int position = 0;
+        byte[] header = new byte[HEADER_BYTES];
+        while (position + HEADER_BYTES <= file.capacity) {
+            buffer.get(position, header, 0, HEADER_BYTES);
+            int keyLength = readInt(header, 16);
+            int valueLength = readInt(header, 20);
+            int length = HEADER_BYTES + keyLength + Math.max(0, valueLength);
+            if (readInt(header, 0) != MAGIC || keyLength < 0 || valueLength < TOMBSTONE
+                    || (long) position + length > file.capacity) {
+                break; // fin du journal (zone jamais écrite) ou en-tête tronqué
+            }
+            if (verifyChecksums) {
+                byte[] record = new byte[length];
+                buffer.get(position, record, 0, length);
+                if (!checksumMatches(record)) {
+                    LOGGER.warn("Torn record at {} in {}, ignoring the rest of the file", position, file.path);
+                    break;
+                }
+            }
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(position + HEADER_BYTES, keyBytes, 0, keyLength);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            long writeMillis = readLong(header, 8);
+            Location previous;
+            if (valueLength == TOMBSTONE) {
+                previous = index.remove(key);
+                deadBytes += length;
+            } else if (isExpired(writeMillis, now)) {
+                previous = index.remove(key);
+                deadBytes += length;
+            } else {
+                previous = index.put(key, new Location(file.id, position, length, writeMillis));
+                liveBytes += length;
+            }
+            if (previous != null) {
+                liveBytes -= previous.length;
+                deadBytes += previous.length;
+            }
+            position += length;
+        }
+        return position;
+    }
+
+    private LogFile createFile(long capacity) {
+        int id = files.isEmpty() ? 0 : files.lastKey() + 1;
+        try {
+            LogFile file = LogFile.create(directory.resolve(String.format("%08d%s", id, SUFFIX)), id, capacity);
+            files.put(id, file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create log file in " + directory, e);
+        }
+    }
+
+    private void deleteAll(List<LogFile> old) {
+        for (LogFile file : old) {
+            file.closeChannel();
+            try {
+                Files.deleteIfExists(file.path);
+            } catch (IOException e) {
+                LOGGER.warn("Cannot delete {}", file.path, e);
+            }
+        }
+    }
+
+    private boolean isExpired(long writeMillis, long now) {
+        return ttlMillis > 0 && now - writeMillis > ttlMillis;
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("DiskStore is closed");
+    }
+
+    private static byte[] encode(byte[] key, byte[] value, long writeMillis) {
+        int valueLength = value == null ? TOMBSTONE : value.length;
+        byte[] record = new byte[HEADER_BYTES + key.length + Math.max(0, valueLength)];
+        writeInt(record, 0, MAGIC);
+        writeLong(record, 8, writeMillis);
+        writeInt(record, 16, key.length);
+        writeInt(record, 20, valueLength);
+        System.arraycopy(key, 0, record, HEADER_BYTES, key.length);
+        if (value != null) {
+            System.arraycopy(value, 0, record, HEADER_BYTES + key.length, value.length);
+        }
+        writeInt(record, 4, checksum(record));
+        return record;
+    }
+
+    private static boolean checksumMatches(byte[] record) {
+        return readInt(record, 4) == checksum(record);
+    }
+
+    // CRC de tout l'enregistrement hormis magic et crc
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, 8, record.length - 8);
+        return (int) crc.getValue();
+    }
+
+    private static int readInt(byte[] b, int i) {
+        return (b[i] & 0xFF) << 24 | (b[i + 1] & 0xFF) << 16 | (b[i + 2] & 0xFF) << 8 | (b[i + 3] & 0xFF);
+    }
+
+    private static long readLong(byte[] b, int i) {
+        return (long) readInt(b, i) << 32 | (readInt(b, i + 4) & 0xFFFFFFFFL);
+    }
+
+    private static void writeInt(byte[] b, int i, int v) {
+        b[i] = (byte) (v >>> 24);
+        b[i + 1] = (byte) (v >>> 16);
+        b[i + 2] = (byte) (v >>> 8);
+        b[i + 3] = (byte) v;
+    }
+
+    private static void writeLong(byte[] b, int i, long v) {
+        writeInt(b, i, (int) (v >>> 32));
+        writeInt(b, i + 4, (int) v);
+    }
+
+    private record Location(int fileId, int offset, int length, long writeMillis) {
+    }
+
+    private static final class LogFile {
+        final int id;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final long capacity;
+        long position;
+
+        private LogFile(int id, Path path, FileChannel channel, long capacity) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.capacity = capacity;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        static LogFile create(Path path, int id, long capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new LogFile(id, path, channel, capacity);
+        }
+
+        static LogFile open(Path path) throws IOException {
+            String name = path.getFileName().toString();
+            int id = Integer.parseInt(name.substring(0, name.length() - SUFFIX.length()));
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new LogFile(id, path, channel, channel.size());
+        }
+
+        // La projection reste valide après la fermeture du canal
+        void closeChannel() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Cannot close {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * Configuration d'un {@link DiskStore}.
+     */
+    public static final class Builder {
+        private final Path directory;
+        private long fileBytes = 64L << 20;
+        private long ttlMillis;
+        private long compactionThreshold = 16L << 20;
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory);
+        }
+
+        /**
+         * Taille de chaque fichier du journal (64 Mio par défaut, au plus 2 Gio).
+         */
+        public Builder fileBytes(long fileBytes) {
+            if (fileBytes < HEADER_BYTES || fileBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("fileBytes must be in [" + HEADER_BYTES + ", 2^31)");
+            }
+            this.fileBytes = fileBytes;
+            return this;
+        }
+
+        /**
+         * Durée de vie d'une entrée depuis son écriture, horloge murale (0 = pas d'expiration).
+         */
+        public Builder expireAfterWrite(Duration ttl) {
+            this.ttlMillis = Math.max(0, ttl.toMillis());
+            return this;
+        }
+
+        /**
+         * Octets morts minimum avant une compaction automatique (16 Mio par défaut).
+         */
+        public Builder compactionThreshold(long bytes) {
+            this.compactionThreshold = Math.max(0, bytes);
+            return this;
+        }
+
+        /**
+         * Ouvre le répertoire (créé au besoin) et reconstruit l'index depuis le journal.
+         */
+        public DiskStore open() throws IOException {
+            return new DiskStore(this);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package org.example.cache.disk;
+
+import org.example.cache.Cache;
+import org.example.cache.CacheStats;
+import org.example.cache.GenericConcurrentCache;
+import org.example.cache.RemovalCause;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Cache à deux niveaux : un {@link GenericConcurrentCache} en mémoire (L1) au-dessus d'un
+ * {@link DiskStore} persistant (L2).
+ *
+ * <p>Un miss en L1 est cherché sur disque avant d'appeler le loader ; une valeur trouvée sur disque
+ * est promue en L1. Deux politiques d'écriture :
+ * <ul>
+ *   <li>{@link WritePolicy#WRITE_THROUGH} : chaque put est aussi écrit sur disque, le cache
+ *       survit donc au redémarrage en entier ;</li>
+ *   <li>{@link WritePolicy#SPILL_ON_EVICTION} : seules les entrées évincées de L1 pour raison de
+ *       taille sont écrites sur disque (moins d'écritures, mais L1 est perdu au redémarrage). Une
+ *       clé remontée en L1 ou réécrite perd sa copie disque, qui serait sinon ressuscitée à
+ *       l'expiration de la nouvelle valeur.</li>
+ * </ul>
+ *
+ * <p>En mode spill, les entrées évincées sont mises en file par le listener (appelé sous le
+ * verrou d'éviction du segment) et écrites sur disque par le thread appelant une fois ce verrou
+ * relâché : les écrivains du segment n'attendent jamais une écriture ou un compactage disque.
+ *
+ * <p>Les statistiques sont celles de L1 ; {@link #diskHits()} et {@link #diskMisses()} comptent
+ * les lectures de L2.
+ */
+public final class TieredCache implements Cache<String, String>, AutoCloseable {
+
+    public enum WritePolicy {
+        WRITE_THROUGH,
+        SPILL_ON_EVICTION
+    }
+
+    private final GenericConcurrentCache<String, String> memory;
+    private final DiskStore disk;
+    private final WritePolicy writePolicy;
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder diskMisses = new LongAdder();
+    // Entrées évincées de L1 pas encore écrites sur disque (mode spill)
+    private final ConcurrentLinkedQueue<Map.Entry<String, String>> pendingSpills = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    /**
+     * @param memory configuration de L1 ; son removalListener est remplacé par celui du tier
+     */
+    public TieredCache(GenericConcurrentCache.Builder<String, String> memory, DiskStore disk, WritePolicy writePolicy) {
+        this.disk = Objects.requireNonNull(disk);
+        this.writePolicy = Objects.requireNonNull(writePolicy);
+        if (writePolicy == WritePolicy.SPILL_ON_EVICTION) {
+            memory.removalListener((key, value, cause) -> {
+                if (cause == RemovalCause.SIZE) {
+                    pendingSpills.add(Map.entry(key, value));
+                }
+            });
+        }
+        this.memory = memory.build();
+    }
+
+    @Override
+    public String get(String key) {
+        String value = memory.get(key);
+        if (value != null) {
+            return value;
+        }
+        drainSpills(null);
+        value = readDisk(key);
+        if (value != null) {
+            memory.put(key, value);
+            drainSpills(key);
+        }
+        return value;
+    }
+
+    /**
+     * Chargement atomique par clé : L1, puis disque, puis loader (dont le résultat est écrit sur
+     * disque en write-through).
+     */
+    @Override
+    public String get(String key, Function<? super String, ? extends String> loader) {
+        Objects.requireNonNull(loader, "loader must not be null");
+        drainSpills(null);
+        // 0 : valeur déjà en L1, 1 : remontée du disque, 2 : chargée par le loader
+        int[] source = new int[1];
+        String result = memory.get(key, k -> {
+            String value = readDisk(k);
+            source[0] = 1;
+            if (value == null) {
+                value = loader.apply(k);
+                source[0] = 2;
+            }
+            return value;
+        });
+        // Écritures disque hors du chargement, qui bloque la clé dans son segment
+        if (source[0] == 2 && result != null && writePolicy == WritePolicy.WRITE_THROUGH) {
+            disk.put(key, result);
+        } else if (source[0] != 0) {
+            // Valeur remontée ou chargée : la copie disque éventuelle est retirée en mode spill
+            drainSpills(key);
+        }
+        return result;
+    }
+
+    @Override
+    public void put(String key, String value) {
+        memory.put(key, value);
+        if (writePolicy == WritePolicy.WRITE_THROUGH) {
+            disk.put(key, value);
+        } else {
+            drainSpills(key);
+        }
+    }
+
+    /**
+     * Le TTL propre ne s'applique qu'à L1 ; sur disque, c'est celui du {@link DiskStore}.
+     */
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        memory.put(key, value, ttl);
+        if (writePolicy == WritePolicy.WRITE_THROUGH) {
+            disk.put(key, value);
+        } else {
+            drainSpills(key);
+        }
+    }
+
+    @Override
+    public long ageNanos(String key) {
+        return memory.ageNanos(key);
+    }
+
+    /**
+     * Clés chaudes du niveau mémoire : le disque ne garde aucune information d'accès.
+     */
+    @Override
+    public List<String> hottestKeys(int limit) {
+        return memory.hottestKeys(limit);
+    }
+
+    @Override
+    public void invalidate(String key) {
+        memory.invalidate(key);
+        disk.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        memory.clear();
+        disk.clear();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return memory.getStats();
+    }
+
+    public long diskHits() {
+        return diskHits.sum();
+    }
+
+    public long diskMisses() {
+        return diskMisses.sum();
+    }
+
+    public GenericConcurrentCache<String, String> memory() {
+        return memory;
+    }
+
+    public DiskStore disk() {
+        return disk;
+    }
+
+    /**
+     * Arrête L1 et ferme le disque ; en mode spill, le contenu de L1 est d'abord écrit sur disque.
+     */
+    @Override
+    public void close() {
+        memory.close();
+        if (writePolicy == WritePolicy.SPILL_ON_EVICTION) {
+            drainSpills(null);
+            memory.forEach(disk::put);
+        }
+        disk.close();
+    }
+
+    /**
+     * Écrit sur disque les entrées évincées en attente, puis retire la copie disque de
+     * residentKey (clé désormais en L1), si non null. Sous spillLock : une éviction de la même
+     * clé écrite par un autre thread ne peut pas passer après la suppression.
+     *
+     * <p>Sans rien en attente ni copie disque de residentKey (index en mémoire du DiskStore), le
+     * verrou n'est pas pris : les puts ne sont pas sérialisés entre segments. isLocked est lu en
+     * dernier, pour ne pas manquer une entrée retirée de la file mais pas encore écrite.
+     */
+    private void drainSpills(String residentKey) {
+        if (writePolicy != WritePolicy.SPILL_ON_EVICTION) {
+            return;
+        }
+        if (pendingSpills.isEmpty() && (residentKey == null || !disk.containsKey(residentKey))
+                && !spillLock.isLocked()) {
+            return;
+        }
+        spillLock.lock();
+        try {
+            Map.Entry<String, String> spilled;
+            while ((spilled = pendingSpills.poll()) != null) {
+                disk.put(spilled.getKey(), spilled.getValue());
+            }
+            if (residentKey != null && memory.ageNanos(residentKey) >= 0) {
+                disk.remove(residentKey);
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private String readDisk(String key) {
+        String value = disk.get(key);
+        if (value == null) {
+            diskMisses.increment();
+        } else {
+            diskHits.increment();
+        }
+        return value;
+    }
+}
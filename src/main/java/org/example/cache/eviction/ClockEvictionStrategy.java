@@ -0,0 +1,156 @@
+package org.example.cache.eviction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * CLOCK (second chance) eviction strategy, an approximation of LRU whose read path takes no lock.
+ *
+ * <p>{@link #onGet} only sets a volatile reference bit on the key's node (and skips the write
+ * when the bit is already set, to avoid bouncing the cache line between cores). Inserts and
+ * evictions share a small lock protecting the ring: the hand gives referenced keys a second
+ * chance by clearing their bit and moving them to the back, and evicts the first key found
+ * with its bit cleared.
+ *
+ * <p>A removed key leaves a stale node in the ring, skipped by the hand. Stale nodes are
+ * counted, and the ring is compacted once they outnumber half of the live keys, so invalidations
+ * and expirations below capacity (where the hand never runs) do not grow it without bound.
+ */
+public final class ClockEvictionStrategy<K> implements EvictionStrategy<K> {
+
+    private final ConcurrentHashMap<K, Node<K>> nodes = new ConcurrentHashMap<>();
+
+    // Anneau parcouru par l'aiguille : tête = position de l'aiguille
+    private final ArrayDeque<Node<K>> ring = new ArrayDeque<>();
+    private final ReentrantLock ringLock = new ReentrantLock();
+    // Nœuds de l'anneau dont la clé a été supprimée ou réinsérée
+    private final AtomicInteger staleNodes = new AtomicInteger();
+
+    private static final int MIN_STALE_TO_COMPACT = 16;
+
+    @Override
+    public void onGet(K key) {
+        Node<K> node = nodes.get(key);
+        if (node != null && !node.referenced) {
+            node.referenced = true;
+        }
+    }
+
+    @Override
+    public void onPut(K key) {
+        Node<K> node = new Node<>(key);
+        Node<K> existing = nodes.putIfAbsent(key, node);
+        if (existing != null) {
+            // Mise à jour d'une clé existante : compte comme un accès
+            existing.referenced = true;
+            return;
+        }
+        ringLock.lock();
+        try {
+            ring.addLast(node);
+            compactIfNeeded();
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(K key) {
+        // Le nœud reste dans l'anneau, ignoré par l'aiguille jusqu'au prochain compactage
+        if (nodes.remove(key) != null) {
+            staleNodes.incrementAndGet();
+        }
+    }
+
+    @Override
+    public Optional<K> selectKeyToEvict() {
+        ringLock.lock();
+        try {
+            Node<K> node;
+            while ((node = ring.pollFirst()) != null) {
+                if (nodes.get(node.key) != node) {
+                    staleNodes.decrementAndGet();
+                    continue; // nœud obsolète (clé supprimée ou réinsérée)
+                }
+                if (node.referenced) {
+                    node.referenced = false;
+                    ring.addLast(node);
+                    continue;
+                }
+                if (nodes.remove(node.key, node)) {
+                    return Optional.of(node.key);
+                }
+            }
+            return Optional.empty();
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    /**
+     * Clés référencées depuis le dernier passage de l'aiguille d'abord, puis les autres ;
+     * dans chaque groupe, les plus récemment insérées (fin de l'anneau) en premier.
+     */
+    @Override
+    public List<K> hottestKeys(int limit) {
+        List<K> referenced = new ArrayList<>();
+        List<K> others = new ArrayList<>();
+        ringLock.lock();
+        try {
+            Iterator<Node<K>> iterator = ring.descendingIterator();
+            while (iterator.hasNext() && referenced.size() < limit) {
+                Node<K> node = iterator.next();
+                if (nodes.get(node.key) != node) {
+                    continue;
+                }
+                if (node.referenced) {
+                    referenced.add(node.key);
+                } else if (others.size() < limit) {
+                    others.add(node.key);
+                }
+            }
+        } finally {
+            ringLock.unlock();
+        }
+        for (int i = 0; i < others.size() && referenced.size() < limit; i++) {
+            referenced.add(others.get(i));
+        }
+        return referenced;
+    }
+
+    // Sous ringLock
+    private void compactIfNeeded() {
+        int stale = staleNodes.get();
+        if (stale < MIN_STALE_TO_COMPACT || stale <= nodes.size() / 2) {
+            return;
+        }
+        int before = ring.size();
+        ring.removeIf(node -> nodes.get(node.key) != node);
+        // Soustraction plutôt que remise à zéro : les suppressions concurrentes restent comptées
+        staleNodes.addAndGet(ring.size() - before);
+    }
+
+    int ringSize() {
+        ringLock.lock();
+        try {
+            return ring.size();
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    private static final class Node<K> {
+        final K key;
+        volatile boolean referenced;
+
+        Node(K key) {
+            this.key = key;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.cache.eviction;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,4 +31,24 @@ public interface EvictionStrategy<K> {
      * @return an optional key to evict
      */
     Optional<K> selectKeyToEvict();
-}
\ No newline at end of file
+
+    /**
+     * Admission filter: decides whether a newly inserted candidate may displace the victim
+     * chosen by the eviction policy. If it returns false the candidate itself is evicted.
+     *
+     * <p>The default admits every candidate (pure recency/insertion-order policies).
+     */
+    default boolean admit(K candidate, K victim) {
+        return true;
+    }
+
+    /**
+     * Up to limit tracked keys, hottest first, ranked with the policy's own recency or
+     * frequency data (used to export a warm-up list). Must not change the policy state.
+     *
+     * <p>The default returns an empty list: the policy does not rank its keys.
+     */
+    default List<K> hottestKeys(int limit) {
+        return List.of();
+    }
+}
@@ -3,7 +3,9 @@ package com.example.cache.eviction;
 
 import org.example.cache.eviction.EvictionStrategy;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -47,4 +49,19 @@ public class FifoEvictionStrategy<K> implements EvictionStrategy<K> {
             }
         }
     }
+
+    /**
+     * Most recently inserted keys first (FIFO keeps no access information).
+     */
+    @Override
+    public synchronized List<K> hottestKeys(int limit) {
+        List<K> keys = new ArrayList<>(Math.min(limit, present.size()));
+        for (K key : present.reversed()) {
+            if (keys.size() >= limit) {
+                break;
+            }
+            keys.add(key);
+        }
+        return keys;
+    }
 }
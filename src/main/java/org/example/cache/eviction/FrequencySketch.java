@@ -0,0 +1,98 @@
+package org.example.cache.eviction;
+
+/**
+ * Count-min sketch with 4-bit counters used to estimate key popularity (TinyLFU).
+ *
+ * <p>Each {@code long} of the table packs 16 counters saturating at 15 and the table holds
+ * one {@code long} per cache entry. A key is mapped to
+ * {@value #DEPTH} counters and its frequency is the minimum of them. When the number of
+ * recorded increments reaches the sample size (10 × maximum size), every counter is halved
+ * so that the sketch forgets old popularity (aging).
+ *
+ * <p>Not thread-safe: callers must provide their own synchronization.
+ */
+public final class FrequencySketch<K> {
+
+    static final int DEPTH = 4;
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int counterMask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(int maximumSize) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be > 0");
+        // Un long (16 compteurs) par entrée du cache, arrondi à une puissance de 2
+        int longs = Integer.highestOneBit(Math.max(2, Math.min(maximumSize, 1 << 26)) - 1) << 1;
+        this.table = new long[longs];
+        this.counterMask = (longs << 4) - 1;
+        this.sampleSize = (int) Math.min(10L * maximumSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Records one occurrence of the key.
+     */
+    public void increment(K key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            added |= incrementAt(indexOf(hash, i));
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the key, between 0 and 15.
+     */
+    public int frequency(K key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, countAt(indexOf(hash, i)));
+        }
+        return frequency;
+    }
+
+    private int indexOf(int hash, int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> 32;
+        return (int) h & counterMask;
+    }
+
+    private boolean incrementAt(int counter) {
+        int slot = counter >>> 4;
+        int shift = (counter & 15) << 2;
+        long mask = 0xfL << shift;
+        if ((table[slot] & mask) != mask) {
+            table[slot] += 1L << shift;
+            return true;
+        }
+        return false;
+    }
+
+    private int countAt(int counter) {
+        int shift = (counter & 15) << 2;
+        return (int) ((table[counter >>> 4] >>> shift) & 0xfL);
+    }
+
+    // Vieillissement : division par deux de tous les compteurs
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
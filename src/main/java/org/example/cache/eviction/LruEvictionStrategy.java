@@ -2,7 +2,9 @@ package org.example.cache.eviction;
 
 import org.example.cache.eviction.EvictionStrategy;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -45,4 +47,19 @@ public final class LruEvictionStrategy<K> implements EvictionStrategy<K> {
 
         return Optional.of(eldest);
     }
-}
\ No newline at end of file
+
+    /**
+     * Clés de la plus récemment à la moins récemment utilisée.
+     */
+    @Override
+    public synchronized List<K> hottestKeys(int limit) {
+        List<K> keys = new ArrayList<>(Math.min(limit, access.size()));
+        for (K key : access.sequencedKeySet().reversed()) {
+            if (keys.size() >= limit) {
+                break;
+            }
+            keys.add(key);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.cache.eviction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * W-TinyLFU eviction strategy: a small LRU admission window in front of a segmented LRU
+ * main space, guarded by a frequency-based admission filter.
+ *
+ * <p>New keys enter the window (1% of the capacity). When the cache is full, the oldest
+ * window key (the candidate) competes with the oldest probation key (the victim): the
+ * {@link FrequencySketch} decides which one is more popular and the other is evicted.
+ * One-off keys therefore cannot push hot entries out of the main space. Keys hit while in
+ * probation are promoted to the protected segment (80% of the main space).
+ *
+ * <p>Les méthodes sont synchronisées, comme pour {@link LruEvictionStrategy}.
+ */
+public final class TinyLfuEvictionStrategy<K> implements EvictionStrategy<K> {
+
+    private final int windowMax;
+    private final int mainMax;
+    private final int protectedMax;
+
+    private final LinkedHashSet<K> window = new LinkedHashSet<>();
+    private final LinkedHashSet<K> probation = new LinkedHashSet<>();
+    private final LinkedHashSet<K> protectedKeys = new LinkedHashSet<>();
+    private final FrequencySketch<K> sketch;
+
+    /**
+     * @param maximumSize capacité du cache (ou du segment) géré par cette stratégie
+     */
+    public TinyLfuEvictionStrategy(int maximumSize) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be > 0");
+        this.windowMax = Math.max(1, maximumSize / 100);
+        this.mainMax = Math.max(0, maximumSize - windowMax);
+        this.protectedMax = mainMax * 8 / 10;
+        this.sketch = new FrequencySketch<>(maximumSize);
+    }
+
+    @Override
+    public synchronized void onGet(K key) {
+        sketch.increment(key);
+        onAccess(key);
+    }
+
+    @Override
+    public synchronized void onPut(K key) {
+        sketch.increment(key);
+        if (onAccess(key)) {
+            return;
+        }
+        window.add(key);
+        drainWindow();
+    }
+
+    @Override
+    public synchronized void onRemove(K key) {
+        if (!window.remove(key) && !probation.remove(key)) {
+            protectedKeys.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized Optional<K> selectKeyToEvict() {
+        drainWindow();
+        K victim = first(probation);
+        if (victim == null) {
+            victim = first(protectedKeys);
+        }
+        if (window.size() > windowMax && victim != null) {
+            K candidate = first(window);
+            window.remove(candidate);
+            if (admit(candidate, victim)) {
+                removeFromMain(victim);
+                probation.add(candidate);
+                return Optional.of(victim);
+            }
+            return Optional.of(candidate);
+        }
+        if (victim != null) {
+            removeFromMain(victim);
+            return Optional.of(victim);
+        }
+        K eldest = first(window);
+        if (eldest != null) {
+            window.remove(eldest);
+        }
+        return Optional.ofNullable(eldest);
+    }
+
+    /**
+     * Admits the candidate only if it is strictly more frequent than the victim.
+     */
+    @Override
+    public synchronized boolean admit(K candidate, K victim) {
+        return sketch.frequency(candidate) > sketch.frequency(victim);
+    }
+
+    /**
+     * Keys by decreasing estimated frequency. Ties keep the segment order (protected, then
+     * window, then probation), most recently used first within each segment.
+     */
+    @Override
+    public synchronized List<K> hottestKeys(int limit) {
+        List<K> keys = new ArrayList<>(window.size() + probation.size() + protectedKeys.size());
+        keys.addAll(protectedKeys.reversed());
+        keys.addAll(window.reversed());
+        keys.addAll(probation.reversed());
+        // Tri stable : les fréquences sont lues une seule fois
+        int[] frequencies = new int[keys.size()];
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            frequencies[i] = sketch.frequency(keys.get(i));
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer i) -> frequencies[i]).reversed());
+        List<K> hottest = new ArrayList<>(Math.min(limit, order.length));
+        for (int i = 0; i < order.length && hottest.size() < limit; i++) {
+            hottest.add(keys.get(order[i]));
+        }
+        return hottest;
+    }
+
+    /**
+     * Estimated access frequency of the key (0..15).
+     */
+    public synchronized int frequency(K key) {
+        return sketch.frequency(key);
+    }
+
+    /**
+     * Repositionne une clé déjà suivie ; renvoie false si la clé est inconnue.
+     */
+    private boolean onAccess(K key) {
+        if (window.remove(key)) {
+            window.add(key);
+        } else if (probation.remove(key)) {
+            protectedKeys.add(key);
+            while (protectedKeys.size() > protectedMax) {
+                K demoted = first(protectedKeys);
+                protectedKeys.remove(demoted);
+                probation.add(demoted);
+            }
+        } else if (protectedKeys.remove(key)) {
+            protectedKeys.add(key);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    // Tant que l'espace principal n'est pas plein, la fenêtre s'y déverse sans filtrage
+    private void drainWindow() {
+        while (window.size() > windowMax && probation.size() + protectedKeys.size() < mainMax) {
+            K eldest = first(window);
+            window.remove(eldest);
+            probation.add(eldest);
+        }
+    }
+
+    private void removeFromMain(K key) {
+        if (!probation.remove(key)) {
+            protectedKeys.remove(key);
+        }
+    }
+
+    private static <K> K first(LinkedHashSet<K> keys) {
+        Iterator<K> iterator = keys.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
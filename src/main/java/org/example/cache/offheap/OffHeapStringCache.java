@@ -0,0 +1,289 @@
+package org.example.cache.offheap;
+
+import org.example.cache.Cache;
+import org.example.cache.CacheStats;
+import org.example.cache.GenericConcurrentCache;
+import org.example.cache.eviction.EvictionStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cache de chaînes dont les valeurs vivent hors tas, encodées en UTF-8 et, au-delà d'un seuil,
+ * compressées (Deflate).
+ *
+ * <p>Le tas ne contient que l'index : un {@link GenericConcurrentCache} de petits handles
+ * ({@link OffHeapValue}), borné en poids par les octets occupés hors tas. Quand l'index retire
+ * une entrée (éviction, expiration, remplacement, invalidation), sa case est rendue au
+ * {@link SlabStore}. Chaque lecture décode une nouvelle {@link String} : ce tier échange un peu
+ * de CPU contre un tas plus petit et des pauses GC plus courtes.
+ *
+ * <p>Les statistiques sont celles de l'index. Une lecture qui perd la course contre la libération
+ * de sa case compte comme un hit mais renvoie null.
+ *
+ * @param <K> type de la clé
+ */
+public final class OffHeapStringCache<K> implements Cache<K, String>, AutoCloseable {
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final SlabStore slabs;
+    private final GenericConcurrentCache<K, OffHeapValue> index;
+    private final int compressAbove;
+
+    private OffHeapStringCache(Builder<K> builder) {
+        this.slabs = new SlabStore(builder.slabBytes);
+        this.compressAbove = builder.compressAbove;
+        this.index = builder.index
+                .maximumWeight(builder.maxBytes)
+                .weigher((key, value) -> slabs.footprint(value))
+                .removalListener((key, value, cause) -> slabs.free(value))
+                .build();
+    }
+
+    public static <K> Builder<K> builder() {
+        return new Builder<>();
+    }
+
+    @Override
+    public String get(K key) {
+        OffHeapValue handle = index.get(key);
+        return handle == null ? null : decode(handle);
+    }
+
+    @Override
+    public String get(K key, Function<? super K, ? extends String> loader) {
+        Objects.requireNonNull(loader, "loader must not be null");
+        OffHeapValue handle = index.get(key, k -> encode(loader.apply(k)));
+        if (handle == null) {
+            return null;
+        }
+        String value = decode(handle);
+        // Case libérée juste après le chargement : on recharge sans mettre en cache
+        return value != null ? value : loader.apply(key);
+    }
+
+    @Override
+    public void put(K key, String value) {
+        index.put(key, encode(Objects.requireNonNull(value, "value must not be null")));
+    }
+
+    @Override
+    public void put(K key, String value, Duration ttl) {
+        index.put(key, encode(Objects.requireNonNull(value, "value must not be null")), ttl);
+    }
+
+    @Override
+    public long ageNanos(K key) {
+        return index.ageNanos(key);
+    }
+
+    @Override
+    public List<K> hottestKeys(int limit) {
+        return index.hottestKeys(limit);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        index.invalidate(key);
+    }
+
+    /**
+     * Supprime key si sa valeur courante est égale à value (les valeurs décodées ne sont jamais
+     * des instances partagées : la comparaison se fait par equals).
+     */
+    @Override
+    public boolean invalidate(K key, String value) {
+        Objects.requireNonNull(key, "key must not be null");
+        OffHeapValue handle = index.get(key);
+        return handle != null && Objects.equals(decode(handle), value) && index.invalidate(key, handle);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return index.getStats();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Octets occupés hors tas par les valeurs en cache (arrondis à la taille de leur case).
+     */
+    public long weight() {
+        return index.weight();
+    }
+
+    /**
+     * Mémoire hors tas réservée par les slabs.
+     */
+    public long reservedBytes() {
+        return slabs.reservedBytes();
+    }
+
+    /**
+     * Index sur le tas, pour la publication JMX ({@link org.example.cache.CacheManagement}).
+     */
+    public GenericConcurrentCache<K, OffHeapValue> index() {
+        return index;
+    }
+
+    @Override
+    public void close() {
+        index.close();
+    }
+
+    private OffHeapValue encode(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        if (compressAbove > 0 && utf8.length >= compressAbove) {
+            byte[] compressed = deflate(utf8);
+            if (compressed != null) {
+                return slabs.store(compressed, compressed.length, utf8.length, true);
+            }
+        }
+        return slabs.store(utf8, utf8.length, utf8.length, false);
+    }
+
+    private String decode(OffHeapValue handle) {
+        byte[] bytes = slabs.read(handle);
+        if (bytes == null) {
+            return null;
+        }
+        if (handle.isCompressed()) {
+            bytes = inflate(bytes, handle.decodedLength());
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Renvoie null si la compression ne fait pas gagner de place
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        byte[] output = new byte[input.length];
+        int length = deflater.deflate(output);
+        if (!deflater.finished()) {
+            return null;
+        }
+        return Arrays.copyOf(output, length);
+    }
+
+    private static byte[] inflate(byte[] input, int decodedLength) {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(input);
+        byte[] output = new byte[decodedLength];
+        try {
+            int length = inflater.inflate(output);
+            if (length != decodedLength) {
+                throw new IllegalStateException("Corrupted off-heap value: " + length + " != " + decodedLength);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted off-heap value", e);
+        }
+        return output;
+    }
+
+    /**
+     * Configuration d'un {@link OffHeapStringCache} ; les options d'expiration, de segmentation
+     * et d'éviction sont celles de l'index.
+     */
+    public static final class Builder<K> {
+        private final GenericConcurrentCache.Builder<K, OffHeapValue> index = GenericConcurrentCache.builder();
+        private long maxBytes;
+        private int compressAbove;
+        private int slabBytes = SlabStore.DEFAULT_SLAB_BYTES;
+
+        private Builder() {
+        }
+
+        /**
+         * Budget hors tas, en octets occupés par les cases (obligatoire).
+         */
+        public Builder<K> maximumBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Compresse les valeurs dont l'encodage UTF-8 fait au moins minBytes octets (0 = jamais).
+         */
+        public Builder<K> compressAbove(int minBytes) {
+            if (minBytes < 0) throw new IllegalArgumentException("minBytes must be >= 0");
+            this.compressAbove = minBytes;
+            return this;
+        }
+
+        /**
+         * Taille d'une slab (puissance de deux) ; les valeurs plus grandes ont un tampon dédié.
+         */
+        public Builder<K> slabBytes(int slabBytes) {
+            this.slabBytes = slabBytes;
+            return this;
+        }
+
+        public Builder<K> maximumSize(int maxSize) {
+            index.maximumSize(maxSize);
+            return this;
+        }
+
+        public Builder<K> expectedEntries(int expectedEntries) {
+            index.expectedEntries(expectedEntries);
+            return this;
+        }
+
+        public Builder<K> segments(int segmentCount) {
+            index.segments(segmentCount);
+            return this;
+        }
+
+        public Builder<K> evictionStrategy(IntFunction<? extends EvictionStrategy<K>> strategyFactory) {
+            index.evictionStrategy(strategyFactory);
+            return this;
+        }
+
+        public Builder<K> expireAfterWrite(Duration ttl) {
+            index.expireAfterWrite(ttl);
+            return this;
+        }
+
+        public Builder<K> expireAfterAccess(Duration ttl) {
+            index.expireAfterAccess(ttl);
+            return this;
+        }
+
+        public Builder<K> backgroundExpiry(Duration tick) {
+            index.backgroundExpiry(tick);
+            return this;
+        }
+
+        public Builder<K> recordLatency(boolean recordLatency) {
+            index.recordLatency(recordLatency);
+            return this;
+        }
+
+        public OffHeapStringCache<K> build() {
+            if (maxBytes <= 0) throw new IllegalArgumentException("maximumBytes must be > 0");
+            return new OffHeapStringCache<>(this);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.cache.offheap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Handle on a value stored by a {@link SlabStore}: the only part of the value kept on heap.
+ *
+ * <p>A handle stays valid until it is freed; the slot may then be reused, which readers detect
+ * through the generation recorded here.
+ */
+public final class OffHeapValue {
+
+    final int sizeClass;
+    final int slot;
+    final int generation;
+    final int length;
+    final int decodedLength;
+    final boolean compressed;
+    // Valeur trop grande pour une slab : tampon dédié, libéré par le GC avec le handle
+    final ByteBuffer dedicated;
+
+    OffHeapValue(int sizeClass, int slot, int generation, int length, int decodedLength,
+                 boolean compressed, ByteBuffer dedicated) {
+        this.sizeClass = sizeClass;
+        this.slot = slot;
+        this.generation = generation;
+        this.length = length;
+        this.decodedLength = decodedLength;
+        this.compressed = compressed;
+        this.dedicated = dedicated;
+    }
+
+    /**
+     * Number of bytes stored off-heap (compressed size if compressed).
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Size of the UTF-8 encoding of the original value.
+     */
+    public int decodedLength() {
+        return decodedLength;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+}
@@ -0,0 +1,194 @@
+package org.example.cache.offheap;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Allocateur de slabs hors tas pour des tableaux d'octets.
+ *
+ * <p>La mémoire est réservée par slabs ({@link ByteBuffer#allocateDirect}) découpées en cases
+ * de taille fixe ; les classes de taille vont de {@value #MIN_SLOT_BYTES} octets à la taille d'une
+ * slab, en puissances de deux. Chaque classe tient une pile de cases libres : une case libérée est
+ * réutilisée avant toute nouvelle slab. Les valeurs plus grandes qu'une slab ont un tampon dédié.
+ * Les slabs ne sont jamais rendues : la mémoire réservée est le pic d'utilisation de chaque classe.
+ *
+ * <p>Lecture sans verrou : chaque case porte une génération, incrémentée à sa libération. Un
+ * lecteur compare la génération avant et après sa copie (comme un seqlock) ; si la case a été
+ * libérée entre-temps, {@link #read} renvoie null au lieu d'octets d'une autre valeur.
+ * L'allocation et la libération prennent le verrou de la classe de taille.
+ */
+public final class SlabStore {
+
+    public static final int DEFAULT_SLAB_BYTES = 1 << 20;
+    static final int MIN_SLOT_BYTES = 64;
+
+    private final int slabBytes;
+    private final SizeClass[] classes;
+    private final LongAdder reservedBytes = new LongAdder();
+    private final LongAdder usedBytes = new LongAdder();
+
+    public SlabStore() {
+        this(DEFAULT_SLAB_BYTES);
+    }
+
+    /**
+     * @param slabBytes taille d'une slab, puissance de deux >= {@value #MIN_SLOT_BYTES}
+     */
+    public SlabStore(int slabBytes) {
+        if (slabBytes < MIN_SLOT_BYTES || Integer.bitCount(slabBytes) != 1) {
+            throw new IllegalArgumentException("slabBytes must be a power of two >= " + MIN_SLOT_BYTES);
+        }
+        this.slabBytes = slabBytes;
+        int count = Integer.numberOfTrailingZeros(slabBytes) - Integer.numberOfTrailingZeros(MIN_SLOT_BYTES) + 1;
+        this.classes = new SizeClass[count];
+        for (int i = 0; i < count; i++) {
+            classes[i] = new SizeClass(MIN_SLOT_BYTES << i, slabBytes);
+        }
+    }
+
+    /**
+     * Copie length octets de data hors tas.
+     *
+     * @param decodedLength longueur d'origine si data est compressé, sinon length
+     */
+    public OffHeapValue store(byte[] data, int length, int decodedLength, boolean compressed) {
+        if (length > slabBytes) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+            buffer.put(0, data, 0, length);
+            return new OffHeapValue(-1, -1, 0, length, decodedLength, compressed, buffer);
+        }
+        int index = classOf(length);
+        SizeClass sizeClass = classes[index];
+        int slot = sizeClass.allocate(reservedBytes);
+        Slab slab = sizeClass.slab(slot);
+        int local = slot % sizeClass.slotsPerSlab;
+        slab.memory.put(local * sizeClass.slotBytes, data, 0, length);
+        usedBytes.add(sizeClass.slotBytes);
+        return new OffHeapValue(index, slot, slab.generations.get(local), length, decodedLength, compressed, null);
+    }
+
+    /**
+     * Copie les octets de value dans un nouveau tableau.
+     *
+     * @return les octets, ou null si la case a été libérée (la valeur n'est plus en cache)
+     */
+    public byte[] read(OffHeapValue value) {
+        byte[] bytes = new byte[value.length];
+        if (value.dedicated != null) {
+            value.dedicated.get(0, bytes, 0, value.length);
+            return bytes;
+        }
+        SizeClass sizeClass = classes[value.sizeClass];
+        Slab slab = sizeClass.slab(value.slot);
+        int local = value.slot % sizeClass.slotsPerSlab;
+        if (slab.generations.get(local) != value.generation) {
+            return null;
+        }
+        slab.memory.get(local * sizeClass.slotBytes, bytes, 0, value.length);
+        // Les lectures de la copie ne doivent pas passer après la validation
+        VarHandle.acquireFence();
+        return slab.generations.get(local) == value.generation ? bytes : null;
+    }
+
+    /**
+     * Rend la case de value ; sans effet si elle a déjà été libérée.
+     */
+    public void free(OffHeapValue value) {
+        if (value.dedicated != null) {
+            return;
+        }
+        SizeClass sizeClass = classes[value.sizeClass];
+        if (sizeClass.free(value.slot, value.generation)) {
+            usedBytes.add(-sizeClass.slotBytes);
+        }
+    }
+
+    /**
+     * Octets occupés hors tas par value (taille de sa case).
+     */
+    public int footprint(OffHeapValue value) {
+        return value.dedicated != null ? value.length : classes[value.sizeClass].slotBytes;
+    }
+
+    /**
+     * Mémoire réservée par les slabs (hors tampons dédiés).
+     */
+    public long reservedBytes() {
+        return reservedBytes.sum();
+    }
+
+    /**
+     * Mémoire des cases actuellement occupées.
+     */
+    public long usedBytes() {
+        return usedBytes.sum();
+    }
+
+    private int classOf(int length) {
+        int size = Math.max(MIN_SLOT_BYTES, length);
+        int rounded = Integer.highestOneBit(size - 1) << 1;
+        return Integer.numberOfTrailingZeros(rounded) - Integer.numberOfTrailingZeros(MIN_SLOT_BYTES);
+    }
+
+    private static final class Slab {
+        final ByteBuffer memory;
+        final AtomicIntegerArray generations;
+
+        Slab(int bytes, int slots) {
+            this.memory = ByteBuffer.allocateDirect(bytes);
+            this.generations = new AtomicIntegerArray(slots);
+        }
+    }
+
+    private static final class SizeClass {
+        final int slotBytes;
+        final int slotsPerSlab;
+        private final int slabBytes;
+        // Copie sur écriture : les lecteurs n'ont pas besoin du verrou
+        private volatile Slab[] slabs = new Slab[0];
+        private int[] freeSlots = new int[16];
+        private int freeCount;
+        private int nextUnused;
+
+        SizeClass(int slotBytes, int slabBytes) {
+            this.slotBytes = slotBytes;
+            this.slabBytes = slabBytes;
+            this.slotsPerSlab = slabBytes / slotBytes;
+        }
+
+        Slab slab(int slot) {
+            return slabs[slot / slotsPerSlab];
+        }
+
+        synchronized int allocate(LongAdder reservedBytes) {
+            if (freeCount > 0) {
+                return freeSlots[--freeCount];
+            }
+            int slot = nextUnused++;
+            if (slot / slotsPerSlab == slabs.length) {
+                Slab[] grown = Arrays.copyOf(slabs, slabs.length + 1);
+                grown[slabs.length] = new Slab(slabBytes, slotsPerSlab);
+                slabs = grown;
+                reservedBytes.add(slabBytes);
+            }
+            return slot;
+        }
+
+        synchronized boolean free(int slot, int generation) {
+            AtomicIntegerArray generations = slab(slot).generations;
+            int local = slot % slotsPerSlab;
+            // La génération protège d'une double libération du même handle
+            if (!generations.compareAndSet(local, generation, generation + 1)) {
+                return false;
+            }
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+            return true;
+        }
+    }
+}
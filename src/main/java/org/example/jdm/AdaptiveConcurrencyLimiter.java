@@ -0,0 +1,263 @@
+package org.example.jdm;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limit on the number of concurrent calls to the API that adapts to what the upstream accepts
+ * (AIMD, as in TCP congestion control).
+ *
+ * <ul>
+ *   <li>additive increase: each success adds {@code 1 / limit}, i.e. about +1 per round of
+ *       {@code limit} calls, as long as the calls actually use the limit;</li>
+ *   <li>multiplicative decrease: an overload signal (429, 5xx, timeout) multiplies the limit by
+ *       {@code backoffRatio}; optionally, so does a latency above {@code latencyTolerance} times
+ *       the baseline.</li>
+ * </ul>
+ * Calls started before a decrease do not trigger another one: a burst of errors from the same
+ * round halves the limit once, not once per error.
+ *
+ * <p>The latency signal is off by default: the baseline (lowest latency of the previous window
+ * of {@code latencyWindow} calls) is shared by all calls, and a latency includes the download of
+ * the body, so large responses would look slow next to small ones and drive the limit down.
+ * Enable it only for a limiter whose calls have comparable sizes.
+ *
+ * <p>Usage: {@code long start = limiter.acquire();} then, always,
+ * {@code limiter.release(start, outcome)}.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Outcome of a call, as seen by the limiter.
+     */
+    public enum Outcome {
+        SUCCESS,
+        /** The upstream is saturated: 429, 5xx, timeout. */
+        OVERLOAD,
+        /** Failure unrelated to load (404, malformed request…): the limit is left unchanged. */
+        IGNORE
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final int latencyWindow;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+    private long baselineNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private long decreases;
+
+    private AdaptiveConcurrencyLimiter(Builder builder) {
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.latencyTolerance = builder.latencyTolerance;
+        this.latencyWindow = builder.latencyWindow;
+        this.limit = builder.initialLimit;
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Blocks until the number of calls in flight is below the limit.
+     *
+     * @return the start time of the call, to pass to {@link #release(long, Outcome)}
+     */
+    public long acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                available.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Takes a slot only if one is free now.
+     *
+     * @return the start time of the call, or -1 if the limit is reached
+     */
+    public long tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return -1L;
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        return System.nanoTime();
+    }
+
+    public void release(long startNanos, Outcome outcome) {
+        long now = System.nanoTime();
+        long latency = now - startNanos;
+        lock.lock();
+        try {
+            inFlight--;
+            boolean slow = outcome == Outcome.SUCCESS && latencyTolerance > 0
+                    && baselineNanos != Long.MAX_VALUE && latency > baselineNanos * latencyTolerance;
+            if (outcome == Outcome.SUCCESS) {
+                sample(latency);
+            }
+            if (outcome == Outcome.OVERLOAD || slow) {
+                // Une seule baisse par vague : les appels partis avant la dernière baisse n'en déclenchent pas d'autre
+                if (startNanos - lastDecreaseNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                    decreases++;
+                }
+            } else if (outcome == Outcome.SUCCESS && inFlight + 1 >= limit / 2) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sample(long latency) {
+        windowMinNanos = Math.min(windowMinNanos, latency);
+        if (baselineNanos == Long.MAX_VALUE) {
+            baselineNanos = latency;
+        }
+        if (++windowSamples >= latencyWindow) {
+            baselineNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        baselineNanos = Math.min(baselineNanos, latency);
+    }
+
+    /**
+     * Current limit (rounded down).
+     */
+    public int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of times the limit was decreased.
+     */
+    public long decreases() {
+        lock.lock();
+        try {
+            return decreases;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "AdaptiveConcurrencyLimiter{limit=" + String.format("%.2f", limit) + ", inFlight=" + inFlight
+                    + ", min=" + minLimit + ", max=" + maxLimit
+                    + ", baseline=" + (baselineNanos == Long.MAX_VALUE ? "n/a"
+                    : TimeUnit.NANOSECONDS.toMillis(baselineNanos) + "ms") + '}';
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static final class Builder {
+        private int initialLimit = 16;
+        private int minLimit = 1;
+        private int maxLimit = 128;
+        private double backoffRatio = 0.5;
+        private double latencyTolerance = 0;
+        private int latencyWindow = 500;
+
+        private Builder() {
+        }
+
+        public Builder initialLimit(int initialLimit) {
+            if (initialLimit <= 0) throw new IllegalArgumentException("initialLimit must be > 0");
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        public Builder minLimit(int minLimit) {
+            if (minLimit <= 0) throw new IllegalArgumentException("minLimit must be > 0");
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        public Builder maxLimit(int maxLimit) {
+            if (maxLimit <= 0) throw new IllegalArgumentException("maxLimit must be > 0");
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Factor applied to the limit on overload, in (0, 1).
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            if (!(backoffRatio > 0 && backoffRatio < 1)) {
+                throw new IllegalArgumentException("backoffRatio must be in (0, 1)");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * A success slower than latencyTolerance times the baseline counts as overload;
+         * 0 (the default) to react to errors only.
+         */
+        public Builder latencyTolerance(double latencyTolerance) {
+            if (latencyTolerance != 0 && !(latencyTolerance > 1)) {
+                throw new IllegalArgumentException("latencyTolerance must be 0 or > 1");
+            }
+            this.latencyTolerance = latencyTolerance;
+            return this;
+        }
+
+        /**
+         * Number of calls over which the latency baseline is measured.
+         */
+        public Builder latencyWindow(int latencyWindow) {
+            if (latencyWindow <= 0) throw new IllegalArgumentException("latencyWindow must be > 0");
+            this.latencyWindow = latencyWindow;
+            return this;
+        }
+
+        public AdaptiveConcurrencyLimiter build() {
+            if (minLimit > maxLimit) throw new IllegalArgumentException("minLimit must be <= maxLimit");
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("initialLimit must be within [minLimit, maxLimit]");
+            }
+            return new AdaptiveConcurrencyLimiter(this);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.jdm;
+
+import org.example.cache.Cache;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of {@link CachedJdmClient}: caches the futures returned by the
+ * async {@link JdmClient} methods, so concurrent callers of the same key share one request.
+ *
+ * <p>A future that completes exceptionally is removed from the cache (if it is still the
+ * cached one), so the next call retries. The removal runs on the maintenance executor, never
+ * on the caller's thread. Callers must not block on the returned futures from the HTTP
+ * client's executor. Each caller gets its own copy of the shared future: completing or
+ * cancelling it does not affect the other callers.
+ */
+public class AsyncCachedJdmClient {
+
+    private final JdmClient jdmClient;
+    private final Cache<String, CompletableFuture<String>> cache;
+    private final Executor maintenanceExecutor;
+
+    public AsyncCachedJdmClient(JdmClient jdmClient, Cache<String, CompletableFuture<String>> cache) {
+        this(jdmClient, cache, ForkJoinPool.commonPool());
+    }
+
+    public AsyncCachedJdmClient(JdmClient jdmClient, Cache<String, CompletableFuture<String>> cache,
+                                Executor maintenanceExecutor) {
+        this.jdmClient = Objects.requireNonNull(jdmClient);
+        this.cache = Objects.requireNonNull(cache);
+        this.maintenanceExecutor = Objects.requireNonNull(maintenanceExecutor);
+    }
+
+    public CompletableFuture<String> getTermRaw(String term) {
+        return getWithCache("term:" + term, () -> jdmClient.getTermRawAsync(term));
+    }
+
+    public CompletableFuture<String> getRelationsRaw(String term) {
+        return getWithCache("relations:" + term, () -> jdmClient.getRelationsRawAsync(term));
+    }
+
+    public CompletableFuture<String> getSynonymsRaw(String term) {
+        return getWithCache("syn:" + term, () -> jdmClient.getSynonymsRawAsync(term));
+    }
+
+    public CompletableFuture<String> getAntonymsRaw(String term) {
+        return getWithCache("anto:" + term, () -> jdmClient.getAntonymsRawAsync(term));
+    }
+
+    public CompletableFuture<String> getAssociationsRaw(String term) {
+        return getWithCache("assoc:" + term, () -> jdmClient.getAssociationsRawAsync(term));
+    }
+
+    private CompletableFuture<String> getWithCache(String key, Supplier<CompletableFuture<String>> fetch) {
+        // Chargement atomique par clé : un seul futur créé pour tous les appelants concurrents
+        boolean[] created = new boolean[1];
+        CompletableFuture<String> future = cache.get(key, k -> {
+            created[0] = true;
+            return fetch.get();
+        });
+        if (created[0]) {
+            // Hors du chargement : l'entrée est publiée quand le nettoyage s'exécute, même si le futur est déjà terminé
+            future.whenCompleteAsync((value, error) -> {
+                if (error != null) {
+                    cache.invalidate(key, future);
+                }
+            }, maintenanceExecutor);
+        }
+        return isolatedCopy(future);
+    }
+
+    // Copie : complete/cancel/obtrude d'un appelant ne touchent pas le futur partagé. Pas de copy() :
+    // les futurs du HttpClient propagent l'annulation de leurs dépendants jusqu'à la requête
+    private static CompletableFuture<String> isolatedCopy(CompletableFuture<String> shared) {
+        CompletableFuture<String> copy = new CompletableFuture<>();
+        shared.whenComplete((value, error) -> {
+            if (error == null) {
+                copy.complete(value);
+            } else {
+                copy.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+        return copy;
+    }
+}
@@ -1,10 +1,68 @@
 package org.example.jdm;
 import org.example.cache.Cache;
+import org.example.cache.CacheStats;
+import org.example.cache.GenericConcurrentCache;
+import org.example.cache.HotKeyFile;
+import org.example.cache.LatencyHistogram;
+import org.example.cache.SingleFlight;
+import org.example.jdm.relation.TermRelations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Wrapper around JdmClient that caches responses using a generic cache.
+ *
+ * <p>Concurrent misses on the same key share a single in-flight call to the JDM API
+ * (see {@link SingleFlight}): only one thread hits the network, the others wait for
+ * its result or exception.
+ *
+ * <p>Optional refresh-ahead ({@link #setRefreshAfterWrite(Duration)}): a hit on an entry older
+ * than the refresh threshold returns the cached value immediately and starts one asynchronous
+ * reload. If the reload fails the old value is kept until the cache's TTL removes it. The
+ * threshold should be shorter than the cache TTL, and requires a cache that tracks entry age
+ * ({@link Cache#ageNanos(Object)}).
+ *
+ * <p>The latency of every JDM call is recorded per endpoint ({@link #getLatency(JdmEndpoint)});
+ * {@link JdmClientManagement} publishes it over JMX or to a metrics registry. Lookups are traced
+ * by a {@link RequestTracer}: per-call timings go to histograms, and only a sample of the calls
+ * or the slow ones are logged.
+ *
+ * <p>Typed lookups ({@link #getTermRelations(String)}, {@link #getParsedRelations}) keep the
+ * parsed {@link TermRelations} in a second cache. They still go through the raw cache, so its
+ * expiration, stale-while-error and refresh-ahead apply; a parsed hit only saves the JSON
+ * parsing. Reloading a raw value drops its parsed copy.
+ *
+ * <p>Warm start: {@link #exportHotKeys(Path, int)} saves the hottest cache keys (as ranked by the
+ * cache's eviction policy) before shutdown, and {@link #warmUp} prefetches them in the background
+ * at the next startup while traffic is already being served.
+ *
+ * <p>Degraded mode, both optional: a {@link CircuitBreaker} ({@link #setCircuitBreaker}) makes
+ * misses fail fast with a {@link CircuitOpenException} while the API is down, instead of each
+ * one waiting for its own timeout; stale-while-error ({@link #setStaleWhileError}) keeps the
+ * last fetched values for a while after they left the cache and serves them when a fetch fails
+ * or the circuit is open. {@link #lookup} tells whether the value returned was stale.
  */
 public class CachedJdmClient {
 
@@ -12,53 +70,526 @@ public class CachedJdmClient {
 
     private final JdmClient jdmClient;
     private Cache<String, String> cache;
+    private volatile Cache<String, TermRelations> parsedCache;
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    // Rechargements anticipés : threads virtuels par défaut (appels réseau bloquants)
+    private static final ExecutorService DEFAULT_REFRESH_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile long refreshAfterWriteNanos;
+    private volatile Executor refreshExecutor = DEFAULT_REFRESH_EXECUTOR;
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    private static final int DEFAULT_BATCH_PARALLELISM = 8;
+    private volatile int batchParallelism = DEFAULT_BATCH_PARALLELISM;
+
+    private volatile CircuitBreaker circuitBreaker;
+    // Dernières valeurs chargées, gardées au-delà de la TTL du cache pour le mode dégradé
+    private volatile Cache<String, String> staleCache;
+    private final LongAdder staleServes = new LongAdder();
 
+    private final EnumMap<JdmEndpoint, LatencyHistogram> latencies = new EnumMap<>(JdmEndpoint.class);
+    private final RequestTracer tracer = new RequestTracer();
+
+    private static final int DEFAULT_PARSED_CACHE_SIZE = 10_000;
+
+    /**
+     * Client whose parsed relations are kept in an LRU cache of {@value #DEFAULT_PARSED_CACHE_SIZE}
+     * entries; they live as long as their raw value in cache.
+     */
     public CachedJdmClient(JdmClient jdmClient, Cache<String, String> cache) {
+        this(jdmClient, cache, GenericConcurrentCache.<String, TermRelations>builder()
+                .maximumSize(DEFAULT_PARSED_CACHE_SIZE)
+                .build());
+    }
+
+    /**
+     * @param parsedCache cache des relations parsées ; une entrée est invalidée au rechargement de sa valeur
+     *                    brute, sa propre expiration ne sert qu'à borner la mémoire
+     */
+    public CachedJdmClient(JdmClient jdmClient, Cache<String, String> cache, Cache<String, TermRelations> parsedCache) {
         this.jdmClient = jdmClient;
         this.cache = cache;
+        this.parsedCache = Objects.requireNonNull(parsedCache);
+        for (JdmEndpoint endpoint : JdmEndpoint.values()) {
+            latencies.put(endpoint, new LatencyHistogram());
+        }
     }
 
     public void setCache(Cache<String, String> cache) {
         this.cache = cache;
     }
 
+    public void setParsedCache(Cache<String, TermRelations> parsedCache) {
+        this.parsedCache = Objects.requireNonNull(parsedCache);
+    }
+
+    public Cache<String, TermRelations> getParsedCache() {
+        return parsedCache;
+    }
+
+    /**
+     * Enables refresh-ahead for entries older than refreshAfterWrite (null or zero disables it).
+     */
+    public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+        this.refreshAfterWriteNanos = refreshAfterWrite == null ? 0L : Math.max(0L, refreshAfterWrite.toNanos());
+    }
+
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = Objects.requireNonNull(refreshExecutor);
+    }
+
+    /**
+     * Maximum number of concurrent JDM calls issued by a batch lookup.
+     */
+    public void setBatchParallelism(int batchParallelism) {
+        if (batchParallelism <= 0) throw new IllegalArgumentException("batchParallelism must be > 0");
+        this.batchParallelism = batchParallelism;
+    }
+
+    /**
+     * Rejects the JDM calls of the misses while breaker is open (null removes the breaker).
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Enables stale-while-error: the last maxEntries values fetched stay available for maxAge
+     * after their fetch, and are served when the value has left the cache and cannot be fetched
+     * again. maxAge should be the TTL of the cache plus the accepted staleness. Null or zero
+     * disables it.
+     */
+    public void setStaleWhileError(Duration maxAge, int maxEntries) {
+        if (maxAge == null || maxAge.isZero() || maxAge.isNegative()) {
+            this.staleCache = null;
+            return;
+        }
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be > 0");
+        this.staleCache = GenericConcurrentCache.<String, String>builder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(maxAge)
+                .build();
+    }
+
+    /**
+     * Raw response of {@link JdmEndpoint#TERM} for term. With stale-while-error enabled, this
+     * may be a stale value, returned without any flag: use {@link #lookup} when the caller must
+     * know.
+     */
     public String getTermRaw(String term) {
-        return getWithCache("term:" + term, () -> jdmClient.getTermRaw(term));
+        return getWithCache(JdmEndpoint.TERM, term, () -> jdmClient.getTermRaw(term)).value();
     }
 
+    /**
+     * Like {@link #getTermRaw}, for {@link JdmEndpoint#RELATIONS}: may be stale, without flag.
+     */
     public String getRelationsRaw(String term) {
-        return getWithCache("relations:" + term, () -> jdmClient.getRelationsRaw(term));
+        return getWithCache(JdmEndpoint.RELATIONS, term, () -> jdmClient.getRelationsRaw(term)).value();
     }
 
+    /**
+     * Like {@link #getTermRaw}, for {@link JdmEndpoint#SYNONYMS}: may be stale, without flag.
+     */
     public String getSynonymsRaw(String term) {
-        return getWithCache("syn:" + term, () -> jdmClient.getSynonymsRaw(term));
+        return getWithCache(JdmEndpoint.SYNONYMS, term, () -> jdmClient.getSynonymsRaw(term)).value();
     }
 
+    /**
+     * Like {@link #getTermRaw}, for {@link JdmEndpoint#ANTONYMS}: may be stale, without flag.
+     */
     public String getAntonymsRaw(String term) {
-        return getWithCache("anto:" + term, () -> jdmClient.getAntonymsRaw(term));
+        return getWithCache(JdmEndpoint.ANTONYMS, term, () -> jdmClient.getAntonymsRaw(term)).value();
     }
 
+    /**
+     * Like {@link #getTermRaw}, for {@link JdmEndpoint#ASSOCIATIONS}: may be stale, without flag.
+     */
     public String getAssociationsRaw(String term) {
-        return getWithCache("assoc:" + term, () -> jdmClient.getAssociationsRaw(term));
+        return getWithCache(JdmEndpoint.ASSOCIATIONS, term, () -> jdmClient.getAssociationsRaw(term)).value();
+    }
+
+    /**
+     * Raw response of the endpoint for term, flagged stale if it was served by
+     * stale-while-error.
+     */
+    public CachedResponse lookup(JdmEndpoint endpoint, String term) {
+        return getWithCache(endpoint, term, () -> fetch(endpoint, term));
     }
 
-    private String getWithCache(String key, SupplierWithException supplier) {
+    public TermRelations getTermRelations(String term) {
+        return getParsedRelations(JdmEndpoint.RELATIONS, term);
+    }
+
+    /**
+     * Relations of term returned by a relation endpoint, parsed once and cached.
+     */
+    public TermRelations getParsedRelations(JdmEndpoint endpoint, String term) {
+        String key = endpoint.cacheKey(term);
+        Cache<String, TermRelations> parsed = parsedCache;
+        // Le cache brut reste la référence (TTL, stale-while-error, rechargement anticipé) : le cache
+        // parsé n'évite que le parsing, et chaque rechargement du brut invalide sa copie parsée
+        CachedResponse raw = getWithCache(endpoint, term, () -> fetch(endpoint, term));
+        if (raw.stale()) {
+            // Une valeur périmée n'entre pas dans le cache des relations parsées
+            return jdmClient.parseRelations(term, raw.value());
+        }
+        return parsed.get(key, k -> jdmClient.parseRelations(term, raw.value()));
+    }
+
+    /**
+     * Relations of many terms in one call.
+     *
+     * <p>Hits are answered from the cache in a single {@link Cache#getAll} pass; only the misses
+     * are fetched, in parallel, with at most {@link #setBatchParallelism(int)} concurrent calls.
+     * Each miss still goes through the single-flight map, so it is shared with concurrent
+     * lookups of the same term. Logging and timing happen once per batch.
+     *
+     * @return term → raw relations, in the iteration order of terms (duplicates collapsed)
+     * @throws JdmApiException if any miss cannot be fetched nor served stale (fetched values
+     *                         stay cached)
+     */
+    public Map<String, String> getRelationsRawBatch(Collection<String> terms) {
         long start = System.nanoTime();
+        Map<String, String> keysByTerm = new LinkedHashMap<>();
+        for (String term : terms) {
+            keysByTerm.computeIfAbsent(term, JdmEndpoint.RELATIONS::cacheKey);
+        }
+        Map<String, String> cached = cache.getAll(keysByTerm.values());
+
+        // La map résultat est remplie dans l'ordre d'entrée ; les misses sont complétés ensuite
+        Map<String, String> result = new LinkedHashMap<>();
+        List<String> missingTerms = new ArrayList<>();
+        for (Map.Entry<String, String> entry : keysByTerm.entrySet()) {
+            String value = cached.get(entry.getValue());
+            result.put(entry.getKey(), value);
+            if (value == null) {
+                missingTerms.add(entry.getKey());
+            }
+        }
+        if (!missingTerms.isEmpty()) {
+            fetchMissing(missingTerms, keysByTerm, result);
+        }
+
+        long duration = System.nanoTime() - start;
+        LOGGER.debug("Batch relations: terms={}, hits={}, fetched={}, duration={}µs",
+                result.size(), result.size() - missingTerms.size(), missingTerms.size(), duration / 1_000);
+        return result;
+    }
+
+    private void fetchMissing(List<String> missingTerms, Map<String, String> keysByTerm, Map<String, String> result) {
+        Semaphore permits = new Semaphore(batchParallelism);
+        List<Future<String>> futures = new ArrayList<>(missingTerms.size());
+        // Threads virtuels : les appels bloquants ne monopolisent pas de threads plateforme
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String term : missingTerms) {
+                String key = keysByTerm.get(term);
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return singleFlight.load(key, this::cachedValue,
+                                () -> load(JdmEndpoint.RELATIONS, key, () -> jdmClient.getRelationsRaw(term)));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        for (int i = 0; i < missingTerms.size(); i++) {
+            try {
+                result.put(missingTerms.get(i), futures.get(i).get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                JdmApiException error = cause instanceof JdmApiException jdm ? jdm
+                        : new JdmApiException("Error fetching JDM data", cause);
+                result.put(missingTerms.get(i), staleOrThrow(keysByTerm.get(missingTerms.get(i)), error));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JdmApiException("Interrupted while fetching JDM data", e);
+            }
+        }
+    }
+
+    /**
+     * Number of JDM calls actually issued on cache misses.
+     */
+    public long getLoadCount() {
+        return singleFlight.loadCount();
+    }
+
+    /**
+     * Number of misses that were served by joining another thread's in-flight call, or by the
+     * value such a call stored just after the miss.
+     */
+    public long getCoalescedCount() {
+        return singleFlight.coalescedCount();
+    }
+
+    /**
+     * Number of lookups answered with a stale value because the JDM API could not be reached.
+     */
+    public long getStaleServeCount() {
+        return staleServes.sum();
+    }
+
+    /**
+     * Number of JDM calls rejected by the circuit breaker.
+     */
+    public long getCircuitRejectionCount() {
+        CircuitBreaker breaker = circuitBreaker;
+        return breaker == null ? 0L : breaker.rejectedCount();
+    }
+
+    /**
+     * State of the circuit breaker; {@link CircuitBreaker.State#CLOSED} without breaker.
+     */
+    public CircuitBreaker.State getCircuitState() {
+        CircuitBreaker breaker = circuitBreaker;
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    /**
+     * Number of asynchronous refreshes started.
+     */
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * Number of asynchronous refreshes that failed (the previous value was kept).
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    /**
+     * Number of keys currently being fetched from the JDM API.
+     */
+    public int getInFlightCount() {
+        return singleFlight.inFlightCount();
+    }
+
+    /**
+     * Tracing of the lookups; can be reconfigured or disabled at runtime.
+     */
+    public RequestTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Latency of the JDM calls made for the endpoint (cache hits are not included).
+     */
+    public LatencyHistogram.Snapshot getLatency(JdmEndpoint endpoint) {
+        return latencies.get(endpoint).snapshot();
+    }
+
+    /**
+     * Writes the limit hottest keys of the cache to file (see {@link HotKeyFile}).
+     *
+     * @return the number of keys written (fewer than limit if the cache cannot rank its keys
+     *         or holds fewer entries)
+     */
+    public int exportHotKeys(Path file, int limit) throws IOException {
+        List<String> keys = cache.hottestKeys(limit);
+        HotKeyFile.write(file, keys);
+        LOGGER.info("Exported {} hot keys to {}", keys.size(), file);
+        return keys.size();
+    }
+
+    /**
+     * Prefetches the keys of a file written by {@link #exportHotKeys}, hottest first, on virtual
+     * threads: at most parallelism JDM calls at a time, started no faster than rateLimiter allows.
+     * Keys already cached are skipped without using a permit; a key being loaded by a concurrent
+     * lookup is shared with it. Failed loads are counted and do not stop the warm-up.
+     *
+     * <p>Returns immediately; the callers keep being served from the cache and the JDM API
+     * meanwhile. A missing file completes with an empty report. The presence check relies on
+     * {@link Cache#ageNanos}: with a cache that does not track it every key is fetched.
+     */
+    public CompletableFuture<WarmUpReport> warmUp(Path file, int parallelism, RateLimiter rateLimiter) {
+        Objects.requireNonNull(file, "file must not be null");
+        Objects.requireNonNull(rateLimiter, "rateLimiter must not be null");
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be > 0");
+        return CompletableFuture.supplyAsync(() -> runWarmUp(file, parallelism, rateLimiter), DEFAULT_REFRESH_EXECUTOR);
+    }
+
+    private WarmUpReport runWarmUp(Path file, int parallelism, RateLimiter rateLimiter) {
+        long start = System.nanoTime();
+        CacheStats before = cache.getStats();
+        List<String> keys;
+        try {
+            keys = Files.exists(file) ? HotKeyFile.read(file) : List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read hot-key file " + file, e);
+        }
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger alreadyCached = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int skipped = 0;
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String key : keys) {
+                JdmEndpoint endpoint = JdmEndpoint.ofCacheKey(key);
+                if (endpoint == null) {
+                    skipped++;
+                    continue;
+                }
+                // Permis pris avant la soumission : au plus parallelism threads en vie
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        if (cache.ageNanos(key) >= 0) {
+                            alreadyCached.incrementAndGet();
+                            return;
+                        }
+                        rateLimiter.acquire();
+                        String term = endpoint.term(key);
+                        singleFlight.load(key, this::cachedValue,
+                                () -> load(endpoint, key, () -> fetch(endpoint, term)));
+                        loaded.incrementAndGet();
+                    } catch (JdmApiException e) {
+                        failed.incrementAndGet();
+                        LOGGER.debug("Warm-up failed for key={}", key, e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Warm-up interrupted");
+        }
+
+        // Les chargements du préchauffage ne passent pas par get : hits et misses sont ceux du trafic
+        CacheStats traffic = cache.getStats().minus(before);
+        WarmUpReport report = new WarmUpReport(keys.size(), loaded.get(), alreadyCached.get(), failed.get(),
+                skipped, Duration.ofNanos(System.nanoTime() - start), traffic.hitRate());
+        LOGGER.info("Warm-up finished: keys={}, loaded={}, alreadyCached={}, failed={}, skipped={}, duration={}ms, trafficHitRate={}",
+                report.keys(), report.loaded(), report.alreadyCached(), report.failed(), report.skipped(),
+                report.duration().toMillis(), String.format("%.3f", report.hitRate()));
+        return report;
+    }
+
+    private String fetch(JdmEndpoint endpoint, String term) {
+        return switch (endpoint) {
+            case TERM -> jdmClient.getTermRaw(term);
+            case RELATIONS -> jdmClient.getRelationsRaw(term);
+            case SYNONYMS -> jdmClient.getSynonymsRaw(term);
+            case ANTONYMS -> jdmClient.getAntonymsRaw(term);
+            case ASSOCIATIONS -> jdmClient.getAssociationsRaw(term);
+        };
+    }
+
+    private CachedResponse getWithCache(JdmEndpoint endpoint, String term, SupplierWithException supplier) {
+        String key = endpoint.cacheKey(term);
+        boolean traced = tracer.isEnabled();
+        long start = traced ? System.nanoTime() : 0L;
         String cached = cache.get(key);
         if (cached != null) {
-            long duration = System.nanoTime() - start;
-            LOGGER.info("Cache HIT for key={}, duration={}µs", key, duration / 1_000);
-            return cached;
+            if (traced) {
+                tracer.recordHit(endpoint, key, System.nanoTime() - start);
+            }
+            if (refreshAfterWriteNanos > 0) {
+                refreshIfStale(endpoint, key, supplier);
+            }
+            return new CachedResponse(cached, false);
+        }
+        CachedResponse response;
+        try {
+            String value = singleFlight.load(key, this::cachedValue, () -> load(endpoint, key, supplier));
+            response = new CachedResponse(value, false);
+        } catch (JdmApiException e) {
+            response = new CachedResponse(staleOrThrow(key, e), true);
+        }
+        if (traced) {
+            tracer.recordMiss(endpoint, key, System.nanoTime() - start);
+        }
+        return response;
+    }
+
+    // Relue par le leader du single-flight : un chargement qui vient de finir a pu ranger la valeur après
+    // notre miss. ageNanos d'abord, pour ne pas compter un second miss
+    private String cachedValue(String key) {
+        return cache.ageNanos(key) >= 0 ? cache.get(key) : null;
+    }
+
+    // Idem pour le rechargement anticipé : inutile si un rechargement vient de rajeunir la valeur
+    private String freshValue(String key) {
+        long age = cache.ageNanos(key);
+        return age >= 0 && age < refreshAfterWriteNanos ? cache.get(key) : null;
+    }
+
+    private String staleOrThrow(String key, JdmApiException error) {
+        Cache<String, String> stale = staleCache;
+        String value = stale == null ? null : stale.get(key);
+        if (value == null) {
+            throw error;
+        }
+        staleServes.increment();
+        LOGGER.debug("Serving stale value for key={} ({})", key, error.getMessage());
+        return value;
+    }
+
+    private void refreshIfStale(JdmEndpoint endpoint, String key, SupplierWithException supplier) {
+        long age = cache.ageNanos(key);
+        if (age < refreshAfterWriteNanos) {
+            return;
+        }
+        // Au plus un rechargement par clé : ignoré si un chargement est déjà en cours
+        CompletableFuture<String> reload = singleFlight.loadAsync(key, this::freshValue,
+                () -> load(endpoint, key, supplier), refreshExecutor);
+        if (reload == null) {
+            return;
+        }
+        refreshes.increment();
+        reload.whenComplete((value, error) -> {
+            if (error != null) {
+                refreshFailures.increment();
+                LOGGER.warn("Refresh failed for key={}, keeping previous value", key, error);
+            }
+        });
+    }
+
+    private String load(JdmEndpoint endpoint, String key, SupplierWithException supplier) {
+        // Le put a lieu avant la libération de la clé : les threads suivants verront un HIT
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker != null && !breaker.tryAcquire()) {
+            throw new CircuitOpenException("Circuit breaker open, JDM API not called for key=" + key);
         }
         String value;
+        long start = System.nanoTime();
+        boolean succeeded = false;
         try {
             value = supplier.get();
+            succeeded = true;
         } catch (Exception e) {
+            // Une erreur applicative (404…) prouve que l'API répond
+            succeeded = e instanceof JdmApiException jdm && !RetryPolicy.isOverload(jdm);
             throw new JdmApiException("Error fetching JDM data", e);
+        } finally {
+            latencies.get(endpoint).record(System.nanoTime() - start);
+            // Dans le finally pour qu'une Error libère aussi l'essai du half-open
+            if (breaker != null) {
+                if (succeeded) {
+                    breaker.onSuccess();
+                } else {
+                    breaker.onFailure();
+                }
+            }
         }
         cache.put(key, value);
-        long duration = System.nanoTime() - start;
-        LOGGER.info("Cache MISS for key={}, duration={}µs (including network)", key, duration / 1_000);
+        Cache<String, String> stale = staleCache;
+        if (stale != null) {
+            stale.put(key, value);
+        }
+        // La version parsée éventuelle correspond à l'ancienne valeur
+        parsedCache.invalidate(key);
         return value;
     }
 
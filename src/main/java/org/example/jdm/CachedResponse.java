@@ -0,0 +1,11 @@
+package org.example.jdm;
+
+/**
+ * Raw response returned by {@link CachedJdmClient#lookup}.
+ *
+ * @param value réponse brute de l'API
+ * @param stale true si la valeur a expiré et n'est servie que parce que l'API n'a pas pu
+ *              répondre (stale-while-error)
+ */
+public record CachedResponse(String value, boolean stale) {
+}
@@ -0,0 +1,130 @@
+package org.example.jdm;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker for the calls to the JDM API.
+ *
+ * <ul>
+ *   <li>{@link State#CLOSED}: calls go through; {@code failureThreshold} consecutive failures
+ *       open the circuit;</li>
+ *   <li>{@link State#OPEN}: calls are rejected without touching the network, for
+ *       {@code openDuration};</li>
+ *   <li>{@link State#HALF_OPEN}: a single trial call goes through; its success closes the
+ *       circuit, its failure opens it again for a full openDuration.</li>
+ * </ul>
+ * Only failures that mean the API is unavailable should be reported (see
+ * {@link RetryPolicy#isOverload}); a 404 is a sign of health.
+ *
+ * <p>Usage: {@code if (breaker.tryAcquire())} then, always, {@link #onSuccess()} or
+ * {@link #onFailure()}. Thread-safe.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private volatile State state = State.CLOSED;
+    // Lu hors du moniteur par le chemin rapide de onSuccess
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private long openUntilNanos;
+    private boolean trialInFlight;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    /**
+     * @param failureThreshold échecs consécutifs qui ouvrent le circuit
+     * @param openDuration     durée pendant laquelle les appels sont refusés avant un essai
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold <= 0) throw new IllegalArgumentException("failureThreshold must be > 0");
+        if (openDuration == null || openDuration.isNegative() || openDuration.isZero()) {
+            throw new IllegalArgumentException("openDuration must be > 0");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Whether a call may go out now. A false answer is counted as a rejection.
+     */
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.CLOSED || (state == State.HALF_OPEN && !trialInFlight)) {
+                trialInFlight = state == State.HALF_OPEN;
+                return true;
+            }
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        if (state == State.CLOSED && consecutiveFailures.get() == 0) {
+            return;
+        }
+        synchronized (this) {
+            consecutiveFailures.set(0);
+            trialInFlight = false;
+            state = State.CLOSED;
+        }
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            // Un appel parti avant l'ouverture n'en prolonge pas la durée
+            if (state != State.OPEN) {
+                state = State.OPEN;
+                openUntilNanos = System.nanoTime() + openNanos;
+                opened.increment();
+            }
+        }
+    }
+
+    public State state() {
+        // Un circuit ouvert dont le délai est écoulé est prêt pour l'essai
+        if (state == State.OPEN) {
+            synchronized (this) {
+                if (state == State.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+                    return State.HALF_OPEN;
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Number of calls rejected while the circuit was open.
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Number of times the circuit opened.
+     */
+    public long openedCount() {
+        return opened.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{state=" + state() + ", failureThreshold=" + failureThreshold
+                + ", openDuration=" + Duration.ofNanos(openNanos) + '}';
+    }
+}
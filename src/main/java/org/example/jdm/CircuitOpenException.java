@@ -0,0 +1,13 @@
+package org.example.jdm;
+
+/**
+ * Call rejected without reaching the JDM API because the {@link CircuitBreaker} is open.
+ */
+public class CircuitOpenException extends JdmApiException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,44 @@
 package org.example.jdm;
 
+import java.time.Duration;
+
 public class JdmApiException extends RuntimeException {
 
+    private final int statusCode;
+    private final Duration retryAfter;
+
     public JdmApiException(String message) {
-        super(message);
+        this(message, -1, null);
     }
 
     public JdmApiException(String message, Throwable cause) {
         super(message, cause);
+        this.statusCode = -1;
+        this.retryAfter = null;
+    }
+
+    /**
+     * Error response of the API.
+     *
+     * @param retryAfter délai demandé par l'en-tête Retry-After, ou null
+     */
+    public JdmApiException(String message, int statusCode, Duration retryAfter) {
+        super(message);
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * HTTP status of the error response, or -1 if the call failed before getting one.
+     */
+    public int statusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Delay requested by the server before retrying, or null.
+     */
+    public Duration retryAfter() {
+        return retryAfter;
     }
-}
\ No newline at end of file
+}
@@ -2,30 +2,135 @@ package org.example.jdm;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.jdm.relation.RelationFilter;
+import org.example.jdm.relation.RelationHandler;
+import org.example.jdm.relation.RelationParser;
+import org.example.jdm.relation.TermRelations;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Simple HTTP client for the JeuxDeMots API.
  * This client returns raw JSON as String or parsed JsonNode.
+ *
+ * <p>Every raw lookup also exists in a non-blocking form ({@code ...RawAsync}) built on
+ * {@link HttpClient#sendAsync}: no thread is held while the request is in flight. The
+ * futures complete exceptionally with a {@link JdmApiException} on network or HTTP errors.
+ *
+ * <p>{@link #parseRelations} turns a relation response into a compact {@link TermRelations}
+ * with the streaming parser, without building the JSON tree of {@link #getRelations}.
+ * {@link #getTermRelations(JdmEndpoint, String, RelationFilter)} and {@link #streamRelations}
+ * go further for large responses: the HTTP body is parsed while it arrives and is never held
+ * as a String, and relations can be filtered or consumed one by one.
+ *
+ * <p>The transport (HTTP version, timeouts, gzip, executor, base URL) is set by a
+ * {@link JdmTransportConfig}; the default constructor uses {@link JdmTransportConfig#defaults()}.
+ * Gzip responses are decompressed transparently, and {@link #getBytesReceived()} counts the
+ * body bytes as received on the wire.
+ *
+ * <p>The config also protects the API from floods (e.g. after a deploy, when the cache is
+ * cold): blocking calls go through the optional {@link RateLimiter}, then the
+ * {@link AdaptiveConcurrencyLimiter}, and failed calls that may succeed later (network errors,
+ * timeouts, 429, 5xx) are retried according to the {@link RetryPolicy}. Async calls are only
+ * retried, never blocked by the limiters.
+ *
+ * <p>With a {@link RequestHedger}, a blocking raw lookup that is slower than the recent
+ * latencies is duplicated and the first response wins, within the hedger's extra-load budget.
+ * Streamed lookups are not hedged.
  */
 public class JdmClient {
 
-    private static final String BASE_URL = "https://jdm-api.demo.lirmm.fr";
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final RelationParser relationParser;
+    private final String baseUrl;
+    private final HttpRequest.Builder requestTemplate;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RetryPolicy retryPolicy;
+    private final RequestHedger hedger;
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
 
+    /**
+     * Client with {@link JdmTransportConfig#defaults()}: unlike earlier versions, retryable
+     * failures are retried ({@link RetryPolicy#defaults()}) and concurrent calls are bounded by
+     * an {@link AdaptiveConcurrencyLimiter}. Use {@link #JdmClient(JdmTransportConfig)} with
+     * {@code retryPolicy(RetryPolicy.none())} and {@code noConcurrencyLimit()} for plain calls.
+     */
     public JdmClient() {
-        this(HttpClient.newHttpClient(), new ObjectMapper());
+        this(JdmTransportConfig.defaults());
     }
 
+    /**
+     * Client whose HTTP exchanges and async completions run on the given executor,
+     * e.g. {@code Executors.newVirtualThreadPerTaskExecutor()}.
+     */
+    public JdmClient(Executor executor) {
+        this(JdmTransportConfig.builder().executor(executor).build());
+    }
+
+    public JdmClient(JdmTransportConfig config) {
+        this(config, new ObjectMapper());
+    }
+
+    public JdmClient(JdmTransportConfig config, ObjectMapper objectMapper) {
+        this(config.newHttpClient(), objectMapper, config.baseUri().toString(), config.requestTemplate(),
+                config.rateLimiter(), config.concurrencyLimiter(), config.retryPolicy(), config.hedger());
+    }
+
+    /**
+     * Client on a caller-configured HttpClient: plain GET requests, without timeout, gzip,
+     * limiters or retries.
+     */
     public JdmClient(HttpClient httpClient, ObjectMapper objectMapper) {
+        this(httpClient, objectMapper, JdmTransportConfig.DEFAULT_BASE_URL);
+    }
+
+    public JdmClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl) {
+        this(httpClient, objectMapper, baseUrl, HttpRequest.newBuilder().GET(), null, null, RetryPolicy.none(), null);
+    }
+
+    private JdmClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                      HttpRequest.Builder requestTemplate, RateLimiter rateLimiter,
+                      AdaptiveConcurrencyLimiter concurrencyLimiter, RetryPolicy retryPolicy,
+                      RequestHedger hedger) {
         this.httpClient = httpClient;
         this.objectMapper = objectMapper;
+        this.relationParser = new RelationParser(objectMapper.getFactory());
+        this.baseUrl = baseUrl;
+        this.requestTemplate = requestTemplate;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.retryPolicy = retryPolicy;
+        this.hedger = hedger;
     }
 
     public String getTermRaw(String term) {
@@ -48,6 +153,26 @@ public class JdmClient {
         return getRaw("/term/" + encode(term) + "/r_associated");
     }
 
+    public CompletableFuture<String> getTermRawAsync(String term) {
+        return getRawAsync("/term/" + encode(term));
+    }
+
+    public CompletableFuture<String> getRelationsRawAsync(String term) {
+        return getRawAsync("/term/" + encode(term) + "/relations");
+    }
+
+    public CompletableFuture<String> getSynonymsRawAsync(String term) {
+        return getRawAsync("/term/" + encode(term) + "/r_syn");
+    }
+
+    public CompletableFuture<String> getAntonymsRawAsync(String term) {
+        return getRawAsync("/term/" + encode(term) + "/r_anto");
+    }
+
+    public CompletableFuture<String> getAssociationsRawAsync(String term) {
+        return getRawAsync("/term/" + encode(term) + "/r_associated");
+    }
+
     public JsonNode getTerm(String term) {
         return parseJson(getTermRaw(term));
     }
@@ -68,24 +193,381 @@ public class JdmClient {
         return parseJson(getAssociationsRaw(term));
     }
 
+    public TermRelations getTermRelations(String term) {
+        return getTermRelations(JdmEndpoint.RELATIONS, term, RelationFilter.ALL);
+    }
+
+    /**
+     * Relations of term accepted by filter, parsed incrementally from the HTTP body. Memory use
+     * is that of the kept relations, not of the response.
+     */
+    public TermRelations getTermRelations(JdmEndpoint endpoint, String term, RelationFilter filter) {
+        InputStream body = getStream(pathOf(endpoint, term));
+        try {
+            return relationParser.parse(term, body, filter);
+        } catch (IOException e) {
+            throw new JdmApiException("Error reading JDM response", e);
+        }
+    }
+
+    /**
+     * Hands the nodes and the relations accepted by filter to handler as they are read from
+     * the HTTP body. If the handler returns false the connection's body is abandoned.
+     *
+     * @return false if the handler stopped the reading
+     */
+    public boolean streamRelations(JdmEndpoint endpoint, String term, RelationFilter filter,
+                                   RelationHandler handler) {
+        InputStream body = getStream(pathOf(endpoint, term));
+        try {
+            return relationParser.stream(term, body, filter, handler);
+        } catch (IOException e) {
+            throw new JdmApiException("Error reading JDM response", e);
+        }
+    }
+
+    /**
+     * Parses a relation response (from any relation endpoint) of term.
+     */
+    public TermRelations parseRelations(String term, String raw) {
+        return relationParser.parse(term, raw);
+    }
+
     protected String getRaw(String path) {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + path))
-                .GET()
-                .build();
+        return withRetries(hedger == null ? () -> send(path) : () -> sendHedged(path), (body, release) -> {
+            release.accept(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+            return body;
+        });
+    }
+
+    /**
+     * Body of a successful response, read as it arrives; the caller must close it. The call
+     * keeps its place in the concurrency limit until the body is closed.
+     */
+    protected InputStream getStream(String path) {
+        return withRetries(() -> sendForStream(path), ReleasingInputStream::new);
+    }
+
+    protected CompletableFuture<String> getRawAsync(String path) {
+        return sendAsyncWithRetries(path, 0);
+    }
+
+    /**
+     * Une tentative par tour : permis du rate limiter, place dans la limite de concurrence,
+     * puis pause avant la tentative suivante hors de la limite (un appel en attente de retry
+     * n'occupe pas de place).
+     *
+     * @param onSuccess reçoit le résultat et la libération de la place, qu'il doit appeler une fois
+     *                  l'échange terminé (tout de suite pour un corps lu, à la fermeture pour un flux)
+     */
+    private <T> T withRetries(Supplier<T> call,
+                              BiFunction<T, Consumer<AdaptiveConcurrencyLimiter.Outcome>, T> onSuccess) {
+        for (int retry = 0; ; retry++) {
+            JdmApiException failure;
+            long start = acquirePermits();
+            AdaptiveConcurrencyLimiter.Outcome outcome = AdaptiveConcurrencyLimiter.Outcome.IGNORE;
+            boolean handedOver = false;
+            try {
+                T result = call.get();
+                handedOver = true;
+                return onSuccess.apply(result, success -> release(start, success));
+            } catch (JdmApiException e) {
+                failure = e;
+                if (RetryPolicy.isOverload(e)) {
+                    outcome = AdaptiveConcurrencyLimiter.Outcome.OVERLOAD;
+                    throttled.increment();
+                }
+            } finally {
+                if (!handedOver) {
+                    release(start, outcome);
+                }
+            }
+            if (retry + 1 >= retryPolicy.maxAttempts() || !RetryPolicy.isRetryable(failure)) {
+                throw failure;
+            }
+            retries.increment();
+            sleep(retryPolicy.backoffNanos(retry, failure.retryAfter()), failure);
+        }
+    }
+
+    private void release(long start, AdaptiveConcurrencyLimiter.Outcome outcome) {
+        if (concurrencyLimiter != null) {
+            concurrencyLimiter.release(start, outcome);
+        }
+    }
+
+    private long acquirePermits() {
         try {
-            HttpResponse<String> response = httpClient.send(
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            return concurrencyLimiter != null ? concurrencyLimiter.acquire() : 0L;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JdmApiException("Interrupted while waiting to call JDM API", e);
+        }
+    }
+
+    private static void sleep(long nanos, JdmApiException failure) {
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new JdmApiException("Interrupted while waiting to retry JDM API call", failure);
+            }
+        }
+    }
+
+    private CompletableFuture<String> sendAsyncWithRetries(String path, int retry) {
+        return sendAsync(path)
+                .handle((body, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(body);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (!(cause instanceof JdmApiException failure)) {
+                        return CompletableFuture.<String>failedFuture(cause);
+                    }
+                    if (RetryPolicy.isOverload(failure)) {
+                        throttled.increment();
+                    }
+                    if (retry + 1 >= retryPolicy.maxAttempts() || !RetryPolicy.isRetryable(failure)) {
+                        return CompletableFuture.<String>failedFuture(failure);
+                    }
+                    retries.increment();
+                    Executor delayed = CompletableFuture.delayedExecutor(
+                            retryPolicy.backoffNanos(retry, failure.retryAfter()), TimeUnit.NANOSECONDS);
+                    return CompletableFuture.runAsync(() -> { }, delayed)
+                            .thenCompose(ignored -> sendAsyncWithRetries(path, retry + 1));
+                })
+                .thenCompose(future -> future);
+    }
+
+    private String send(String path) {
+        HttpRequest request = newRequest(path);
+        try {
+            HttpResponse<byte[]> response = httpClient.send(
                     request,
-                    HttpResponse.BodyHandlers.ofString()
+                    HttpResponse.BodyHandlers.ofByteArray()
             );
-            if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                return response.body();
+            return bodyOf(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JdmApiException("Interrupted while calling JDM API", e);
+        } catch (IOException e) {
+            throw new JdmApiException("Error calling JDM API", e);
+        }
+    }
+
+    /**
+     * Premier envoi, puis un doublon si la réponse tarde au-delà du délai du hedger et que le
+     * budget le permet ; la première réponse HTTP gagne et l'autre échange est annulé.
+     */
+    private String sendHedged(String path) {
+        hedger.onCall();
+        CompletableFuture<HttpResponse<byte[]>> primary = timedSend(path);
+        CompletableFuture<HttpResponse<byte[]>> hedge = null;
+        try {
+            HttpResponse<byte[]> response;
+            try {
+                response = primary.get(hedger.delayNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (!hedger.tryHedge()) {
+                    response = primary.get();
+                } else {
+                    hedge = timedSend(path);
+                    response = firstOf(primary, hedge).get();
+                    if (!primary.isDone() || primary.isCompletedExceptionally()) {
+                        hedger.onHedgeWin();
+                    }
+                }
             }
-            throw new JdmApiException("Unexpected status code: " + response.statusCode());
-        } catch (IOException | InterruptedException e) {
+            return bodyOf(response);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            throw new JdmApiException("Interrupted while calling JDM API", e);
+        } catch (ExecutionException e) {
+            throw new JdmApiException("Error calling JDM API", e.getCause());
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    // Envoi dont la latence alimente le hedger ; un échange annulé (l'autre a gagné) n'est pas compté,
+    // sa durée à l'annulation sous-estimerait sa latence
+    private CompletableFuture<HttpResponse<byte[]>> timedSend(String path) {
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> future =
+                httpClient.sendAsync(newRequest(path), HttpResponse.BodyHandlers.ofByteArray());
+        future.whenComplete((response, error) -> {
+            if (error == null) {
+                hedger.record(System.nanoTime() - start);
+            }
+        });
+        return future;
+    }
+
+    // Première réponse obtenue ; échec seulement si les deux échouent
+    private static <T> CompletableFuture<T> firstOf(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        BiConsumer<T, Throwable> onComplete = (value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (failures.incrementAndGet() == 2) {
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        };
+        first.whenComplete(onComplete);
+        second.whenComplete(onComplete);
+        return result;
+    }
+
+    private InputStream sendForStream(String path) {
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(newRequest(path), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JdmApiException("Interrupted while calling JDM API", e);
+        } catch (IOException e) {
             throw new JdmApiException("Error calling JDM API", e);
         }
+        InputStream body = new CountingInputStream(response.body(), bytesReceived);
+        if (response.statusCode() >= 200 && response.statusCode() < 300) {
+            try {
+                // Décompression sur le thread appelant : GZIPInputStream lit l'en-tête dès sa création
+                return isGzip(response.headers()) ? new GZIPInputStream(body, 8192) : body;
+            } catch (IOException e) {
+                closeQuietly(body);
+                throw new JdmApiException("Error reading JDM response", e);
+            }
+        }
+        closeQuietly(body);
+        throw statusError(response);
+    }
+
+    private CompletableFuture<String> sendAsync(String path) {
+        return httpClient.sendAsync(newRequest(path), HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        throw new JdmApiException("Error calling JDM API", cause);
+                    }
+                    return bodyOf(response);
+                });
+    }
+
+    /**
+     * Number of response body bytes received, before decompression.
+     */
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    /**
+     * Number of calls retried (each retry counts once).
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * Number of calls that failed with an overload signal: 429, 5xx, timeout or network error.
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Hedger of the blocking raw lookups, or null if they are not hedged.
+     */
+    public RequestHedger getHedger() {
+        return hedger;
+    }
+
+    /**
+     * Adaptive concurrency limiter of the blocking calls, or null if they are not limited.
+     */
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    private HttpRequest newRequest(String path) {
+        // copy() : le modèle partagé n'est jamais modifié
+        return requestTemplate.copy()
+                .uri(URI.create(baseUrl + path))
+                .build();
+    }
+
+    private String bodyOf(HttpResponse<byte[]> response) {
+        byte[] body = response.body();
+        bytesReceived.add(body.length);
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw statusError(response);
+        }
+        Charset charset = charsetOf(response.headers());
+        if (!isGzip(response.headers())) {
+            return new String(body, charset);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body), 8192)) {
+            return new String(in.readAllBytes(), charset);
+        } catch (IOException e) {
+            throw new JdmApiException("Error decompressing JDM response", e);
+        }
+    }
+
+    private static JdmApiException statusError(HttpResponse<?> response) {
+        return new JdmApiException("Unexpected status code: " + response.statusCode(), response.statusCode(),
+                retryAfterOf(response.headers()));
+    }
+
+    // Retry-After en secondes ; la forme date HTTP est ignorée
+    private static Duration retryAfterOf(HttpHeaders headers) {
+        String value = headers.firstValue("Retry-After").orElse(null);
+        if (value == null) {
+            return null;
+        }
+        try {
+            long seconds = Long.parseLong(value.trim());
+            return seconds >= 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isGzip(HttpHeaders headers) {
+        return headers.firstValue("Content-Encoding").map(encoding -> encoding.equalsIgnoreCase("gzip")).orElse(false);
+    }
+
+    // Charset du Content-Type, UTF-8 par défaut (comme BodyHandlers.ofString)
+    private static Charset charsetOf(HttpHeaders headers) {
+        String contentType = headers.firstValue("Content-Type").orElse("");
+        int index = contentType.toLowerCase().indexOf("charset=");
+        if (index < 0) {
+            return StandardCharsets.UTF_8;
+        }
+        String name = contentType.substring(index + "charset=".length()).split(";", 2)[0].trim().replace("\"", "");
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // la réponse est déjà en erreur
+        }
     }
 
     protected JsonNode parseJson(String raw) {
@@ -96,7 +578,87 @@ public class JdmClient {
         }
     }
 
+    private String pathOf(JdmEndpoint endpoint, String term) {
+        String path = "/term/" + encode(term);
+        return endpoint == JdmEndpoint.TERM ? path : path + endpoint.path();
+    }
+
     private String encode(String value) {
         return value.replace(" ", "%20");
     }
+
+    /**
+     * Corps en flux qui rend sa place dans la limite de concurrence à sa fermeture (une seule fois) :
+     * la latence apprise par le limiteur inclut alors le transfert du corps. Un corps dont la lecture a
+     * échoué ne compte pas comme un succès.
+     */
+    private static final class ReleasingInputStream extends FilterInputStream {
+        private final Consumer<AdaptiveConcurrencyLimiter.Outcome> release;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean failed;
+
+        ReleasingInputStream(InputStream in, Consumer<AdaptiveConcurrencyLimiter.Outcome> release) {
+            super(in);
+            this.release = release;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            try {
+                return super.read(buffer, offset, length);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release.accept(failed ? AdaptiveConcurrencyLimiter.Outcome.IGNORE
+                            : AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+                }
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final LongAdder counter;
+
+        CountingInputStream(InputStream in, LongAdder counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.increment();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                counter.add(read);
+            }
+            return read;
+        }
+    }
 }
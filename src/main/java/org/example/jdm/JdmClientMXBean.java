@@ -0,0 +1,50 @@
+package org.example.jdm;
+
+/**
+ * JMX view of a {@link CachedJdmClient}, registered by {@link JdmClientManagement}.
+ */
+public interface JdmClientMXBean {
+
+    /**
+     * Number of keys currently being fetched from the JDM API.
+     */
+    int getInFlightCount();
+
+    long getLoadCount();
+
+    long getCoalescedCount();
+
+    long getRefreshCount();
+
+    long getRefreshFailureCount();
+
+    /**
+     * Lookups answered with a stale value because the JDM API could not be reached.
+     */
+    long getStaleServeCount();
+
+    /**
+     * CLOSED, OPEN or HALF_OPEN (CLOSED when no circuit breaker is set).
+     */
+    String getCircuitState();
+
+    long getCircuitRejectionCount();
+
+    boolean isTracingEnabled();
+
+    void setTracingEnabled(boolean enabled);
+
+    /**
+     * One lookup in TraceSampleRate is logged at DEBUG (0 = none).
+     */
+    int getTraceSampleRate();
+
+    void setTraceSampleRate(int sampleRate);
+
+    /**
+     * Lookups at least this slow are logged at WARN (0 = never).
+     */
+    long getSlowLookupThresholdMillis();
+
+    void setSlowLookupThresholdMillis(long thresholdMillis);
+}
@@ -0,0 +1,250 @@
+package org.example.jdm;
+
+import org.example.metrics.MetricsRegistry;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Publication d'un {@link CachedJdmClient} en MBeans de plateforme : un MBean pour le client
+ * ({@code org.example.jdm:type=JdmClient,name=...}) et un par endpoint
+ * ({@code org.example.jdm:type=JdmEndpoint,name=...,endpoint=r_syn}), ou dans un
+ * {@link MetricsRegistry}.
+ */
+public final class JdmClientManagement {
+
+    private static final String DOMAIN = "org.example.jdm";
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private JdmClientManagement() {
+    }
+
+    public static ObjectName clientObjectName(String name) {
+        return objectName("type=JdmClient,name=" + ObjectName.quote(name));
+    }
+
+    public static ObjectName endpointObjectName(String name, JdmEndpoint endpoint) {
+        return objectName("type=JdmEndpoint,name=" + ObjectName.quote(name)
+                + ",endpoint=" + endpoint.path().substring(1));
+    }
+
+    /**
+     * Enregistre le client et ses endpoints sur le MBeanServer de la plateforme.
+     *
+     * @return les noms enregistrés (client d'abord)
+     * @throws IllegalStateException si un client de ce nom est déjà enregistré
+     */
+    public static List<ObjectName> register(String name, CachedJdmClient client) {
+        return register(ManagementFactory.getPlatformMBeanServer(), name, client);
+    }
+
+    public static List<ObjectName> register(MBeanServer server, String name, CachedJdmClient client) {
+        Objects.requireNonNull(client, "client must not be null");
+        List<ObjectName> registered = new ArrayList<>();
+        try {
+            ObjectName clientName = clientObjectName(name);
+            server.registerMBean(new ClientView(client), clientName);
+            registered.add(clientName);
+            for (JdmEndpoint endpoint : JdmEndpoint.values()) {
+                ObjectName endpointName = endpointObjectName(name, endpoint);
+                server.registerMBean(new EndpointView(client, endpoint), endpointName);
+                registered.add(endpointName);
+            }
+        } catch (JMException e) {
+            // Tout ou rien : on ne laisse pas un client à moitié publié
+            registered.forEach(n -> unregisterQuietly(server, n));
+            throw e instanceof InstanceAlreadyExistsException
+                    ? new IllegalStateException("JDM client MBean already registered: " + name, e)
+                    : new IllegalStateException("Cannot register JDM client MBeans for " + name, e);
+        }
+        return registered;
+    }
+
+    /**
+     * Retire les MBeans du client de ce nom (sans effet s'ils ne sont pas enregistrés).
+     */
+    public static void unregister(String name) {
+        unregister(ManagementFactory.getPlatformMBeanServer(), name);
+    }
+
+    public static void unregister(MBeanServer server, String name) {
+        unregisterQuietly(server, clientObjectName(name));
+        for (JdmEndpoint endpoint : JdmEndpoint.values()) {
+            unregisterQuietly(server, endpointObjectName(name, endpoint));
+        }
+    }
+
+    /**
+     * Publie {@code jdm.inflight}, l'état du mode dégradé ({@code jdm.stale.serves},
+     * {@code jdm.circuit.open} à 1 si le circuit est ouvert, {@code jdm.circuit.rejections}) et les
+     * jauges {@code jdm.http.latency} (tags endpoint et percentile), avec le tag {@code client=name}.
+     */
+    public static void bindTo(MetricsRegistry registry, String name, CachedJdmClient client) {
+        registry.gauge("jdm.inflight", Map.of("client", name), client::getInFlightCount);
+        registry.gauge("jdm.loads", Map.of("client", name), client::getLoadCount);
+        registry.gauge("jdm.stale.serves", Map.of("client", name), client::getStaleServeCount);
+        registry.gauge("jdm.circuit.open", Map.of("client", name),
+                () -> client.getCircuitState() == CircuitBreaker.State.OPEN ? 1 : 0);
+        registry.gauge("jdm.circuit.rejections", Map.of("client", name), client::getCircuitRejectionCount);
+        for (JdmEndpoint endpoint : JdmEndpoint.values()) {
+            registry.gauge("jdm.http.requests", Map.of("client", name, "endpoint", endpoint.path()),
+                    () -> client.getLatency(endpoint).count());
+            for (double percentile : PERCENTILES) {
+                Map<String, String> tags = Map.of("client", name, "endpoint", endpoint.path(),
+                        "percentile", String.valueOf((int) percentile));
+                registry.gauge("jdm.http.latency", tags, () -> client.getLatency(endpoint).percentileNanos(percentile));
+            }
+        }
+    }
+
+    private static ObjectName objectName(String properties) {
+        try {
+            return new ObjectName(DOMAIN + ":" + properties);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid object name: " + properties, e);
+        }
+    }
+
+    private static void unregisterQuietly(MBeanServer server, ObjectName objectName) {
+        try {
+            server.unregisterMBean(objectName);
+        } catch (InstanceNotFoundException e) {
+            // déjà retiré
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister " + objectName, e);
+        }
+    }
+
+    private static final class ClientView implements JdmClientMXBean {
+        private final CachedJdmClient client;
+
+        ClientView(CachedJdmClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public int getInFlightCount() {
+            return client.getInFlightCount();
+        }
+
+        @Override
+        public long getLoadCount() {
+            return client.getLoadCount();
+        }
+
+        @Override
+        public long getCoalescedCount() {
+            return client.getCoalescedCount();
+        }
+
+        @Override
+        public long getRefreshCount() {
+            return client.getRefreshCount();
+        }
+
+        @Override
+        public long getRefreshFailureCount() {
+            return client.getRefreshFailureCount();
+        }
+
+        @Override
+        public long getStaleServeCount() {
+            return client.getStaleServeCount();
+        }
+
+        @Override
+        public String getCircuitState() {
+            return client.getCircuitState().name();
+        }
+
+        @Override
+        public long getCircuitRejectionCount() {
+            return client.getCircuitRejectionCount();
+        }
+
+        @Override
+        public boolean isTracingEnabled() {
+            return client.getTracer().isEnabled();
+        }
+
+        @Override
+        public void setTracingEnabled(boolean enabled) {
+            client.getTracer().setEnabled(enabled);
+        }
+
+        @Override
+        public int getTraceSampleRate() {
+            return client.getTracer().getSampleRate();
+        }
+
+        @Override
+        public void setTraceSampleRate(int sampleRate) {
+            client.getTracer().setSampleRate(sampleRate);
+        }
+
+        @Override
+        public long getSlowLookupThresholdMillis() {
+            return client.getTracer().getSlowThreshold().toMillis();
+        }
+
+        @Override
+        public void setSlowLookupThresholdMillis(long thresholdMillis) {
+            client.getTracer().setSlowThreshold(Duration.ofMillis(thresholdMillis));
+        }
+    }
+
+    private static final class EndpointView implements JdmEndpointMXBean {
+        private final CachedJdmClient client;
+        private final JdmEndpoint endpoint;
+
+        EndpointView(CachedJdmClient client, JdmEndpoint endpoint) {
+            this.client = client;
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public String getPath() {
+            return endpoint.path();
+        }
+
+        @Override
+        public long getRequestCount() {
+            return client.getLatency(endpoint).count();
+        }
+
+        @Override
+        public double getMeanNanos() {
+            return client.getLatency(endpoint).meanNanos();
+        }
+
+        @Override
+        public long getP50Nanos() {
+            return client.getLatency(endpoint).percentileNanos(50);
+        }
+
+        @Override
+        public long getP90Nanos() {
+            return client.getLatency(endpoint).percentileNanos(90);
+        }
+
+        @Override
+        public long getP99Nanos() {
+            return client.getLatency(endpoint).percentileNanos(99);
+        }
+
+        @Override
+        public long getMaxNanos() {
+            return client.getLatency(endpoint).maxNanos();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.jdm;
+
+/**
+ * Endpoints of the JeuxDeMots API, with the cache key prefix used for each.
+ */
+public enum JdmEndpoint {
+    TERM("/term", "term:"),
+    RELATIONS("/relations", "relations:"),
+    SYNONYMS("/r_syn", "syn:"),
+    ANTONYMS("/r_anto", "anto:"),
+    ASSOCIATIONS("/r_associated", "assoc:");
+
+    private final String path;
+    private final String keyPrefix;
+
+    JdmEndpoint(String path, String keyPrefix) {
+        this.path = path;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * Path suffix identifying the endpoint (e.g. {@code /r_syn}), used as metric tag.
+     */
+    public String path() {
+        return path;
+    }
+
+    public String cacheKey(String term) {
+        return keyPrefix + term;
+    }
+
+    /**
+     * Term of a cache key built by {@link #cacheKey(String)} for this endpoint.
+     */
+    public String term(String cacheKey) {
+        if (!cacheKey.startsWith(keyPrefix)) throw new IllegalArgumentException("not a " + name() + " key: " + cacheKey);
+        return cacheKey.substring(keyPrefix.length());
+    }
+
+    /**
+     * Endpoint whose prefix starts the cache key, or null if none matches.
+     */
+    public static JdmEndpoint ofCacheKey(String cacheKey) {
+        for (JdmEndpoint endpoint : values()) {
+            if (cacheKey.startsWith(endpoint.keyPrefix)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.jdm;
+
+/**
+ * JMX view of the latency of one JDM endpoint, in nanoseconds. Only actual calls to the
+ * API are measured, cache hits are not.
+ */
+public interface JdmEndpointMXBean {
+
+    String getPath();
+
+    long getRequestCount();
+
+    double getMeanNanos();
+
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    long getMaxNanos();
+}
@@ -0,0 +1,311 @@
+package org.example.jdm;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP transport settings of a {@link JdmClient}.
+ *
+ * <p>Defaults: HTTP/2 preferred (the JDK client falls back to HTTP/1.1 when the server does not
+ * negotiate it), connect timeout 5 s, request timeout 30 s, gzip negotiated, the JDK client's
+ * default executor, the public JDM API as base URL, no rate limit, an
+ * {@link AdaptiveConcurrencyLimiter} with its default settings, {@link RetryPolicy#defaults()},
+ * no hedging.
+ *
+ * <p>The limiters and the hedger are stateful: clients built from the same config share them,
+ * hence share the rate and the concurrency allowed by the API, and the hedging budget.
+ *
+ * <p>The JDK {@link HttpClient} keeps a pool of HTTP/1.1 connections and multiplexes requests
+ * over a single HTTP/2 connection per host: one client (hence one {@link JdmClient}) should be
+ * shared by the whole application.
+ */
+public final class JdmTransportConfig {
+
+    public static final String DEFAULT_BASE_URL = "https://jdm-api.demo.lirmm.fr";
+
+    private final HttpClient.Version version;
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final boolean gzip;
+    private final Executor executor;
+    private final URI baseUri;
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RetryPolicy retryPolicy;
+    private final RequestHedger hedger;
+
+    private JdmTransportConfig(Builder builder) {
+        this.version = builder.version;
+        this.connectTimeout = builder.connectTimeout;
+        this.requestTimeout = builder.requestTimeout;
+        this.gzip = builder.gzip;
+        this.executor = builder.executor;
+        this.baseUri = builder.baseUri;
+        this.rateLimiter = builder.rateLimiter;
+        this.concurrencyLimiter = !builder.adaptiveConcurrency ? null
+                : builder.concurrencyLimiter != null ? builder.concurrencyLimiter
+                : AdaptiveConcurrencyLimiter.builder().build();
+        this.retryPolicy = builder.retryPolicy;
+        this.hedger = builder.hedger;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static JdmTransportConfig defaults() {
+        return builder().build();
+    }
+
+    public HttpClient.Version version() {
+        return version;
+    }
+
+    public Duration connectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Timeout of each request, up to the response headers; null for none.
+     */
+    public Duration requestTimeout() {
+        return requestTimeout;
+    }
+
+    public boolean gzip() {
+        return gzip;
+    }
+
+    /**
+     * Executor of the HTTP client; null for the JDK default.
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    public URI baseUri() {
+        return baseUri;
+    }
+
+    /**
+     * Rate limit of the blocking calls; null for none.
+     */
+    public RateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Concurrency limit of the blocking calls; null for none.
+     */
+    public AdaptiveConcurrencyLimiter concurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    public RetryPolicy retryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Hedging of the blocking raw lookups; null for none.
+     */
+    public RequestHedger hedger() {
+        return hedger;
+    }
+
+    HttpClient newHttpClient() {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(version)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (connectTimeout != null) {
+            builder.connectTimeout(connectTimeout);
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Modèle copié pour chaque requête : en-têtes, version et timeout ne sont posés qu'une fois.
+     */
+    HttpRequest.Builder requestTemplate() {
+        HttpRequest.Builder template = HttpRequest.newBuilder()
+                .version(version)
+                .header("Accept", "application/json")
+                .GET();
+        if (gzip) {
+            template.header("Accept-Encoding", "gzip");
+        }
+        if (requestTimeout != null) {
+            template.timeout(requestTimeout);
+        }
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return "JdmTransportConfig{" +
+                "version=" + version +
+                ", connectTimeout=" + connectTimeout +
+                ", requestTimeout=" + requestTimeout +
+                ", gzip=" + gzip +
+                ", executor=" + (executor == null ? "default" : executor.getClass().getSimpleName()) +
+                ", baseUri=" + baseUri +
+                ", rateLimit=" + (rateLimiter == null ? "none" : rateLimiter.permitsPerSecond() + "/s") +
+                ", concurrencyLimiter=" + concurrencyLimiter +
+                ", retryPolicy=" + retryPolicy +
+                ", hedger=" + hedger +
+                '}';
+    }
+
+    public static final class Builder {
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(30);
+        private boolean gzip = true;
+        private Executor executor;
+        private URI baseUri = URI.create(DEFAULT_BASE_URL);
+        private RateLimiter rateLimiter;
+        private AdaptiveConcurrencyLimiter concurrencyLimiter;
+        private boolean adaptiveConcurrency = true;
+        private RetryPolicy retryPolicy = RetryPolicy.defaults();
+        private RequestHedger hedger;
+
+        private Builder() {
+        }
+
+        /**
+         * Preferred protocol version ({@link HttpClient.Version#HTTP_1_1} to never try HTTP/2).
+         */
+        public Builder version(HttpClient.Version version) {
+            this.version = Objects.requireNonNull(version);
+            return this;
+        }
+
+        /**
+         * Connection establishment timeout (null for none).
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = positive(connectTimeout, "connectTimeout");
+            return this;
+        }
+
+        /**
+         * Time allowed for each request until the response headers arrive (null for none).
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = positive(requestTimeout, "requestTimeout");
+            return this;
+        }
+
+        /**
+         * Sends {@code Accept-Encoding: gzip}; compressed responses are decompressed by the client.
+         */
+        public Builder gzip(boolean gzip) {
+            this.gzip = gzip;
+            return this;
+        }
+
+        /**
+         * Executor running the client's exchanges and async completions.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Bounded executor: a fixed pool of daemon threads. The pool lives as long as
+         * the client; use {@link #executor(Executor)} to control its shutdown.
+         */
+        public Builder executorThreads(int threads) {
+            if (threads <= 0) throw new IllegalArgumentException("threads must be > 0");
+            this.executor = fixedDaemonPool(threads);
+            return this;
+        }
+
+        /**
+         * Base URL of the API, without trailing slash (e.g. a local stub or a mirror).
+         */
+        public Builder baseUrl(String baseUrl) {
+            String url = Objects.requireNonNull(baseUrl, "baseUrl must not be null");
+            this.baseUri = URI.create(url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+            if (baseUri.getScheme() == null || baseUri.getHost() == null) {
+                throw new IllegalArgumentException("baseUrl must be an absolute http(s) URL: " + baseUrl);
+            }
+            return this;
+        }
+
+        /**
+         * Caps the rate of the blocking calls, e.g. at the quota of the API. Each attempt,
+         * retries included, takes a permit.
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = Objects.requireNonNull(rateLimiter);
+            return this;
+        }
+
+        /**
+         * Adaptive concurrency limit of the blocking calls (a default one is created otherwise).
+         */
+        public Builder concurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+            this.concurrencyLimiter = Objects.requireNonNull(concurrencyLimiter);
+            this.adaptiveConcurrency = true;
+            return this;
+        }
+
+        /**
+         * Lets the blocking calls go out without concurrency limit.
+         */
+        public Builder noConcurrencyLimit() {
+            this.concurrencyLimiter = null;
+            this.adaptiveConcurrency = false;
+            return this;
+        }
+
+        /**
+         * Retries of failed calls; {@link RetryPolicy#none()} to fail on the first error.
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = Objects.requireNonNull(retryPolicy);
+            return this;
+        }
+
+        /**
+         * Duplicates the blocking raw lookups that are slower than the recent latencies.
+         */
+        public Builder hedger(RequestHedger hedger) {
+            this.hedger = Objects.requireNonNull(hedger);
+            return this;
+        }
+
+        public JdmTransportConfig build() {
+            return new JdmTransportConfig(this);
+        }
+
+        private static Duration positive(Duration duration, String name) {
+            if (duration != null && (duration.isNegative() || duration.isZero())) {
+                throw new IllegalArgumentException(name + " must be > 0");
+            }
+            return duration;
+        }
+
+        private static ExecutorService fixedDaemonPool(int threads) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory factory = runnable -> {
+                Thread thread = new Thread(runnable, "jdm-http-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newFixedThreadPool(threads, factory);
+        }
+    }
+}
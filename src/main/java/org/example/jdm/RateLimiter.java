@@ -0,0 +1,90 @@
+package org.example.jdm;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token-bucket rate limiter: permits are refilled at a steady rate up to a burst size.
+ *
+ * <p>{@link #acquire()} reserves its permit under a short lock and then waits outside it: when
+ * the bucket is empty the balance goes negative, so waiting callers are served in order of
+ * arrival, each one {@code 1 / rate} after the previous, without busy-waiting.
+ */
+public final class RateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+
+    // Jetons disponibles ; négatif = permis déjà réservés par des appelants en attente
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param permitsPerSecond débit soutenu
+     * @param burst            nombre de permis utilisables d'un coup après une période calme
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) throw new IllegalArgumentException("permitsPerSecond must be > 0");
+        if (burst <= 0) throw new IllegalArgumentException("burst must be > 0");
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Limiter with a burst of one second worth of permits.
+     */
+    public static RateLimiter perSecond(double permitsPerSecond) {
+        return new RateLimiter(permitsPerSecond, (int) Math.max(1, Math.ceil(permitsPerSecond)));
+    }
+
+    public double permitsPerSecond() {
+        return permitsPerNano * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Blocks until a permit is available.
+     *
+     * @return the time spent waiting
+     * @throws InterruptedException if interrupted while waiting (the permit stays consumed)
+     */
+    public Duration acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        long deadline = System.nanoTime() + waitNanos;
+        for (long remaining = waitNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return Duration.ofNanos(waitNanos);
+    }
+
+    /**
+     * Takes a permit only if one is available now.
+     */
+    public synchronized boolean tryAcquire() {
+        refill(System.nanoTime());
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    private synchronized long reserve() {
+        refill(System.nanoTime());
+        tokens -= 1.0;
+        return tokens >= 0 ? 0L : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(burst, tokens + elapsed * permitsPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.jdm;
+
+import org.example.cache.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedged requests: when a call has not answered after the given percentile of the recent
+ * latencies, a duplicate is sent and the first response wins (the other exchange is cancelled).
+ * A few slow responses then cost about one percentile delay instead of their full latency.
+ *
+ * <p>The delay is recomputed every {@code window} calls from the latencies of those calls, and
+ * clamped to {@code [minDelay, maxDelay]}; until the first window is complete it is maxDelay.
+ * Extra load is capped by a budget: each call earns {@code maxExtraRatio} hedge, up to
+ * {@code burst}, and each hedge spends one. With the default 0.1, at most about 10% more
+ * requests reach the API, even when it is slow for everyone (which hedging cannot fix).
+ *
+ * <p>Stateful: clients sharing an instance share its latency window and budget.
+ */
+public final class RequestHedger {
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double maxExtraRatio;
+    private final double burst;
+    private final int window;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final AtomicInteger samples = new AtomicInteger();
+    private LatencyHistogram.Snapshot windowStart = LatencyHistogram.Snapshot.EMPTY;
+    private volatile long delayNanos;
+
+    // Budget de doublons : crédité à chaque appel, débité à chaque doublon
+    private double budget;
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder denied = new LongAdder();
+
+    private RequestHedger(Builder builder) {
+        this.percentile = builder.percentile;
+        this.minDelayNanos = builder.minDelay.toNanos();
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.maxExtraRatio = builder.maxExtraRatio;
+        this.burst = builder.burst;
+        this.window = builder.window;
+        this.delayNanos = maxDelayNanos;
+        this.budget = builder.burst;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Time to wait for the first response before sending a duplicate.
+     */
+    public long delayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Records the latency of one completed exchange. The client does not record exchanges
+     * cancelled because the other one won: their time at cancellation is only a lower bound and
+     * would pull the delay down. The distribution is thus that of completed exchanges.
+     */
+    public void record(long nanos) {
+        latencies.record(nanos);
+        if (samples.incrementAndGet() >= window) {
+            updateDelay();
+        }
+    }
+
+    private synchronized void updateDelay() {
+        if (samples.get() < window) {
+            return; // un autre thread vient de recalculer
+        }
+        samples.set(0);
+        LatencyHistogram.Snapshot now = latencies.snapshot();
+        long delay = now.minus(windowStart).percentileNanos(percentile);
+        windowStart = now;
+        delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, delay));
+    }
+
+    synchronized void onCall() {
+        budget = Math.min(burst, budget + maxExtraRatio);
+    }
+
+    /**
+     * Spends one hedge from the budget.
+     */
+    synchronized boolean tryHedge() {
+        if (budget < 1.0) {
+            denied.increment();
+            return false;
+        }
+        budget -= 1.0;
+        hedges.increment();
+        return true;
+    }
+
+    void onHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    /**
+     * Number of duplicates sent.
+     */
+    public long hedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * Number of calls answered by the duplicate rather than the first request.
+     */
+    public long hedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Number of duplicates not sent because the budget was exhausted.
+     */
+    public long deniedCount() {
+        return denied.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestHedger{p" + percentile + "=" + Duration.ofNanos(delayNanos).toMillis() + "ms"
+                + ", maxExtraRatio=" + maxExtraRatio + ", hedges=" + hedgeCount() + ", wins=" + hedgeWinCount() + '}';
+    }
+
+    public static final class Builder {
+        private double percentile = 95.0;
+        private Duration minDelay = Duration.ofMillis(5);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private double maxExtraRatio = 0.1;
+        private int burst = 10;
+        private int window = 200;
+
+        private Builder() {
+        }
+
+        /**
+         * Percentile of the recent latencies after which a duplicate is sent (95 by default).
+         */
+        public Builder percentile(double percentile) {
+            if (!(percentile > 0 && percentile < 100)) {
+                throw new IllegalArgumentException("percentile must be in (0, 100)");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        public Builder minDelay(Duration minDelay) {
+            if (minDelay == null || minDelay.isNegative()) throw new IllegalArgumentException("minDelay must be >= 0");
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        /**
+         * Upper bound of the delay, also used until enough latencies are known.
+         */
+        public Builder maxDelay(Duration maxDelay) {
+            if (maxDelay == null || maxDelay.isNegative() || maxDelay.isZero()) {
+                throw new IllegalArgumentException("maxDelay must be > 0");
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Maximum share of extra requests, e.g. 0.1 for 10%.
+         */
+        public Builder maxExtraRatio(double maxExtraRatio) {
+            if (!(maxExtraRatio > 0 && maxExtraRatio <= 1)) {
+                throw new IllegalArgumentException("maxExtraRatio must be in (0, 1]");
+            }
+            this.maxExtraRatio = maxExtraRatio;
+            return this;
+        }
+
+        /**
+         * Hedges that can be sent in a row after a calm period.
+         */
+        public Builder burst(int burst) {
+            if (burst <= 0) throw new IllegalArgumentException("burst must be > 0");
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Number of calls over which the percentile is computed.
+         */
+        public Builder window(int window) {
+            if (window <= 0) throw new IllegalArgumentException("window must be > 0");
+            this.window = window;
+            return this;
+        }
+
+        public RequestHedger build() {
+            if (minDelay.compareTo(maxDelay) > 0) throw new IllegalArgumentException("minDelay must be <= maxDelay");
+            return new RequestHedger(this);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.jdm;
+
+import org.example.cache.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Traçage du chemin chaud de {@link CachedJdmClient}.
+ *
+ * <p>Chaque appel est enregistré dans un histogramme par endpoint et par issue (hit / miss),
+ * sans allocation ni verrou. Seuls sont journalisés un échantillon des appels (1 sur
+ * {@link #setSampleRate(int) sampleRate}, 0 = aucun, au niveau DEBUG) et les appels plus lents
+ * que {@link #setSlowThreshold(Duration) slowThreshold} (au niveau WARN). Le traçage se désactive
+ * entièrement à chaud ({@link #setEnabled(boolean)}) : plus aucune mesure de temps n'est faite.
+ */
+public final class RequestTracer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestTracer.class);
+
+    private static final Duration DEFAULT_SLOW_THRESHOLD = Duration.ofSeconds(1);
+
+    private final LatencyHistogram[] hitLatency = newHistograms();
+    private final LatencyHistogram[] missLatency = newHistograms();
+
+    private volatile boolean enabled = true;
+    private volatile int sampleRate;
+    private volatile long slowThresholdNanos = DEFAULT_SLOW_THRESHOLD.toNanos();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Journalise en moyenne un appel sur sampleRate (0 = aucun).
+     */
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate < 0) throw new IllegalArgumentException("sampleRate must be >= 0");
+        this.sampleRate = sampleRate;
+    }
+
+    public Duration getSlowThreshold() {
+        long threshold = slowThresholdNanos;
+        return threshold == Long.MAX_VALUE ? Duration.ZERO : Duration.ofNanos(threshold);
+    }
+
+    /**
+     * Les appels au moins aussi longs sont toujours journalisés (null ou 0 = jamais).
+     */
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThresholdNanos = slowThreshold == null || slowThreshold.isZero()
+                ? Long.MAX_VALUE : slowThreshold.toNanos();
+    }
+
+    /**
+     * Latence des lectures servies par le cache pour l'endpoint.
+     */
+    public LatencyHistogram.Snapshot hitLatency(JdmEndpoint endpoint) {
+        return hitLatency[endpoint.ordinal()].snapshot();
+    }
+
+    /**
+     * Latence des lectures non servies par le cache (attente réseau ou d'un autre appelant comprise).
+     */
+    public LatencyHistogram.Snapshot missLatency(JdmEndpoint endpoint) {
+        return missLatency[endpoint.ordinal()].snapshot();
+    }
+
+    void recordHit(JdmEndpoint endpoint, String key, long nanos) {
+        hitLatency[endpoint.ordinal()].record(nanos);
+        if (nanos >= slowThresholdNanos) {
+            LOGGER.warn("Slow cache HIT for key={}, duration={}µs", key, nanos / 1_000);
+        } else if (sampled()) {
+            LOGGER.debug("Cache HIT for key={}, duration={}µs", key, nanos / 1_000);
+        }
+    }
+
+    void recordMiss(JdmEndpoint endpoint, String key, long nanos) {
+        missLatency[endpoint.ordinal()].record(nanos);
+        if (nanos >= slowThresholdNanos) {
+            LOGGER.warn("Slow cache MISS for key={}, duration={}µs (including network)", key, nanos / 1_000);
+        } else if (sampled()) {
+            LOGGER.debug("Cache MISS for key={}, duration={}µs (including network)", key, nanos / 1_000);
+        }
+    }
+
+    private boolean sampled() {
+        int rate = sampleRate;
+        return rate > 0 && ThreadLocalRandom.current().nextInt(rate) == 0;
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        LatencyHistogram[] histograms = new LatencyHistogram[JdmEndpoint.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+}
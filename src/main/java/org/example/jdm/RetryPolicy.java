@@ -0,0 +1,92 @@
+package org.example.jdm;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries of failed JDM calls with exponential backoff and full jitter.
+ *
+ * <p>The delay before retry {@code n} (0-based) is drawn uniformly in
+ * {@code [0, min(maxDelay, baseDelay × 2^n)]}: retries of clients that failed together are
+ * spread out instead of hitting the API again in lockstep. A {@code Retry-After} sent by the
+ * server is a lower bound (capped by maxDelay).
+ *
+ * <p>Retried: network errors and timeouts, 429 and 5xx responses. Other 4xx are not retried.
+ */
+public final class RetryPolicy {
+
+    private static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    private RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    /**
+     * @param maxAttempts nombre total de tentatives, la première comprise (1 = pas de retry)
+     */
+    public static RetryPolicy of(int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        if (maxAttempts <= 0) throw new IllegalArgumentException("maxAttempts must be > 0");
+        if (baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("expected 0 <= baseDelay <= maxDelay");
+        }
+        return new RetryPolicy(maxAttempts, baseDelay, maxDelay);
+    }
+
+    /**
+     * 3 attempts, backoff from 200 ms up to 10 s.
+     */
+    public static RetryPolicy defaults() {
+        return of(3, Duration.ofMillis(200), Duration.ofSeconds(10));
+    }
+
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Delay before the retry number retry (0 for the first retry).
+     */
+    public long backoffNanos(int retry, Duration retryAfter) {
+        long ceiling = baseDelayNanos << Math.min(retry, 30);
+        if (ceiling < 0 || ceiling > maxDelayNanos) {
+            ceiling = maxDelayNanos;
+        }
+        long delay = ceiling == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (retryAfter != null) {
+            delay = Math.max(delay, Math.min(retryAfter.toNanos(), maxDelayNanos));
+        }
+        return delay;
+    }
+
+    public static boolean isRetryable(JdmApiException e) {
+        int status = e.statusCode();
+        if (status < 0) {
+            return e.getCause() instanceof IOException;
+        }
+        return status == 429 || status >= 500;
+    }
+
+    /**
+     * Failures that mean the API is saturated: 429, 5xx, timeouts and other network errors.
+     */
+    public static boolean isOverload(JdmApiException e) {
+        return isRetryable(e);
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxAttempts=" + maxAttempts + ", baseDelay=" + Duration.ofNanos(baseDelayNanos)
+                + ", maxDelay=" + Duration.ofNanos(maxDelayNanos) + '}';
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.jdm;
+
+import java.time.Duration;
+
+/**
+ * Outcome of {@link CachedJdmClient#warmUp}.
+ *
+ * @param keys          clés lues dans le fichier
+ * @param loaded        clés chargées depuis l'API JDM
+ * @param alreadyCached clés déjà présentes (servies entre-temps par le trafic, par exemple)
+ * @param failed        chargements en échec
+ * @param skipped       clés ignorées (préfixe inconnu)
+ * @param duration      durée totale du préchauffage
+ * @param hitRate       taux de hit du trafic servi pendant le préchauffage
+ */
+public record WarmUpReport(int keys, int loaded, int alreadyCached, int failed, int skipped,
+                           Duration duration, double hitRate) {
+
+    /**
+     * Fraction of the listed keys present in the cache at the end of the warm-up.
+     */
+    public double coverage() {
+        return keys == 0 ? 0.0 : (double) (loaded + alreadyCached) / keys;
+    }
+}
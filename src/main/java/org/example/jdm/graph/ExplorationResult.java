@@ -0,0 +1,19 @@
+package org.example.jdm.graph;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of {@link GraphExplorer#explore(String)}.
+ *
+ * @param seed     terme de départ
+ * @param terms    termes trouvés, par profondeur croissante puis poids décroissant
+ * @param expanded nœuds dont les relations ont été lues (depuis le cache ou l'API)
+ * @param failed   nœuds dont les relations n'ont pas pu être lues (ignorés)
+ * @param depth    profondeur atteinte
+ * @param stoppedEarly true si la limite de résultats a arrêté l'exploration avant maxDepth
+ * @param duration durée de l'exploration
+ */
+public record ExplorationResult(String seed, List<RelatedTerm> terms, int expanded, int failed, int depth,
+                                boolean stoppedEarly, Duration duration) {
+}
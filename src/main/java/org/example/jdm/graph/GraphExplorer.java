@@ -0,0 +1,254 @@
+package org.example.jdm.graph;
+
+import org.example.jdm.CachedJdmClient;
+import org.example.jdm.JdmApiException;
+import org.example.jdm.JdmEndpoint;
+import org.example.jdm.relation.RelationFilter;
+import org.example.jdm.relation.TermRelations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Breadth-first exploration of the JDM graph ("related terms within 3 hops") on top of
+ * {@link CachedJdmClient}.
+ *
+ * <p>Each BFS level is expanded in parallel on virtual threads; a semaphore shared by all
+ * explorations of this explorer bounds the number of concurrent lookups, hence of calls to the
+ * API. Every node goes through {@link CachedJdmClient#getParsedRelations}: already-known terms
+ * are served from the parsed cache, concurrent explorations share in-flight calls.
+ *
+ * <p>Pruning:
+ * <ul>
+ *   <li>each term is expanded at most once per exploration (visited set);</li>
+ *   <li>only relations accepted by the filter and weighing at least {@code minWeight} are followed,
+ *       and only the {@code fanout} heaviest of each node;</li>
+ *   <li>once {@code limit} terms are found the exploration stops after the current level, which
+ *       keeps its heaviest terms.</li>
+ * </ul>
+ * A node whose relations cannot be read is counted as failed and skipped.
+ */
+public final class GraphExplorer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GraphExplorer.class);
+
+    private final CachedJdmClient client;
+    private final JdmEndpoint endpoint;
+    private final RelationFilter filter;
+    private final int maxDepth;
+    private final float minWeight;
+    private final int fanout;
+    private final int limit;
+    private final Semaphore permits;
+
+    private GraphExplorer(Builder builder) {
+        this.client = builder.client;
+        this.endpoint = builder.endpoint;
+        this.filter = builder.filter;
+        this.maxDepth = builder.maxDepth;
+        this.minWeight = builder.minWeight;
+        this.fanout = builder.fanout;
+        this.limit = builder.limit;
+        this.permits = new Semaphore(builder.parallelism);
+    }
+
+    public static Builder builder(CachedJdmClient client) {
+        return new Builder(client);
+    }
+
+    /**
+     * Explores the graph from seed.
+     *
+     * @throws JdmApiException if the relations of seed itself cannot be read
+     */
+    public ExplorationResult explore(String seed) {
+        Objects.requireNonNull(seed, "seed must not be null");
+        long start = System.nanoTime();
+        Set<String> visited = new HashSet<>();
+        visited.add(seed);
+        List<RelatedTerm> found = new ArrayList<>();
+        List<String> frontier = List.of(seed);
+        int expanded = 0;
+        int failed = 0;
+        int depth = 0;
+        boolean stoppedEarly = false;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (!frontier.isEmpty() && depth < maxDepth) {
+                List<Future<List<RelatedTerm>>> expansions = new ArrayList<>(frontier.size());
+                int nextDepth = depth + 1;
+                for (String term : frontier) {
+                    expansions.add(executor.submit(() -> expand(term, nextDepth)));
+                }
+                // Fusion sur le thread appelant, dans l'ordre de la frontière : résultat déterministe
+                List<RelatedTerm> level = new ArrayList<>();
+                for (int i = 0; i < expansions.size(); i++) {
+                    try {
+                        for (RelatedTerm candidate : expansions.get(i).get()) {
+                            if (visited.add(candidate.term())) {
+                                level.add(candidate);
+                            }
+                        }
+                        expanded++;
+                    } catch (ExecutionException e) {
+                        if (depth == 0) {
+                            throw e.getCause() instanceof JdmApiException jdm ? jdm
+                                    : new JdmApiException("Error exploring from " + seed, e.getCause());
+                        }
+                        failed++;
+                        LOGGER.debug("Exploration: cannot expand {}", frontier.get(i), e.getCause());
+                    }
+                }
+                depth = nextDepth;
+                level.sort(Comparator.comparingDouble(RelatedTerm::weight).reversed());
+                int room = limit - found.size();
+                if (level.size() >= room) {
+                    found.addAll(level.subList(0, room));
+                    stoppedEarly = depth < maxDepth;
+                    break;
+                }
+                found.addAll(level);
+                List<String> next = new ArrayList<>(level.size());
+                for (RelatedTerm term : level) {
+                    next.add(term.term());
+                }
+                frontier = next;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JdmApiException("Interrupted while exploring from " + seed, e);
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        LOGGER.debug("Exploration from {}: found={}, expanded={}, failed={}, depth={}, duration={}ms",
+                seed, found.size(), expanded, failed, depth, duration.toMillis());
+        return new ExplorationResult(seed, List.copyOf(found), expanded, failed, depth, stoppedEarly, duration);
+    }
+
+    // Les fanout relations sortantes les plus lourdes de term qui passent le filtre
+    private List<RelatedTerm> expand(String term, int depth) throws InterruptedException {
+        TermRelations relations;
+        permits.acquire();
+        try {
+            relations = client.getParsedRelations(endpoint, term);
+        } finally {
+            permits.release();
+        }
+        long[] selected = new long[relations.size()];
+        int count = 0;
+        for (int i = 0; i < relations.size(); i++) {
+            float weight = relations.weight(i);
+            if (weight < minWeight || !filter.accept(relations.type(i), weight)) {
+                continue;
+            }
+            String source = relations.source(i);
+            if (source != null && !source.equals(term)) {
+                continue; // relation entrante
+            }
+            // Poids décroissant puis ordre de la réponse : clé de poids inversée en haut, index en bas
+            selected[count++] = ((long) ~sortableBits(weight) << 32) | i;
+        }
+        Arrays.sort(selected, 0, count);
+        List<RelatedTerm> children = new ArrayList<>(Math.min(count, fanout));
+        for (int j = 0; j < count && children.size() < fanout; j++) {
+            int i = (int) selected[j];
+            String target = relations.target(i);
+            if (target != null && !target.equals(term)) {
+                children.add(new RelatedTerm(target, depth, relations.weight(i), term));
+            }
+        }
+        return children;
+    }
+
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7FFF_FFFF);
+    }
+
+    public static final class Builder {
+        private final CachedJdmClient client;
+        private JdmEndpoint endpoint = JdmEndpoint.ASSOCIATIONS;
+        private RelationFilter filter = RelationFilter.ALL;
+        private int maxDepth = 3;
+        private float minWeight = 0f;
+        private int fanout = 20;
+        private int limit = 100;
+        private int parallelism = 8;
+
+        private Builder(CachedJdmClient client) {
+            this.client = Objects.requireNonNull(client);
+        }
+
+        /**
+         * Endpoint whose relations are followed ({@link JdmEndpoint#ASSOCIATIONS} by default).
+         */
+        public Builder endpoint(JdmEndpoint endpoint) {
+            this.endpoint = Objects.requireNonNull(endpoint);
+            return this;
+        }
+
+        public Builder filter(RelationFilter filter) {
+            this.filter = Objects.requireNonNull(filter);
+            return this;
+        }
+
+        public Builder maxDepth(int maxDepth) {
+            if (maxDepth <= 0) throw new IllegalArgumentException("maxDepth must be > 0");
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Relations lighter than minWeight are not followed (0 by default: refuted relations,
+         * with a negative weight, are ignored).
+         */
+        public Builder minWeight(float minWeight) {
+            this.minWeight = minWeight;
+            return this;
+        }
+
+        /**
+         * Maximum number of relations followed from each node, heaviest first.
+         */
+        public Builder fanout(int fanout) {
+            if (fanout <= 0) throw new IllegalArgumentException("fanout must be > 0");
+            this.fanout = fanout;
+            return this;
+        }
+
+        /**
+         * Number of terms after which the exploration stops.
+         */
+        public Builder limit(int limit) {
+            if (limit <= 0) throw new IllegalArgumentException("limit must be > 0");
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Maximum number of concurrent lookups, shared by all explorations of the explorer.
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be > 0");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public GraphExplorer build() {
+            return new GraphExplorer(this);
+        }
+    }
+}
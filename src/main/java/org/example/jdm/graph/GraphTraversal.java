@@ -0,0 +1,100 @@
+package org.example.jdm.graph;
+
+import java.util.Arrays;
+
+/**
+ * Reusable breadth-first traversal over a {@link RelationGraph}.
+ *
+ * <p>Les tampons (file, profondeurs, marques de visite) sont alloués une fois à la taille du
+ * graphe ; les marques portent un numéro de parcours, si bien qu'un nouveau parcours n'a rien à
+ * effacer. Un parcours n'alloue donc rien. Non thread-safe : une instance par thread.
+ */
+public final class GraphTraversal {
+
+    private final RelationGraph graph;
+    private final int[] visited;
+    private final int[] queue;
+    private final int[] depths;
+    private int epoch;
+    private int count;
+
+    GraphTraversal(RelationGraph graph) {
+        this.graph = graph;
+        int nodes = graph.nodeCount();
+        this.visited = new int[nodes];
+        this.queue = new int[nodes];
+        this.depths = new int[nodes];
+    }
+
+    /**
+     * Nodes reachable from source in 1..hops steps along edges of type whose weight is at
+     * least minWeight, in breadth-first order (source excluded).
+     *
+     * @return the number of nodes found, read with {@link #node(int)} and {@link #depth(int)}
+     */
+    public int kHop(int source, int type, int hops, float minWeight) {
+        if (hops < 0) throw new IllegalArgumentException("hops must be >= 0");
+        count = 0;
+        if (source < 0 || source >= visited.length) {
+            return 0;
+        }
+        int mark = nextEpoch();
+        RelationGraph.Adjacency adjacency = graph.adjacency(type);
+        visited[source] = mark;
+        // La source occupe la case 0 de la file ; les résultats commencent à 1
+        queue[0] = source;
+        depths[0] = 0;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int node = queue[head];
+            int depth = depths[head++];
+            if (depth == hops) {
+                continue;
+            }
+            for (int edge = adjacency.start(node), end = adjacency.end(node); edge < end; edge++) {
+                if (adjacency.weight(edge) < minWeight) {
+                    break; // arêtes triées par poids décroissant
+                }
+                int next = adjacency.target(edge);
+                if (visited[next] != mark) {
+                    visited[next] = mark;
+                    queue[tail] = next;
+                    depths[tail++] = depth + 1;
+                }
+            }
+        }
+        count = tail - 1;
+        return count;
+    }
+
+    /**
+     * i-th node found by the last traversal (0 ≤ i < count).
+     */
+    public int node(int i) {
+        checkIndex(i);
+        return queue[i + 1];
+    }
+
+    public int depth(int i) {
+        checkIndex(i);
+        return depths[i + 1];
+    }
+
+    public int count() {
+        return count;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= count) throw new IndexOutOfBoundsException("index " + i + " out of " + count);
+    }
+
+    private int nextEpoch() {
+        if (++epoch == 0) {
+            // Débordement après 2^32 parcours : on repart de marques propres
+            Arrays.fill(visited, 0);
+            epoch = 1;
+        }
+        return epoch;
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.jdm.graph;
+
+/**
+ * Term reached by a {@link GraphExplorer}.
+ *
+ * @param term   terme atteint
+ * @param depth  nombre de sauts depuis le terme de départ (1 = voisin direct)
+ * @param weight poids de la relation par laquelle il a été atteint
+ * @param parent terme d'où part cette relation
+ */
+public record RelatedTerm(String term, int depth, float weight, String parent) {
+}
@@ -0,0 +1,292 @@
+package org.example.jdm.graph;
+
+import org.example.jdm.relation.TermRelations;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable in-memory JDM graph: terms interned to int ids ({@link TermDictionary}) and, for
+ * each relation type, the outgoing edges in CSR form ({@link Adjacency}).
+ *
+ * <p>The edges of a node are contiguous and sorted by decreasing weight, so the top-k
+ * associations are the first k of the slice. Every query works on primitive arrays and writes
+ * into caller-provided buffers or a reusable {@link GraphTraversal}: nothing is boxed or
+ * allocated per edge. Instances are safe to share between threads.
+ *
+ * <p>Built by a {@link Builder} fed with the {@link TermRelations} returned by the JDM client.
+ */
+public final class RelationGraph {
+
+    private final TermDictionary terms;
+    private final int[] types;           // triés
+    private final Adjacency[] adjacencies; // alignées sur types
+    private final int edgeCount;
+
+    private RelationGraph(TermDictionary terms, int[] types, Adjacency[] adjacencies) {
+        this.terms = terms;
+        this.types = types;
+        this.adjacencies = adjacencies;
+        int edges = 0;
+        for (Adjacency adjacency : adjacencies) {
+            edges += adjacency.edgeCount();
+        }
+        this.edgeCount = edges;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public TermDictionary terms() {
+        return terms;
+    }
+
+    public int nodeCount() {
+        return terms.size();
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Relation types present in the graph, in increasing order.
+     */
+    public int[] types() {
+        return types.clone();
+    }
+
+    /**
+     * Edges of the relation type; an empty adjacency if the graph has none.
+     */
+    public Adjacency adjacency(int type) {
+        int index = Arrays.binarySearch(types, type);
+        return index >= 0 ? adjacencies[index] : Adjacency.EMPTY;
+    }
+
+    public int degree(int node, int type) {
+        return adjacency(type).degree(node);
+    }
+
+    /**
+     * Writes the ids of the k heaviest neighbours of node into out (heaviest first).
+     *
+     * @return the number of ids written: min(k, degree, out.length)
+     */
+    public int topK(int node, int type, int k, int[] out) {
+        Adjacency adjacency = adjacency(type);
+        int start = adjacency.start(node);
+        int count = Math.min(Math.min(k, out.length), adjacency.end(node) - start);
+        System.arraycopy(adjacency.targets, start, out, 0, Math.max(0, count));
+        return Math.max(0, count);
+    }
+
+    /**
+     * New traversal with buffers sized for this graph; reuse it across queries.
+     */
+    public GraphTraversal traversal() {
+        return new GraphTraversal(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RelationGraph{nodes=" + nodeCount() + ", edges=" + edgeCount + ", types=" + types.length + '}';
+    }
+
+    /**
+     * Outgoing edges of one relation type in CSR form: the edges of node {@code n} are the
+     * indices {@code start(n) .. end(n) - 1} of {@link #target(int)} / {@link #weight(int)},
+     * by decreasing weight.
+     */
+    public static final class Adjacency {
+
+        static final Adjacency EMPTY = new Adjacency(new int[1], new int[0], new float[0]);
+
+        private final int[] offsets;  // nodeCount + 1 entrées
+        private final int[] targets;
+        private final float[] weights;
+
+        Adjacency(int[] offsets, int[] targets, float[] weights) {
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        /**
+         * First edge index of node (nodes without edges, or unknown to this type, have none).
+         */
+        public int start(int node) {
+            return node >= 0 && node < offsets.length - 1 ? offsets[node] : 0;
+        }
+
+        public int end(int node) {
+            return node >= 0 && node < offsets.length - 1 ? offsets[node + 1] : 0;
+        }
+
+        public int degree(int node) {
+            return end(node) - start(node);
+        }
+
+        public int target(int edge) {
+            return targets[edge];
+        }
+
+        public float weight(int edge) {
+            return weights[edge];
+        }
+
+        public int edgeCount() {
+            return targets.length;
+        }
+    }
+
+    /**
+     * Accumulates edges from JDM responses, then builds immutable graphs.
+     *
+     * <p>An edge added twice (same source, type and target) keeps the weight added last, so
+     * feeding a refreshed response updates the weights; edges missing from the new response are
+     * kept. The builder can go on after {@link #build()}: each build is an independent snapshot.
+     * Not thread-safe.
+     */
+    public static final class Builder {
+
+        private final TermDictionary terms = new TermDictionary();
+        private final Map<Integer, EdgeList> edgesByType = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds every relation whose source and target are named in the response.
+         *
+         * @return the number of edges added
+         */
+        public int add(TermRelations relations) {
+            int added = 0;
+            for (int i = 0; i < relations.size(); i++) {
+                String source = relations.source(i);
+                String target = relations.target(i);
+                if (source != null && target != null) {
+                    add(source, relations.type(i), target, relations.weight(i));
+                    added++;
+                }
+            }
+            return added;
+        }
+
+        public Builder add(String source, int type, String target, float weight) {
+            int from = terms.intern(source);
+            int to = terms.intern(target);
+            edgesByType.computeIfAbsent(type, t -> new EdgeList()).add(from, to, weight);
+            return this;
+        }
+
+        /**
+         * Id of the term in the graphs built from now on (interning it if needed).
+         */
+        public int intern(String term) {
+            return terms.intern(term);
+        }
+
+        public RelationGraph build() {
+            int nodeCount = terms.size();
+            int[] types = new int[edgesByType.size()];
+            int index = 0;
+            for (int type : edgesByType.keySet()) {
+                types[index++] = type;
+            }
+            Arrays.sort(types);
+            Adjacency[] adjacencies = new Adjacency[types.length];
+            for (int i = 0; i < types.length; i++) {
+                adjacencies[i] = edgesByType.get(types[i]).toAdjacency(nodeCount);
+            }
+            return new RelationGraph(terms.copy(), types, adjacencies);
+        }
+    }
+
+    private static final class EdgeList {
+        int size;
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        float[] weights = new float[16];
+
+        void add(int source, int target, float weight) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            weights[size] = weight;
+            size++;
+        }
+
+        Adjacency toAdjacency(int nodeCount) {
+            // Tri par comptage sur la source (stable : l'ordre d'ajout est conservé par nœud)
+            int[] offsets = new int[nodeCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int n = 0; n < nodeCount; n++) {
+                offsets[n + 1] += offsets[n];
+            }
+            int[] cursor = Arrays.copyOf(offsets, nodeCount);
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[cursor[sources[i]]++] = i;
+            }
+
+            int[] outTargets = new int[size];
+            float[] outWeights = new float[size];
+            int[] outOffsets = new int[nodeCount + 1];
+            long[] scratch = new long[0];
+            int written = 0;
+            for (int n = 0; n < nodeCount; n++) {
+                int start = offsets[n];
+                int degree = offsets[n + 1] - start;
+                outOffsets[n] = written;
+                if (degree == 0) {
+                    continue;
+                }
+                if (scratch.length < degree) {
+                    scratch = new long[Math.max(degree, scratch.length * 2)];
+                }
+                // Doublons : tri par (cible, ordre d'ajout), on garde le dernier ajout de chaque cible
+                for (int j = 0; j < degree; j++) {
+                    scratch[j] = ((long) targets[order[start + j]] << 32) | j;
+                }
+                Arrays.sort(scratch, 0, degree);
+                int unique = 0;
+                for (int j = 0; j < degree; j++) {
+                    if (j + 1 < degree && (scratch[j] >>> 32) == (scratch[j + 1] >>> 32)) {
+                        continue;
+                    }
+                    scratch[unique++] = scratch[j] & 0xFFFF_FFFFL;
+                }
+                // Puis par poids décroissant : clé triable du poids inversée, position en bas
+                for (int j = 0; j < unique; j++) {
+                    int edge = order[start + (int) scratch[j]];
+                    scratch[j] = ((long) ~sortableBits(weights[edge]) << 32) | (start + (int) scratch[j]);
+                }
+                Arrays.sort(scratch, 0, unique);
+                for (int j = 0; j < unique; j++) {
+                    int edge = order[(int) scratch[j]];
+                    outTargets[written] = targets[edge];
+                    outWeights[written] = weights[edge];
+                    written++;
+                }
+            }
+            outOffsets[nodeCount] = written;
+            return new Adjacency(outOffsets, Arrays.copyOf(outTargets, written), Arrays.copyOf(outWeights, written));
+        }
+
+        // Bits d'un float ordonnés comme les valeurs (entiers signés)
+        private static int sortableBits(float value) {
+            int bits = Float.floatToIntBits(value);
+            return bits ^ ((bits >> 31) & 0x7FFF_FFFF);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.jdm.graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Interns term strings to dense int ids (0, 1, 2…) so the graph can work on primitive arrays.
+ *
+ * <p>Table à adressage ouvert (sondage linéaire) de tableaux primitifs : aucune entrée ni
+ * Integer n'est allouée par terme. Les ids ne changent jamais. Non thread-safe : rempli par
+ * un seul thread ({@link RelationGraph.Builder}), puis figé par {@link #copy()}.
+ */
+public final class TermDictionary {
+
+    private static final int EMPTY = -1;
+
+    private String[] names;
+    private int[] hashes;   // hash de chaque id, évite de recalculer au redimensionnement
+    private int[] slots;    // id ou EMPTY ; taille puissance de deux, remplie à 50 % au plus
+    private int size;
+
+    public TermDictionary() {
+        this(64);
+    }
+
+    public TermDictionary(int expectedTerms) {
+        if (expectedTerms < 0) throw new IllegalArgumentException("expectedTerms must be >= 0");
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, expectedTerms) * 2 - 1) << 1);
+        this.names = new String[Math.max(16, expectedTerms)];
+        this.hashes = new int[names.length];
+        this.slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    /**
+     * Id of the term, assigning the next free id if it is new.
+     */
+    public int intern(String term) {
+        Objects.requireNonNull(term, "term must not be null");
+        int hash = spread(term.hashCode());
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot];
+            if (id == EMPTY) {
+                return add(term, hash, slot);
+            }
+            if (hashes[id] == hash && names[id].equals(term)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Id of the term, or -1 if it was never interned.
+     */
+    public int id(String term) {
+        int hash = spread(term.hashCode());
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int id = slots[slot];
+            if (id == EMPTY) {
+                return -1;
+            }
+            if (hashes[id] == hash && names[id].equals(term)) {
+                return id;
+            }
+        }
+    }
+
+    public String name(int id) {
+        Objects.checkIndex(id, size);
+        return names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Independent copy (the graph keeps one while the builder goes on interning).
+     */
+    public TermDictionary copy() {
+        TermDictionary copy = new TermDictionary(0);
+        copy.names = Arrays.copyOf(names, size);
+        copy.hashes = Arrays.copyOf(hashes, size);
+        copy.slots = slots.clone();
+        copy.size = size;
+        return copy;
+    }
+
+    private int add(String term, int hash, int slot) {
+        int id = size;
+        if (id == names.length) {
+            int capacity = Math.max(16, id * 2);
+            names = Arrays.copyOf(names, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+        }
+        names[id] = term;
+        hashes[id] = hash;
+        slots[slot] = id;
+        size++;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return id;
+    }
+
+    private void rehash(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id;
+        }
+        slots = table;
+    }
+
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.jdm.relation;
+
+/**
+ * One JeuxDeMots relation: {@code term --type--> target} with its weight.
+ *
+ * @param term   nom du nœud source
+ * @param type   identifiant du type de relation (0 = r_associated, 5 = r_syn, 7 = r_anto…)
+ * @param target nom du nœud cible
+ * @param weight poids de la relation (négatif = relation réfutée)
+ */
+public record Relation(String term, int type, String target, float weight) {
+}
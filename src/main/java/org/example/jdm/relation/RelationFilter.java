@@ -0,0 +1,37 @@
+package org.example.jdm.relation;
+
+import java.util.BitSet;
+
+/**
+ * Selects relations while they are parsed, before anything is stored.
+ */
+@FunctionalInterface
+public interface RelationFilter {
+
+    RelationFilter ALL = (type, weight) -> true;
+
+    boolean accept(int type, float weight);
+
+    default RelationFilter and(RelationFilter other) {
+        return (type, weight) -> accept(type, weight) && other.accept(type, weight);
+    }
+
+    /**
+     * Relations of one of the given types.
+     */
+    static RelationFilter types(int... types) {
+        BitSet accepted = new BitSet();
+        for (int type : types) {
+            if (type < 0) throw new IllegalArgumentException("relation types are >= 0");
+            accepted.set(type);
+        }
+        return (type, weight) -> type >= 0 && accepted.get(type);
+    }
+
+    /**
+     * Relations whose weight is at least minWeight (e.g. 0 drops the refuted ones).
+     */
+    static RelationFilter minWeight(float minWeight) {
+        return (type, weight) -> weight >= minWeight;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.jdm.relation;
+
+/**
+ * Receives nodes and relations in document order while a response is being read.
+ *
+ * <p>Avec l'API JDM les nœuds précèdent les relations : le nom d'une cible est connu quand sa
+ * relation arrive. Le handler est appelé sur le thread qui lit la réponse.
+ */
+@FunctionalInterface
+public interface RelationHandler {
+
+    /**
+     * Called for each node described by the response.
+     */
+    default void onNode(int id, String name) {
+    }
+
+    /**
+     * Called for each relation accepted by the filter.
+     *
+     * @return false to stop reading: the rest of the response is discarded
+     */
+    boolean onRelation(int source, int target, int type, float weight);
+}
@@ -0,0 +1,238 @@
+package org.example.jdm.relation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.example.jdm.JdmApiException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Parses JDM relation responses into {@link TermRelations} with Jackson's streaming
+ * {@link JsonParser}: no tree is built, values go straight into growable primitive arrays.
+ *
+ * <p>Format attendu (celui de l'API JDM) :
+ * <pre>{@code
+ * {"nodes":     [{"id": 1, "name": "chat", ...}, ...],
+ *  "relations": [{"id": 9, "node1": 1, "node2": 2, "type": 5, "w": 42, ...}, ...]}
+ * }</pre>
+ * Les autres champs, à tous les niveaux, sont sautés sans être décodés. Thread-safe.
+ *
+ * <p>Les variantes sur {@link InputStream} lisent la réponse au fil de l'eau : la mémoire
+ * utilisée est celle des relations gardées, pas celle du document.
+ */
+public final class RelationParser {
+
+    private final JsonFactory factory;
+
+    public RelationParser() {
+        this(new JsonFactory());
+    }
+
+    /**
+     * @param factory fabrique partagée, par exemple {@code objectMapper.getFactory()}
+     */
+    public RelationParser(JsonFactory factory) {
+        this.factory = Objects.requireNonNull(factory);
+    }
+
+    /**
+     * @throws JdmApiException if the JSON is malformed or is not an object
+     */
+    public TermRelations parse(String term, String json) {
+        Builder builder = new Builder(RelationFilter.ALL);
+        try (JsonParser parser = factory.createParser(json)) {
+            read(parser, term, builder.filter, builder);
+        } catch (IOException e) {
+            throw new JdmApiException("Error parsing JSON", e);
+        }
+        return builder.build(term);
+    }
+
+    /**
+     * Parses a response as it is read from in, keeping only the relations accepted by filter
+     * and the nodes they reference. in is closed on return.
+     */
+    public TermRelations parse(String term, InputStream in, RelationFilter filter) throws IOException {
+        Builder builder = new Builder(filter);
+        try (JsonParser parser = factory.createParser(in)) {
+            read(parser, term, filter, builder);
+        }
+        return builder.build(term);
+    }
+
+    /**
+     * Hands nodes and accepted relations to handler as they are read from in, without storing
+     * them. in is closed on return (which, for an HTTP body, abandons the rest of it).
+     *
+     * @return false if the handler stopped the reading before the end of the response
+     */
+    public boolean stream(String term, InputStream in, RelationFilter filter, RelationHandler handler) throws IOException {
+        try (JsonParser parser = factory.createParser(in)) {
+            return read(parser, term, filter, handler);
+        }
+    }
+
+    private static boolean read(JsonParser parser, String term, RelationFilter filter,
+                                RelationHandler handler) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JdmApiException("Expected a JSON object for term " + term);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_ARRAY && "nodes".equals(field)) {
+                readNodes(parser, handler);
+            } else if (value == JsonToken.START_ARRAY && "relations".equals(field)) {
+                if (!readRelations(parser, filter, handler)) {
+                    return false;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return true;
+    }
+
+    private static void readNodes(JsonParser parser, RelationHandler handler) throws IOException {
+        while (nextElement(parser)) {
+            int id = 0;
+            String name = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> id = parser.getValueAsInt();
+                    case "name" -> name = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+            handler.onNode(id, name);
+        }
+    }
+
+    private static boolean readRelations(JsonParser parser, RelationFilter filter,
+                                         RelationHandler handler) throws IOException {
+        while (nextElement(parser)) {
+            int source = 0;
+            int target = 0;
+            int type = 0;
+            float weight = 0f;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "node1" -> source = parser.getValueAsInt();
+                    case "node2" -> target = parser.getValueAsInt();
+                    case "type" -> type = parser.getValueAsInt();
+                    case "w" -> weight = (float) parser.getValueAsDouble();
+                    default -> parser.skipChildren();
+                }
+            }
+            if (filter.accept(type, weight) && !handler.onRelation(source, target, type, weight)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Avance jusqu'au prochain objet du tableau courant (les autres éléments sont sautés) ;
+     * false à la fin du tableau.
+     */
+    private static boolean nextElement(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Accumule nœuds et relations dans des tableaux extensibles. Avec un filtre, les nœuds qui
+     * ne sont extrémité d'aucune relation gardée sont écartés à la construction.
+     */
+    private static final class Builder implements RelationHandler {
+        final RelationFilter filter;
+        int nodeCount;
+        int[] ids = new int[16];
+        String[] names = new String[16];
+        int size;
+        int[] sources = new int[16];
+        int[] targets = new int[16];
+        int[] types = new int[16];
+        float[] weights = new float[16];
+
+        Builder(RelationFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public void onNode(int id, String name) {
+            if (nodeCount == ids.length) {
+                ids = Arrays.copyOf(ids, nodeCount * 2);
+                names = Arrays.copyOf(names, nodeCount * 2);
+            }
+            ids[nodeCount] = id;
+            names[nodeCount] = name;
+            nodeCount++;
+        }
+
+        @Override
+        public boolean onRelation(int source, int target, int type, float weight) {
+            if (size == types.length) {
+                int capacity = size * 2;
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                types = Arrays.copyOf(types, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            types[size] = type;
+            weights[size] = weight;
+            size++;
+            return true;
+        }
+
+        TermRelations build(String term) {
+            int[] referenced = null;
+            if (filter != RelationFilter.ALL) {
+                referenced = new int[size * 2];
+                System.arraycopy(sources, 0, referenced, 0, size);
+                System.arraycopy(targets, 0, referenced, size, size);
+                Arrays.sort(referenced);
+            }
+            // Tri des nœuds par id sans boxing : (id << 32 | position) trié comme des longs
+            long[] order = new long[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                order[i] = ((long) ids[i] << 32) | i;
+            }
+            Arrays.sort(order);
+            int[] sortedIds = new int[nodeCount];
+            String[] sortedNames = new String[nodeCount];
+            int count = 0;
+            for (long packed : order) {
+                int id = (int) (packed >> 32);
+                if (count > 0 && sortedIds[count - 1] == id) {
+                    continue; // nœud en double : la première occurrence est gardée
+                }
+                if (referenced != null && Arrays.binarySearch(referenced, id) < 0) {
+                    continue;
+                }
+                sortedIds[count] = id;
+                sortedNames[count] = names[(int) packed];
+                count++;
+            }
+            return new TermRelations(term, Arrays.copyOf(sortedIds, count), Arrays.copyOf(sortedNames, count),
+                    Arrays.copyOf(sources, size), Arrays.copyOf(targets, size),
+                    Arrays.copyOf(types, size), Arrays.copyOf(weights, size));
+        }
+    }
+}
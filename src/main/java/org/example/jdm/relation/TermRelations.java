@@ -0,0 +1,118 @@
+package org.example.jdm.relation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Relations of a term, parsed once and stored in primitive arrays.
+ *
+ * <p>Relation {@code i} goes from node {@link #sourceId(int)} to node {@link #targetId(int)};
+ * node names are resolved by binary search in a sorted id table. The indexed accessors never
+ * allocate, so a cached instance can be read by any number of threads at no parsing cost;
+ * {@link #relation(int)} and {@link #relations()} build {@link Relation} views on demand.
+ *
+ * <p>Instances are immutable.
+ */
+public final class TermRelations {
+
+    private final String term;
+    private final int[] nodeIds;      // triés
+    private final String[] nodeNames; // alignés sur nodeIds
+    private final int[] sources;
+    private final int[] targets;
+    private final int[] types;
+    private final float[] weights;
+
+    TermRelations(String term, int[] nodeIds, String[] nodeNames,
+                  int[] sources, int[] targets, int[] types, float[] weights) {
+        this.term = term;
+        this.nodeIds = nodeIds;
+        this.nodeNames = nodeNames;
+        this.sources = sources;
+        this.targets = targets;
+        this.types = types;
+        this.weights = weights;
+    }
+
+    public String term() {
+        return term;
+    }
+
+    /**
+     * Number of relations.
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * Number of distinct nodes described by the response.
+     */
+    public int nodeCount() {
+        return nodeIds.length;
+    }
+
+    public int sourceId(int index) {
+        return sources[index];
+    }
+
+    public int targetId(int index) {
+        return targets[index];
+    }
+
+    public int type(int index) {
+        return types[index];
+    }
+
+    public float weight(int index) {
+        return weights[index];
+    }
+
+    public String source(int index) {
+        return nodeName(sources[index]);
+    }
+
+    public String target(int index) {
+        return nodeName(targets[index]);
+    }
+
+    /**
+     * Name of the node, or null if the response did not describe it.
+     */
+    public String nodeName(int nodeId) {
+        int position = Arrays.binarySearch(nodeIds, nodeId);
+        return position >= 0 ? nodeNames[position] : null;
+    }
+
+    public Relation relation(int index) {
+        return new Relation(source(index), types[index], target(index), weights[index]);
+    }
+
+    /**
+     * All relations, in response order (a new list on each call).
+     */
+    public List<Relation> relations() {
+        List<Relation> relations = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            relations.add(relation(i));
+        }
+        return relations;
+    }
+
+    /**
+     * Rough heap footprint, usable as a cache weight.
+     */
+    public int estimatedBytes() {
+        int bytes = 64 + types.length * (4 * Integer.BYTES);
+        for (String name : nodeNames) {
+            bytes += Integer.BYTES + 8 + 40 + (name == null ? 0 : name.length());
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "TermRelations{term=" + term + ", relations=" + size() + ", nodes=" + nodeCount() + '}';
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.metrics;
+
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Minimal metrics sink, so the cache and the JDM client can be published to any monitoring
+ * library (Micrometer, Dropwizard, Prometheus client...) through a small adapter.
+ *
+ * <p>Only gauges are needed: every value is read on demand from counters the components
+ * already maintain, so nothing is recorded twice on the hot path.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Registers a gauge; a gauge with the same name and tags is replaced.
+     *
+     * @param name  dotted metric name, e.g. {@code cache.hit.rate}
+     * @param tags  dimensions of the metric (copied)
+     * @param value read each time the gauge is sampled; must be thread-safe
+     */
+    void gauge(String name, Map<String, String> tags, DoubleSupplier value);
+
+    /**
+     * Removes the gauge with this name and tags, if registered.
+     */
+    void remove(String name, Map<String, String> tags);
+}
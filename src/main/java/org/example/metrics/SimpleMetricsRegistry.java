@@ -0,0 +1,52 @@
+package org.example.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * In-memory {@link MetricsRegistry}, for tests and for dumping the metrics of a process.
+ */
+public final class SimpleMetricsRegistry implements MetricsRegistry {
+
+    private final ConcurrentHashMap<MeterId, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public void gauge(String name, Map<String, String> tags, DoubleSupplier value) {
+        gauges.put(new MeterId(name, tags), Objects.requireNonNull(value));
+    }
+
+    @Override
+    public void remove(String name, Map<String, String> tags) {
+        gauges.remove(new MeterId(name, tags));
+    }
+
+    /**
+     * Current value of the gauge.
+     *
+     * @throws IllegalArgumentException if no such gauge is registered
+     */
+    public double value(String name, Map<String, String> tags) {
+        DoubleSupplier gauge = gauges.get(new MeterId(name, tags));
+        if (gauge == null) throw new IllegalArgumentException("No gauge " + name + tags);
+        return gauge.getAsDouble();
+    }
+
+    public Set<MeterId> meters() {
+        return Set.copyOf(gauges.keySet());
+    }
+
+    /**
+     * Identity of a gauge; tags are kept sorted so that registration order does not matter.
+     */
+    public record MeterId(String name, Map<String, String> tags) {
+        public MeterId {
+            Objects.requireNonNull(name, "name must not be null");
+            tags = Collections.unmodifiableSortedMap(new TreeMap<>(tags));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.cache;
+
+import org.example.metrics.SimpleMetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheManagementTest {
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @AfterEach
+    void unregister() {
+        CacheManagement.unregister("test-cache");
+    }
+
+    @Test
+    void mbean_shouldExposeStatsAndOperations() throws Exception {
+        GenericConcurrentCache<String, String> cache =
+                GenericConcurrentCache.<String, String>builder().maximumSize(4).build();
+        ObjectName name = CacheManagement.register("test-cache", cache);
+        CacheMXBean mbean = JMX.newMXBeanProxy(server, name, CacheMXBean.class);
+
+        for (int i = 0; i < 6; i++) {
+            cache.put("k" + i, "v" + i);
+        }
+        cache.get("k5");
+        cache.get("k0");
+
+        assertEquals(4, server.getAttribute(name, "Size"));
+        assertEquals(4, mbean.getMaximumSize());
+        assertEquals(6, mbean.getPutCount());
+        assertEquals(2, mbean.getEvictionCount());
+        assertEquals(0.5, mbean.getHitRate());
+
+        mbean.resize(2);
+        assertEquals(2, cache.maxSize());
+        assertEquals(2, mbean.getSize());
+        assertEquals(4, mbean.getEvictionCount());
+
+        server.invoke(name, "clear", new Object[0], new String[0]);
+        assertEquals(0, cache.size());
+        assertThrows(IllegalStateException.class, () -> CacheManagement.register("test-cache", cache));
+    }
+
+    @Test
+    void bindTo_shouldPublishGaugesReadOnDemand() {
+        GenericConcurrentCache<String, String> cache =
+                GenericConcurrentCache.<String, String>builder().maximumSize(10).build();
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        CacheManagement.bindTo(registry, "terms", cache);
+
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("b");
+
+        Map<String, String> tags = Map.of("cache", "terms");
+        assertEquals(1.0, registry.value("cache.size", tags));
+        assertEquals(10.0, registry.value("cache.capacity", tags));
+        assertEquals(0.5, registry.value("cache.hit.rate", tags));
+        assertEquals(1.0, registry.value("cache.puts", tags));
+    }
+}
@@ -1,9 +1,28 @@
 package org.example.cache;
 
 import com.example.cache.eviction.FifoEvictionStrategy;
+import org.example.cache.eviction.LruEvictionStrategy;
 import org.example.jdm.CachedJdmClient;
+import org.example.jdm.CachedResponse;
+import org.example.jdm.CircuitBreaker;
+import org.example.jdm.CircuitOpenException;
+import org.example.jdm.JdmApiException;
 import org.example.jdm.JdmClient;
+import org.example.jdm.JdmEndpoint;
+import org.example.jdm.RateLimiter;
+import org.example.jdm.RequestTracer;
+import org.example.jdm.WarmUpReport;
+import org.example.jdm.relation.TermRelations;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,6 +42,80 @@ class CachedJdmClientTest {
         }
     }
 
+    /**
+     * Fake client dont les appels restent bloqués jusqu'à l'ouverture de la barrière.
+     */
+    private static class SlowJdmClient extends JdmClient {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final boolean fail;
+
+        SlowJdmClient(boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        public String getRelationsRaw(String term) {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (fail) {
+                throw new IllegalStateException("boom");
+            }
+            return "{\"relations\":\"" + term + "\"}";
+        }
+    }
+
+    /**
+     * Fake client renvoyant une nouvelle version à chaque appel, ou échouant sur demande.
+     */
+    private static class VersionedJdmClient extends JdmClient {
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile Error error;
+
+        @Override
+        public String getTermRaw(String term) {
+            int version = calls.incrementAndGet();
+            if (error != null) {
+                throw error;
+            }
+            if (failing) {
+                throw new IllegalStateException("JDM down");
+            }
+            return term + "-v" + version;
+        }
+    }
+
+    /**
+     * Fake client qui mesure le nombre maximal d'appels simultanés sur /relations.
+     */
+    private static class ConcurrencyTrackingJdmClient extends JdmClient {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Override
+        public String getRelationsRaw(String term) {
+            calls.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            if (term.startsWith("err")) {
+                throw new IllegalStateException("boom");
+            }
+            return "rel-" + term;
+        }
+    }
+
     private static class SimpleStringCache implements Cache<String, String> {
 
         private final java.util.Map<String, String> map = new java.util.HashMap<>();
@@ -91,4 +184,392 @@ class CachedJdmClientTest {
         assertEquals(1, stats.hits());
         assertEquals(1, stats.misses());
     }
+
+    @Test
+    void concurrentMisses_shouldShareSingleCall() throws Exception {
+        SlowJdmClient jdmClient = new SlowJdmClient(false);
+        Cache<String, String> cache =
+                new GenericConcurrentCache<>(10, 0, new FifoEvictionStrategy<>());
+        CachedJdmClient cached = new CachedJdmClient(jdmClient, cache);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> cached.getRelationsRaw("chat")));
+        }
+        // Laisse le temps aux threads de rejoindre l'appel en cours
+        while (cached.getCoalescedCount() < threads - 1) {
+            Thread.onSpinWait();
+        }
+        jdmClient.release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("{\"relations\":\"chat\"}", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, jdmClient.calls.get());
+        assertEquals(1, cached.getLoadCount());
+        assertEquals(threads - 1, cached.getCoalescedCount());
+        assertEquals(0, cached.getInFlightCount());
+    }
+
+    @Test
+    void concurrentMisses_shouldShareException() throws Exception {
+        SlowJdmClient jdmClient = new SlowJdmClient(true);
+        Cache<String, String> cache =
+                new GenericConcurrentCache<>(10, 0, new FifoEvictionStrategy<>());
+        CachedJdmClient cached = new CachedJdmClient(jdmClient, cache);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<String> first = executor.submit(() -> cached.getRelationsRaw("chien"));
+        Future<String> second = executor.submit(() -> cached.getRelationsRaw("chien"));
+        while (cached.getCoalescedCount() < 1) {
+            Thread.onSpinWait();
+        }
+        jdmClient.release.countDown();
+
+        for (Future<String> result : List.of(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(JdmApiException.class, e.getCause());
+        }
+        executor.shutdown();
+
+        assertEquals(1, jdmClient.calls.get());
+        assertNull(cache.get("relations:chien"));
+    }
+
+    @Test
+    void refreshAhead_shouldServeCurrentValueAndReloadInBackground() throws InterruptedException {
+        VersionedJdmClient jdmClient = new VersionedJdmClient();
+        Cache<String, String> cache =
+                new GenericConcurrentCache<>(10, 10_000, new FifoEvictionStrategy<>());
+        CachedJdmClient cached = new CachedJdmClient(jdmClient, cache);
+        cached.setRefreshAfterWrite(Duration.ofMillis(50));
+        cached.setRefreshExecutor(Runnable::run);
+
+        assertEquals("chat-v1", cached.getTermRaw("chat"));
+        assertEquals("chat-v1", cached.getTermRaw("chat"), "young entry: no refresh");
+        assertEquals(0, cached.getRefreshCount());
+
+        Thread.sleep(100);
+        // L'entrée a dépassé le seuil : la valeur courante est servie, le rechargement est lancé
+        assertEquals("chat-v1", cached.getTermRaw("chat"));
+        assertEquals(1, cached.getRefreshCount());
+        assertEquals("chat-v2", cached.getTermRaw("chat"));
+        assertEquals(2, jdmClient.calls.get());
+    }
+
+    @Test
+    void refreshAhead_failureShouldKeepOldValueAndBeCounted() throws InterruptedException {
+        VersionedJdmClient jdmClient = new VersionedJdmClient();
+        Cache<String, String> cache =
+                new GenericConcurrentCache<>(10, 10_000, new FifoEvictionStrategy<>());
+        CachedJdmClient cached = new CachedJdmClient(jdmClient, cache);
+        cached.setRefreshAfterWrite(Duration.ofMillis(50));
+        cached.setRefreshExecutor(Runnable::run);
+
+        assertEquals("chien-v1", cached.getTermRaw("chien"));
+        Thread.sleep(100);
+        jdmClient.failing = true;
+
+        assertEquals("chien-v1", cached.getTermRaw("chien"));
+        assertEquals(1, cached.getRefreshFailureCount());
+        assertEquals("chien-v1", cache.get("term:chien"), "old value must be kept");
+    }
+
+    @Test
+    void batchLookup_shouldFetchOnlyMissesWithBoundedConcurrencyAndKeepOrder() {
+        ConcurrencyTrackingJdmClient jdmClient = new ConcurrencyTrackingJdmClient();
+        Cache<String, String> cache =
+                new GenericConcurrentCache<>(1_000, 0, new FifoEvictionStrategy<>());
+        CachedJdmClient cached = new CachedJdmClient(jdmClient, cache);
+        cached.setBatchParallelism(4);
+
+        cache.put("relations:t3", "cached-t3");
+        cache.put("relations:t7", "cached-t7");
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            terms.add("t" + i);
+        }
+        terms.add("t5"); // doublon
+
+        Map<String, String> result = cached.getRelationsRawBatch(terms);
+
+        assertEquals(terms.subList(0, 40), new ArrayList<>(result.keySet()));
+        assertEquals("cached-t3", result.get("t3"));
+        assertEquals("rel-t0", result.get("t0"));
+        assertEquals(38, jdmClient.calls.get());
+        assertTrue(jdmClient.maxRunning.get() <= 4, "max concurrent calls " + jdmClient.maxRunning.get());
+
+        // Second appel : tout vient du cache
+        cached.getRelationsRawBatch(terms);
+        assertEquals(38, jdmClient.calls.get());
+    }
+
+    @Test
+    void batchLookup_shouldFailWhenAMissCannotBeFetched() {
+        ConcurrencyTrackingJdmClient jdmClient = new ConcurrencyTrackingJdmClient();
+        Cache<String, String> cache =
+                new GenericConcurrentCache<>(100, 0, new FifoEvictionStrategy<>());
+        CachedJdmClient cached = new CachedJdmClient(jdmClient, cache);
+
+        assertThrows(JdmApiException.class, () -> cached.getRelationsRawBatch(List.of("a", "err", "b")));
+        assertEquals("rel-a", cache.get("relations:a"), "successful fetches stay cached");
+    }
+
+    @Test
+    void tracer_shouldRecordHitsAndMissesAndBeSwitchableAtRuntime() {
+        FakeJdmClient jdmClient = new FakeJdmClient();
+        CachedJdmClient cached = new CachedJdmClient(jdmClient,
+                new GenericConcurrentCache<>(10, 0, new FifoEvictionStrategy<>()));
+        RequestTracer tracer = cached.getTracer();
+
+        cached.getTermRaw("chat");
+        cached.getTermRaw("chat");
+        assertEquals(1, tracer.missLatency(JdmEndpoint.TERM).count());
+        assertEquals(1, tracer.hitLatency(JdmEndpoint.TERM).count());
+        assertEquals(0, tracer.hitLatency(JdmEndpoint.RELATIONS).count());
+
+        tracer.setEnabled(false);
+        cached.getTermRaw("chat");
+        assertEquals(1, tracer.hitLatency(JdmEndpoint.TERM).count());
+
+        tracer.setEnabled(true);
+        tracer.setSampleRate(1);
+        tracer.setSlowThreshold(Duration.ofNanos(1));
+        cached.getTermRaw("chat");
+        assertEquals(2, tracer.hitLatency(JdmEndpoint.TERM).count());
+    }
+
+    @Test
+    void warmUp_shouldPrefetchExportedHotKeysWithBoundedConcurrency(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("hot-keys.bin");
+        CachedJdmClient previous = new CachedJdmClient(new FakeJdmClient(),
+                new GenericConcurrentCache<>(100, 0, new LruEvictionStrategy<>()));
+        for (int i = 0; i < 30; i++) {
+            previous.getTermRaw("t" + i);
+        }
+        previous.getTermRaw("t0");
+        assertEquals(10, previous.exportHotKeys(file, 10));
+        assertEquals("term:t0", HotKeyFile.read(file).get(0));
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        JdmClient slowClient = new JdmClient() {
+            @Override
+            public String getTermRaw(String term) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                if (term.equals("t29")) {
+                    throw new IllegalStateException("JDM down");
+                }
+                return "value-" + term;
+            }
+        };
+        GenericConcurrentCache<String, String> cache = new GenericConcurrentCache<>(100, 0, new LruEvictionStrategy<>());
+        CachedJdmClient restarted = new CachedJdmClient(slowClient, cache);
+        cache.put("term:t28", "served-before-warm-up");
+
+        WarmUpReport report = restarted.warmUp(file, 3, RateLimiter.perSecond(1_000)).get(5, TimeUnit.SECONDS);
+
+        assertEquals(10, report.keys());
+        assertEquals(1, report.alreadyCached());
+        assertEquals(1, report.failed());
+        assertEquals(8, report.loaded());
+        assertEquals(0.9, report.coverage(), 1e-9);
+        assertTrue(maxInFlight.get() <= 3);
+        assertEquals("value-t0", cache.get("term:t0"));
+        assertEquals("served-before-warm-up", cache.get("term:t28"));
+
+        WarmUpReport missing = restarted.warmUp(dir.resolve("absent.bin"), 3, RateLimiter.perSecond(1_000))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(0, missing.keys());
+    }
+
+    @Test
+    void parsedRelations_shouldBeParsedOnceAndDroppedOnReload() {
+        AtomicInteger fetches = new AtomicInteger();
+        AtomicInteger parses = new AtomicInteger();
+        JdmClient jdmClient = new JdmClient() {
+            @Override
+            public String getRelationsRaw(String term) {
+                int version = fetches.incrementAndGet();
+                return "{\"nodes\":[{\"id\":1,\"name\":\"" + term + "\"},{\"id\":2,\"name\":\"v" + version + "\"}],"
+                        + "\"relations\":[{\"node1\":1,\"node2\":2,\"type\":0,\"w\":10}]}";
+            }
+
+            @Override
+            public TermRelations parseRelations(String term, String raw) {
+                parses.incrementAndGet();
+                return super.parseRelations(term, raw);
+            }
+        };
+        Cache<String, String> rawCache = new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>());
+        CachedJdmClient cached = new CachedJdmClient(jdmClient, rawCache);
+
+        TermRelations first = cached.getTermRelations("chat");
+        assertSame(first, cached.getTermRelations("chat"));
+        assertEquals(1, fetches.get());
+        assertEquals(1, parses.get());
+        assertEquals("v1", first.target(0));
+
+        // Raw déjà en cache : parsé sans nouvel appel réseau
+        rawCache.put(JdmEndpoint.SYNONYMS.cacheKey("chat"), "{\"relations\":[]}");
+        assertEquals(0, cached.getParsedRelations(JdmEndpoint.SYNONYMS, "chat").size());
+        assertEquals(1, fetches.get());
+
+        rawCache.invalidate(JdmEndpoint.RELATIONS.cacheKey("chat"));
+        cached.getRelationsRaw("chat");
+        assertEquals("v2", cached.getTermRelations("chat").target(0));
+        assertEquals(3, parses.get());
+    }
+
+    @Test
+    void parsedRelations_shouldBeRefetchedWhenTheRawEntryExpires() throws InterruptedException {
+        AtomicInteger fetches = new AtomicInteger();
+        JdmClient jdmClient = new JdmClient() {
+            @Override
+            public String getRelationsRaw(String term) {
+                int version = fetches.incrementAndGet();
+                return "{\"nodes\":[{\"id\":1,\"name\":\"" + term + "\"},{\"id\":2,\"name\":\"v" + version + "\"}],"
+                        + "\"relations\":[{\"node1\":1,\"node2\":2,\"type\":0,\"w\":10}]}";
+            }
+        };
+        CachedJdmClient cached = new CachedJdmClient(jdmClient,
+                new GenericConcurrentCache<>(10, 50, new LruEvictionStrategy<>()));
+
+        assertEquals("v1", cached.getTermRelations("chat").target(0));
+        assertEquals("v1", cached.getTermRelations("chat").target(0));
+        assertEquals(1, fetches.get());
+
+        Thread.sleep(100);
+        assertEquals("v2", cached.getTermRelations("chat").target(0), "the parsed copy follows the raw TTL");
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void singleFlightLeader_shouldRereadTheCacheBeforeCallingTheApi() {
+        VersionedJdmClient jdmClient = new VersionedJdmClient();
+        GenericConcurrentCache<String, String> delegate =
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>());
+        // Le premier get manque, puis un autre chargement range la valeur et libère la clé
+        Cache<String, String> cache = new Cache<>() {
+            private boolean first = true;
+
+            @Override
+            public String get(String key) {
+                if (first) {
+                    first = false;
+                    delegate.put(key, "chien-v0");
+                    return null;
+                }
+                return delegate.get(key);
+            }
+
+            @Override
+            public void put(String key, String value) {
+                delegate.put(key, value);
+            }
+
+            @Override
+            public long ageNanos(String key) {
+                return delegate.ageNanos(key);
+            }
+
+            @Override
+            public void invalidate(String key) {
+                delegate.invalidate(key);
+            }
+
+            @Override
+            public void clear() {
+                delegate.clear();
+            }
+
+            @Override
+            public CacheStats getStats() {
+                return delegate.getStats();
+            }
+        };
+        CachedJdmClient cached = new CachedJdmClient(jdmClient, cache);
+
+        assertEquals("chien-v0", cached.getTermRaw("chien"));
+        assertEquals(0, jdmClient.calls.get(), "the value stored by the previous flight is reused");
+        assertEquals(0, cached.getLoadCount());
+    }
+
+    @Test
+    void circuitBreaker_shouldFailFastWhileOpenAndCloseAfterASuccessfulTrial() throws InterruptedException {
+        VersionedJdmClient jdmClient = new VersionedJdmClient();
+        CachedJdmClient cached = new CachedJdmClient(jdmClient,
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>()));
+        cached.setCircuitBreaker(new CircuitBreaker(2, Duration.ofMillis(100)));
+        jdmClient.failing = true;
+
+        assertThrows(JdmApiException.class, () -> cached.getTermRaw("chien"));
+        assertEquals(CircuitBreaker.State.CLOSED, cached.getCircuitState());
+        assertThrows(JdmApiException.class, () -> cached.getTermRaw("chien"));
+        assertEquals(CircuitBreaker.State.OPEN, cached.getCircuitState());
+
+        assertThrows(CircuitOpenException.class, () -> cached.getTermRaw("chat"));
+        assertEquals(2, jdmClient.calls.get(), "no call while open");
+        assertEquals(1, cached.getCircuitRejectionCount());
+
+        Thread.sleep(150);
+        jdmClient.failing = false;
+        assertEquals(CircuitBreaker.State.HALF_OPEN, cached.getCircuitState());
+        assertEquals("chat-v3", cached.getTermRaw("chat"));
+        assertEquals(CircuitBreaker.State.CLOSED, cached.getCircuitState());
+    }
+
+    @Test
+    void circuitBreaker_shouldReleaseTheTrialWhenTheLoadThrowsAnError() throws InterruptedException {
+        VersionedJdmClient jdmClient = new VersionedJdmClient();
+        CachedJdmClient cached = new CachedJdmClient(jdmClient,
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>()));
+        cached.setCircuitBreaker(new CircuitBreaker(1, Duration.ofMillis(100)));
+        jdmClient.failing = true;
+        assertThrows(JdmApiException.class, () -> cached.getTermRaw("chien"));
+        assertEquals(CircuitBreaker.State.OPEN, cached.getCircuitState());
+
+        Thread.sleep(150);
+        jdmClient.error = new StackOverflowError("simulated");
+        assertThrows(StackOverflowError.class, () -> cached.getTermRaw("chien"));
+        assertEquals(CircuitBreaker.State.OPEN, cached.getCircuitState(), "the trial failed");
+
+        Thread.sleep(150);
+        jdmClient.error = null;
+        jdmClient.failing = false;
+        assertEquals("chien-v3", cached.getTermRaw("chien"), "a new trial is allowed");
+        assertEquals(CircuitBreaker.State.CLOSED, cached.getCircuitState());
+    }
+
+    @Test
+    void staleWhileError_shouldServeExpiredValuesFlaggedAsStale() throws InterruptedException {
+        VersionedJdmClient jdmClient = new VersionedJdmClient();
+        CachedJdmClient cached = new CachedJdmClient(jdmClient,
+                new GenericConcurrentCache<>(10, 50, new LruEvictionStrategy<>()));
+        cached.setStaleWhileError(Duration.ofSeconds(10), 100);
+        cached.setCircuitBreaker(new CircuitBreaker(1, Duration.ofSeconds(10)));
+
+        assertEquals(new CachedResponse("chien-v1", false), cached.lookup(JdmEndpoint.TERM, "chien"));
+        Thread.sleep(100);
+        jdmClient.failing = true;
+
+        assertEquals(new CachedResponse("chien-v1", true), cached.lookup(JdmEndpoint.TERM, "chien"));
+        assertEquals(CircuitBreaker.State.OPEN, cached.getCircuitState());
+        // Circuit ouvert : servi périmé sans appel
+        assertEquals("chien-v1", cached.getTermRaw("chien"));
+        assertEquals(2, jdmClient.calls.get());
+        assertEquals(2, cached.getStaleServeCount());
+
+        assertThrows(CircuitOpenException.class, () -> cached.getTermRaw("chat"), "nothing stale to serve");
+    }
 }
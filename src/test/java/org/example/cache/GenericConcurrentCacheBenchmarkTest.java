@@ -3,6 +3,14 @@ package org.example.cache;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import com.example.cache.eviction.FifoEvictionStrategy;
+import org.example.cache.eviction.ClockEvictionStrategy;
+import org.example.cache.eviction.EvictionStrategy;
+import org.example.cache.eviction.LruEvictionStrategy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 public class GenericConcurrentCacheBenchmarkTest {
     @Test
@@ -23,4 +31,66 @@ public class GenericConcurrentCacheBenchmarkTest {
         double opsPerSec = (ops * 1_000_000_000.0) / duration;
         System.out.println("Throughput: " + opsPerSec + " ops/sec");
     }
+
+    /**
+     * Débit des hits en fonction du nombre de threads : LRU (synchronized) vs CLOCK (lecture sans verrou).
+     */
+    @Test
+    @Disabled("Benchmark manuel — ne pas exécuter automatiquement")
+    void benchmarkConcurrentHitThroughput() throws InterruptedException {
+        int maxThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double lru = measureHitThroughput(LruEvictionStrategy::new, threads);
+            double clock = measureHitThroughput(ClockEvictionStrategy::new, threads);
+            System.out.printf("threads=%d  LRU=%.0f hits/sec  CLOCK=%.0f hits/sec  (x%.2f)%n",
+                    threads, lru, clock, clock / lru);
+        }
+    }
+
+    private static double measureHitThroughput(Supplier<EvictionStrategy<Integer>> strategy, int threads)
+            throws InterruptedException {
+        int keys = 10_000;
+        long durationNanos = 1_000_000_000L;
+        Cache<Integer, Integer> cache = new GenericConcurrentCache<>(keys, 0, strategy.get());
+        // Clés pré-créées : on ne mesure ni l'autoboxing ni la concaténation
+        Integer[] keySpace = new Integer[keys];
+        for (int i = 0; i < keys; i++) {
+            keySpace[i] = i;
+            cache.put(keySpace[i], i);
+        }
+
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    // Warm-up puis mesure
+                    long warmUpEnd = System.nanoTime() + durationNanos / 4;
+                    while (System.nanoTime() < warmUpEnd) {
+                        cache.get(keySpace[random.nextInt(keys)]);
+                    }
+                    long end = System.nanoTime() + durationNanos;
+                    long local = 0;
+                    while (System.nanoTime() < end) {
+                        for (int i = 0; i < 256; i++) {
+                            cache.get(keySpace[random.nextInt(keys)]);
+                        }
+                        local += 256;
+                    }
+                    ops.add(local);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        start.countDown();
+        done.await();
+        return ops.sum() * 1_000_000_000.0 / durationNanos;
+    }
 }
@@ -2,12 +2,21 @@ package org.example.cache;
 
 import com.example.cache.eviction.FifoEvictionStrategy;
 
+import org.example.cache.eviction.ClockEvictionStrategy;
+import org.example.cache.eviction.EvictionStrategy;
 import org.example.cache.eviction.LruEvictionStrategy;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -97,6 +106,42 @@ class GenericConcurrentCacheTest {
         assertNotNull(cache.get("C"), "C must be present");
     }
 
+    @Test
+    void testClockGivesSecondChanceToRecentlyUsedKeys() {
+        int maxSize = 2;
+
+        Cache<String, String> cache =
+                new GenericConcurrentCache<>(maxSize, 0, new ClockEvictionStrategy<>());
+
+        cache.put("A", "1");
+        cache.put("B", "2");
+
+        // A est référencé : l'aiguille lui laisse une seconde chance
+        assertEquals("1", cache.get("A"));
+
+        cache.put("C", "3");
+
+        assertNotNull(cache.get("A"), "A should NOT be evicted (reference bit set)");
+        assertNull(cache.get("B"), "B should be evicted (reference bit cleared)");
+        assertNotNull(cache.get("C"), "C must be present");
+    }
+
+    @Test
+    void testClockIgnoresInvalidatedKeys() {
+        Cache<String, String> cache =
+                new GenericConcurrentCache<>(2, 0, new ClockEvictionStrategy<>());
+
+        cache.put("A", "1");
+        cache.put("B", "2");
+        cache.invalidate("A");
+        cache.put("C", "3");
+        cache.put("D", "4");
+
+        assertNull(cache.get("A"));
+        assertNull(cache.get("B"), "B is the oldest live key");
+        assertNotNull(cache.get("C"));
+        assertNotNull(cache.get("D"));
+    }
 
     @Test
     void testTtlExpiration() throws InterruptedException {
@@ -202,6 +247,576 @@ class GenericConcurrentCacheTest {
         assertEquals("v2", cache.get("k"));
     }
 
+    @Test
+    void getWithLoader_shouldLoadOnceUnderConcurrency() throws InterruptedException {
+        GenericConcurrentCache<String, String> cache =
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>());
+        AtomicInteger loads = new AtomicInteger();
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ConcurrentLinkedQueue<String> results = new ConcurrentLinkedQueue<>();
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                startLatch.await();
+                results.add(cache.get("k", key -> {
+                    loads.incrementAndGet();
+                    return "v-" + key;
+                }));
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, loads.get());
+        assertEquals(threads, results.size());
+        assertTrue(results.stream().allMatch("v-k"::equals));
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.loadSuccesses());
+        assertEquals(1, stats.misses());
+        assertEquals(threads - 1, stats.hits());
+    }
+
+    @Test
+    void getWithLoader_failureShouldBeCountedAndNotCached() {
+        GenericConcurrentCache<String, String> cache =
+                new GenericConcurrentCache<>(10, 0, new FifoEvictionStrategy<>());
+
+        assertThrows(IllegalStateException.class, () -> cache.get("k", key -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertNull(cache.get("k", key -> null));
+        assertNull(cache.get("k"));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(0, stats.loadSuccesses());
+        assertEquals(2, stats.loadFailures());
+        assertTrue(stats.totalLoadTimeNanos() > 0);
+    }
+
+    @Test
+    void getWithLoader_shouldReloadExpiredEntryAndRespectCapacity() throws InterruptedException {
+        GenericConcurrentCache<String, String> cache =
+                new GenericConcurrentCache<>(2, 100, new LruEvictionStrategy<>());
+
+        assertEquals("1", cache.get("a", key -> "1"));
+        assertEquals("2", cache.get("b", key -> "2"));
+        assertEquals("3", cache.get("c", key -> "3"));
+        assertNull(cache.get("a"), "a should be evicted (maxSize = 2)");
+
+        Thread.sleep(200);
+        assertEquals("3bis", cache.get("c", key -> "3bis"));
+        assertEquals(4, cache.getStats().loadSuccesses());
+    }
+
+    @Test
+    void loadingCache_shouldLoadThroughCacheLoader() {
+        LoadingCache<String, String> cache = new GenericLoadingCache<>(
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>()),
+                key -> key.toUpperCase());
+
+        assertNull(cache.get("chat"));
+        assertEquals("CHAT", cache.getOrLoad("chat"));
+        assertEquals("CHAT", cache.get("chat"));
+
+        LoadingCache<String, String> failing = new GenericLoadingCache<>(
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>()),
+                key -> {
+                    throw new java.io.IOException("network down");
+                });
+        CacheLoadingException e = assertThrows(CacheLoadingException.class, () -> failing.getOrLoad("chat"));
+        assertInstanceOf(java.io.IOException.class, e.getCause());
+        assertEquals(1, failing.getStats().loadFailures());
+    }
+
+    @Test
+    void loadingCache_shouldForwardAtomicLoadToDelegate() throws Exception {
+        LoadingCache<String, String> cache = new GenericLoadingCache<>(
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>()), key -> key);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    return cache.get("chat", key -> {
+                        loads.incrementAndGet();
+                        sleepQuietly(50);
+                        return "CHAT";
+                    });
+                });
+            }
+            start.countDown();
+        }
+        assertEquals(1, loads.get(), "a single load through the wrapper");
+        assertEquals("CHAT", cache.get("chat"));
+    }
+
+    @Test
+    void loadingCache_shouldForwardAgeToDelegate() {
+        LoadingCache<String, String> cache = new GenericLoadingCache<>(
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>()), key -> key);
+        assertEquals(-1L, cache.ageNanos("chat"));
+        cache.getOrLoad("chat");
+        assertTrue(cache.ageNanos("chat") >= 0, "refresh-ahead needs the age through the wrapper");
+    }
+
+    @Test
+    void loadingCache_shouldForwardHottestKeysToDelegate() {
+        LoadingCache<String, String> cache = new GenericLoadingCache<>(
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>()), key -> key);
+        cache.getOrLoad("a");
+        cache.getOrLoad("b");
+        cache.get("a");
+        assertEquals(List.of("a", "b"), cache.hottestKeys(10));
+    }
+
+    @Test
+    void loadingCache_shouldForwardPerEntryTtlToDelegate() {
+        LoadingCache<String, String> cache = new GenericLoadingCache<>(
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>()), key -> key);
+        cache.put("chat", "CHAT", Duration.ofMillis(20));
+        assertEquals("CHAT", cache.get("chat"));
+        sleepQuietly(50);
+        assertNull(cache.get("chat"));
+    }
+
+    @Test
+    void loadingCache_shouldForwardConditionalInvalidateToDelegate() {
+        LoadingCache<String, String> cache = new GenericLoadingCache<>(
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>()), key -> key);
+        String value = cache.getOrLoad("chat");
+        assertFalse(cache.invalidate("chat", new String(value)), "identity, not equality");
+        assertTrue(cache.invalidate("chat", value));
+        assertNull(cache.get("chat"));
+        assertEquals(0, cache.getStats().hits(), "the atomic version does not count a hit");
+    }
+
+    @Test
+    void loadingCache_shouldForwardBatchOperationsToDelegate() {
+        LoadingCache<String, String> cache = new GenericLoadingCache<>(
+                GenericConcurrentCache.<String, String>builder().maximumSize(3).segments(2).build(), key -> key);
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("a", "1");
+        entries.put("b", "2");
+        cache.putAll(entries);
+
+        Map<String, String> found = cache.getAll(List.of("b", "x", "a", "b"));
+        assertEquals(List.of("b", "a"), List.copyOf(found.keySet()));
+        assertEquals(2, cache.getStats().hits(), "one pass: the duplicate key is not counted twice");
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void segmentedCache_shouldSpreadCapacityAndEvictPerSegment() {
+        GenericConcurrentCache<Integer, String> cache =
+                new GenericConcurrentCache<>(10, 0, capacity -> new LruEvictionStrategy<>(), 4);
+
+        assertEquals(4, cache.segmentCount());
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, "v" + i);
+        }
+        assertEquals(10, cache.size());
+        assertEquals("v999", cache.get(999));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new GenericConcurrentCache<Integer, String>(2, 0, capacity -> new LruEvictionStrategy<>(), 3));
+    }
+
+    @Test
+    void builder_shouldRejectASingleStrategyInstanceSharedBySegments() {
+        assertThrows(IllegalStateException.class, () -> GenericConcurrentCache.<String, String>builder()
+                .maximumSize(10)
+                .evictionStrategy(new LruEvictionStrategy<>())
+                .segments(4)
+                .build());
+
+        GenericConcurrentCache<String, String> cache = GenericConcurrentCache.<String, String>builder()
+                .maximumSize(10)
+                .evictionStrategy(new LruEvictionStrategy<>())
+                .segments(1)
+                .build();
+        assertEquals(1, cache.segmentCount());
+    }
+
+    @Test
+    void segmentedCache_underHeavyPuts_shouldKeepSizeBound() throws InterruptedException {
+        int maxSize = 1_000;
+        int threads = 32;
+        GenericConcurrentCache<String, String> cache =
+                new GenericConcurrentCache<>(maxSize, 0, capacity -> new LruEvictionStrategy<>(), 16);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(threads);
+        AtomicLong maxObserved = new AtomicLong();
+
+        for (int t = 0; t < threads; t++) {
+            final int threadId = t;
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (int i = 0; i < 20_000; i++) {
+                        cache.put("t" + threadId + "-k" + i, "v");
+                        if ((i & 255) == 0) {
+                            maxObserved.accumulateAndGet(cache.size(), Math::max);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        startLatch.countDown();
+        assertTrue(doneLatch.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertTrue(cache.size() <= maxSize, "final size " + cache.size());
+        // Tolérance : au plus un put concurrent en cours par thread
+        assertTrue(maxObserved.get() <= maxSize + threads, "max observed size " + maxObserved.get());
+    }
+
+    @Test
+    void backgroundExpiry_shouldRemoveUnreadEntriesAndNotifyStrategy() throws InterruptedException {
+        RecordingStrategy<String> strategy = new RecordingStrategy<>();
+        GenericConcurrentCache<String, String> cache = GenericConcurrentCache.<String, String>builder()
+                .maximumSize(100)
+                .expireAfterWrite(Duration.ofMillis(100))
+                .evictionStrategy(strategy)
+                .backgroundExpiry(Duration.ofMillis(50))
+                .build();
+        try {
+            for (int i = 0; i < 50; i++) {
+                cache.put("k" + i, "v" + i);
+            }
+            assertEquals(50, cache.size());
+
+            // Granularité de la roue ~1 s : on attend au plus quelques ticks sans jamais lire
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.size() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, cache.size());
+            assertEquals(50, strategy.removed.size());
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    void backgroundExpiry_shouldExpireEntriesWrittenConcurrently() throws InterruptedException {
+        GenericConcurrentCache<String, String> cache = GenericConcurrentCache.<String, String>builder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofMillis(100))
+                .backgroundExpiry(Duration.ofMillis(50))
+                .build();
+        try {
+            // Réécritures concurrentes des mêmes clés : mises à jour de la roue en file
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int t = 0; t < 8; t++) {
+                    int thread = t;
+                    executor.submit(() -> {
+                        for (int i = 0; i < 500; i++) {
+                            cache.put("k" + (i % 200), "v" + thread);
+                        }
+                    });
+                }
+            }
+            assertEquals(200, cache.size());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.size() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, cache.size(), "every entry must expire without being read");
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    void perEntryTtl_shouldExpireOnlyThatEntry() throws InterruptedException {
+        GenericConcurrentCache<String, String> cache =
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>());
+
+        cache.put("short", "1", Duration.ofMillis(100));
+        cache.put("forever", "2");
+        Thread.sleep(200);
+
+        assertNull(cache.get("short"));
+        assertEquals("2", cache.get("forever"));
+        assertThrows(IllegalArgumentException.class, () -> cache.put("k", "v", Duration.ZERO));
+    }
+
+    @Test
+    void expireAfterAccess_shouldKeepEntriesThatAreRead() throws InterruptedException {
+        GenericConcurrentCache<String, String> cache = GenericConcurrentCache.<String, String>builder()
+                .maximumSize(10)
+                .expireAfterAccess(Duration.ofMillis(300))
+                .build();
+
+        cache.put("read", "1");
+        cache.put("idle", "2");
+        for (int i = 0; i < 5; i++) {
+            Thread.sleep(100);
+            assertEquals("1", cache.get("read"));
+        }
+        assertNull(cache.get("idle"));
+
+        Thread.sleep(400);
+        assertNull(cache.get("read"));
+    }
+
+    @Test
+    void cleanUp_withoutTimerWheel_shouldPurgeExpiredEntries() throws InterruptedException {
+        GenericConcurrentCache<String, String> cache =
+                new GenericConcurrentCache<>(10, 50, new FifoEvictionStrategy<>());
+        cache.put("a", "1");
+        cache.put("b", "2");
+        Thread.sleep(100);
+
+        assertEquals(2, cache.cleanUp());
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Stratégie LRU qui enregistre les notifications de suppression.
+     */
+    private static final class RecordingStrategy<K> implements EvictionStrategy<K> {
+        private final LruEvictionStrategy<K> delegate = new LruEvictionStrategy<>();
+        private final Set<K> removed = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void onGet(K key) {
+            delegate.onGet(key);
+        }
+
+        @Override
+        public void onPut(K key) {
+            delegate.onPut(key);
+        }
+
+        @Override
+        public void onRemove(K key) {
+            removed.add(key);
+            delegate.onRemove(key);
+        }
+
+        @Override
+        public Optional<K> selectKeyToEvict() {
+            return delegate.selectKeyToEvict();
+        }
+    }
+
+    @Test
+    void getAllAndPutAll_shouldWorkInOnePass() {
+        GenericConcurrentCache<String, String> cache =
+                GenericConcurrentCache.<String, String>builder().maximumSize(3).segments(2).build();
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("a", "1");
+        entries.put("b", "2");
+        cache.putAll(entries);
+
+        Map<String, String> found = cache.getAll(List.of("b", "x", "a", "b"));
+        assertEquals(List.of("b", "a"), List.copyOf(found.keySet()));
+        assertEquals("2", found.get("b"));
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
 
+        Map<String, String> more = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            more.put("k" + i, "v" + i);
+        }
+        cache.putAll(more);
+        assertTrue(cache.size() <= 3, "capacity is enforced after the batch");
+    }
 
-}
\ No newline at end of file
+    @Test
+    void stats_shouldCountPutsAndRemovalsByCause() throws InterruptedException {
+        GenericConcurrentCache<String, String> cache = GenericConcurrentCache.<String, String>builder()
+                .maximumSize(2)
+                .expireAfterWrite(Duration.ofMillis(50))
+                .build();
+
+        cache.put("a", "1");
+        cache.put("a", "2");
+        cache.put("b", "1");
+        cache.put("c", "1");
+        cache.invalidate("b");
+        cache.invalidate("absent");
+        Thread.sleep(80);
+        assertNull(cache.get("c"));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(4, stats.puts());
+        assertEquals(1, stats.removals(RemovalCause.REPLACED));
+        assertEquals(1, stats.evictions());
+        assertEquals(1, stats.removals(RemovalCause.EXPLICIT));
+        assertEquals(1, stats.expirations());
+    }
+
+    @Test
+    void stats_minusShouldGiveIntervalActivity() {
+        GenericConcurrentCache<String, String> cache = GenericConcurrentCache.<String, String>builder()
+                .maximumSize(10)
+                .recordLatency(true)
+                .build();
+
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("a", k -> "x");
+        CacheStats before = cache.getStats();
+        assertEquals(2, before.getLatency().count());
+
+        cache.get("a");
+        cache.get("b");
+        cache.get("c", k -> "3");
+        CacheStats delta = cache.getStats().minus(before);
+
+        assertEquals(1, delta.hits());
+        assertEquals(2, delta.misses());
+        assertEquals(0, delta.puts());
+        assertEquals(1, delta.loadSuccesses());
+        assertEquals(3, delta.getLatency().count());
+        assertEquals(1, delta.loadLatency().count());
+    }
+
+    @Test
+    void weightedCache_shouldEvictUntilUnderBudget() {
+        GenericConcurrentCache<String, String> cache = GenericConcurrentCache.<String, String>builder()
+                .maximumWeight(100)
+                .weigher(Weigher.utf8Length())
+                .build();
+
+        cache.put("a", "x".repeat(40));
+        cache.put("b", "x".repeat(40));
+        assertEquals(80, cache.weight());
+        cache.put("c", "x".repeat(40));
+
+        assertEquals(80, cache.weight());
+        assertNull(cache.get("a"), "eldest entry evicted to fit the budget");
+        assertEquals(1, cache.getStats().evictions());
+
+        cache.put("b", "é".repeat(10)); // 20 octets en UTF-8
+        assertEquals(60, cache.weight());
+        cache.invalidate("c");
+        assertEquals(20, cache.weight());
+
+        cache.resizeWeight(10);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+    }
+
+    @Test
+    void weightedCache_concurrentReplaceAndRemove_shouldKeepExactWeight() throws InterruptedException {
+        GenericConcurrentCache<Integer, String> cache = GenericConcurrentCache.<Integer, String>builder()
+                .maximumWeight(10_000)
+                .weigher((Integer key, String value) -> value.length())
+                .segments(4)
+                .build();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    int key = random.nextInt(200);
+                    switch ((i + seed) % 4) {
+                        case 0, 1 -> cache.put(key, "x".repeat(random.nextInt(1, 200)));
+                        case 2 -> cache.invalidate(key);
+                        default -> cache.get(key, k -> "y".repeat(k + 1));
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        long expected = 0;
+        for (int key = 0; key < 200; key++) {
+            String value = cache.get(key);
+            if (value != null) {
+                expected += value.length();
+            }
+        }
+        assertEquals(expected, cache.weight());
+        assertTrue(cache.weight() <= 10_000);
+    }
+
+    @Test
+    void utf8Length_shouldMatchEncoder() {
+        String s = "chat é € 😀 \"relations\"";
+        assertEquals(s.getBytes(java.nio.charset.StandardCharsets.UTF_8).length, Weigher.utf8Length(s));
+    }
+
+    @Test
+    void removalListener_shouldReceiveEveryRemovalWithItsCause() throws InterruptedException {
+        List<String> removals = new CopyOnWriteArrayList<>();
+        GenericConcurrentCache<String, String> cache = GenericConcurrentCache.<String, String>builder()
+                .maximumSize(2)
+                .expireAfterWrite(Duration.ofMillis(50))
+                .removalListener((key, value, cause) -> removals.add(key + "=" + value + ":" + cause))
+                .build();
+
+        cache.put("a", "1");
+        cache.put("a", "2");
+        cache.put("b", "1");
+        cache.put("c", "1");
+        cache.invalidate("c");
+        Thread.sleep(80);
+        cache.cleanUp();
+
+        assertEquals(List.of("a=1:REPLACED", "a=2:SIZE", "c=1:EXPLICIT", "b=1:EXPIRED"), removals);
+    }
+
+    @Test
+    void hottestKeys_shouldFollowPolicyAndSkipExpiredEntries() throws InterruptedException {
+        GenericConcurrentCache<String, String> lru =
+                new GenericConcurrentCache<>(10, 0, new LruEvictionStrategy<>());
+        lru.put("a", "1");
+        lru.put("b", "2");
+        lru.put("c", "3");
+        lru.get("a");
+        long hits = lru.getStats().hits();
+
+        assertEquals(List.of("a", "c", "b"), lru.hottestKeys(10));
+        assertEquals(List.of("a", "c"), lru.hottestKeys(2));
+        assertEquals(hits, lru.getStats().hits(), "export must not count as lookups");
+        assertEquals(List.of("a", "c", "b"), lru.hottestKeys(10), "export must not reorder the policy");
+
+        GenericConcurrentCache<String, String> segmented = GenericConcurrentCache.<String, String>builder()
+                .maximumSize(100)
+                .segments(4)
+                .build();
+        for (int i = 0; i < 20; i++) {
+            segmented.put("k" + i, "v");
+        }
+        assertEquals(20, new HashSet<>(segmented.hottestKeys(100)).size());
+        assertEquals(5, segmented.hottestKeys(5).size());
+
+        GenericConcurrentCache<String, String> ttl =
+                new GenericConcurrentCache<>(10, 20, new ClockEvictionStrategy<>());
+        ttl.put("old", "1");
+        Thread.sleep(40);
+        ttl.put("new", "2");
+        assertEquals(List.of("new"), ttl.hottestKeys(10));
+    }
+}
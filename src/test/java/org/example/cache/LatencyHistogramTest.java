@@ -0,0 +1,49 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void indexOf_shouldStayWithinBucketBounds() {
+        long[] values = {0, 1, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(index), "value " + value);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.upperBoundOf(index - 1), "value " + value);
+            }
+        }
+    }
+
+    @Test
+    void percentiles_shouldBeWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.count());
+        assertEquals(10_000_000, snapshot.maxNanos());
+        assertEquals(5_000_000, snapshot.percentileNanos(50), 5_000_000 / 16.0);
+        assertEquals(9_900_000, snapshot.percentileNanos(99), 9_900_000 / 16.0);
+        assertEquals(10_000_000, snapshot.percentileNanos(100));
+    }
+
+    @Test
+    void minus_shouldKeepOnlyTheInterval() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_000);
+        LatencyHistogram.Snapshot before = histogram.snapshot();
+        histogram.record(10);
+        histogram.record(20);
+
+        LatencyHistogram.Snapshot delta = histogram.snapshot().minus(before);
+        assertEquals(2, delta.count());
+        assertEquals(30, delta.totalNanos());
+        assertTrue(delta.percentileNanos(100) <= 20);
+    }
+}
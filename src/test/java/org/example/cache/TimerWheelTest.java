@@ -0,0 +1,60 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private static final long ORIGIN = 1_000_000_000L;
+
+    @Test
+    void advance_shouldExpireOnlyDueEntries() {
+        TimerWheel<String, String> wheel = new TimerWheel<>(ORIGIN);
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule(entry("3s", TimeUnit.SECONDS.toNanos(3)));
+        wheel.schedule(entry("10s", TimeUnit.SECONDS.toNanos(10)));
+        wheel.schedule(entry("2min", TimeUnit.MINUTES.toNanos(2)));
+
+        assertEquals(0, wheel.advance(ORIGIN + TimeUnit.SECONDS.toNanos(2), e -> expired.add(e.key())));
+        assertEquals(1, wheel.advance(ORIGIN + TimeUnit.SECONDS.toNanos(5), e -> expired.add(e.key())));
+        assertEquals(List.of("3s"), expired);
+
+        // 2 minutes : l'entrée descend du niveau ~1 min vers le niveau ~1 s avant d'expirer
+        assertEquals(1, wheel.advance(ORIGIN + TimeUnit.SECONDS.toNanos(90), e -> expired.add(e.key())));
+        assertEquals(1, wheel.advance(ORIGIN + TimeUnit.SECONDS.toNanos(125), e -> expired.add(e.key())));
+        assertEquals(List.of("3s", "10s", "2min"), expired);
+    }
+
+    @Test
+    void deschedule_shouldPreventExpiration() {
+        TimerWheel<String, String> wheel = new TimerWheel<>(ORIGIN);
+        CacheEntry<String, String> entry = entry("k", TimeUnit.SECONDS.toNanos(1));
+        wheel.schedule(entry);
+        wheel.deschedule(entry);
+
+        assertEquals(0, wheel.advance(ORIGIN + TimeUnit.SECONDS.toNanos(10), e -> true));
+    }
+
+    @Test
+    void touchedEntry_shouldBeRescheduledInsteadOfExpired() {
+        TimerWheel<String, String> wheel = new TimerWheel<>(ORIGIN);
+        CacheEntry<String, String> entry = entry("k", TimeUnit.SECONDS.toNanos(2));
+        wheel.schedule(entry);
+
+        // Expire-after-access : l'échéance est repoussée sans toucher à la roue
+        entry.touch(ORIGIN + TimeUnit.SECONDS.toNanos(3));
+
+        assertEquals(0, wheel.advance(ORIGIN + TimeUnit.SECONDS.toNanos(4), e -> true));
+        assertEquals(1, wheel.advance(ORIGIN + TimeUnit.SECONDS.toNanos(7), e -> true));
+    }
+
+    private static CacheEntry<String, String> entry(String key, long ttlNanos) {
+        return new CacheEntry<>(key, "v", ttlNanos, ORIGIN);
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.cache.disk;
+
+import org.example.cache.GenericConcurrentCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopen_shouldRebuildIndexFromLog() throws IOException {
+        try (DiskStore store = DiskStore.builder(directory).fileBytes(4096).open()) {
+            store.put("term:chat", "{\"name\":\"chat\"}");
+            store.put("term:chien", "{\"name\":\"chien\"}");
+            store.put("term:chat", "{\"name\":\"chat\",\"v\":2}");
+            store.remove("term:chien");
+            for (int i = 0; i < 100; i++) {
+                store.put("relations:" + i, "r".repeat(100));
+            }
+            assertTrue(store.fileCount() > 1, "records spread over several files");
+        }
+
+        try (DiskStore store = DiskStore.builder(directory).fileBytes(4096).open()) {
+            assertEquals("{\"name\":\"chat\",\"v\":2}", store.get("term:chat"));
+            assertNull(store.get("term:chien"));
+            assertEquals("r".repeat(100), store.get("relations:99"));
+            assertEquals(101, store.size());
+        }
+    }
+
+    @Test
+    void compaction_shouldDropDeadRecordsAndKeepValues() throws IOException {
+        try (DiskStore store = DiskStore.builder(directory).fileBytes(4096).compactionThreshold(Long.MAX_VALUE).open()) {
+            for (int round = 0; round < 10; round++) {
+                for (int i = 0; i < 20; i++) {
+                    store.put("k" + i, "value-" + round + "-" + i);
+                }
+            }
+            int filesBefore = store.fileCount();
+            assertTrue(store.deadBytes() > store.liveBytes());
+
+            store.compact();
+
+            assertEquals(0, store.deadBytes());
+            assertTrue(store.fileCount() < filesBefore);
+            assertEquals("value-9-7", store.get("k7"));
+            assertEquals(store.fileCount(), logFiles().size());
+        }
+        try (DiskStore store = DiskStore.builder(directory).fileBytes(4096).open()) {
+            assertEquals("value-9-19", store.get("k19"));
+        }
+    }
+
+    @Test
+    void tornTail_shouldBeIgnoredOnRecovery() throws IOException {
+        try (DiskStore store = DiskStore.builder(directory).fileBytes(4096).open()) {
+            store.put("a", "1");
+            store.put("b", "2");
+        }
+        // Écriture interrompue : on corrompt la valeur du dernier enregistrement
+        Path log = logFiles().get(0);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 24 + 1 + 1 + 24 + 1);
+        }
+
+        try (DiskStore store = DiskStore.builder(directory).fileBytes(4096).open()) {
+            assertEquals("1", store.get("a"));
+            assertNull(store.get("b"));
+            store.put("c", "3");
+            assertEquals("3", store.get("c"));
+        }
+    }
+
+    @Test
+    void tieredCache_shouldFallThroughToDiskAndSurviveRestart() throws IOException {
+        DiskStore disk = DiskStore.builder(directory).open();
+        TieredCache cache = new TieredCache(GenericConcurrentCache.<String, String>builder().maximumSize(2),
+                disk, TieredCache.WritePolicy.WRITE_THROUGH);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3"); // évince "a" de L1
+
+        assertEquals("1", cache.get("a"));
+        assertEquals(1, cache.diskHits());
+        cache.close();
+
+        try (TieredCache restarted = new TieredCache(GenericConcurrentCache.<String, String>builder().maximumSize(10),
+                DiskStore.builder(directory).open(), TieredCache.WritePolicy.WRITE_THROUGH)) {
+            assertEquals("2", restarted.get("b", k -> fail("must not reach the network")));
+            assertEquals("x", restarted.get("x", k -> "x"));
+            assertEquals("x", restarted.disk().get("x"));
+        }
+    }
+
+    @Test
+    void spillOnEviction_shouldWriteOnlyEvictedEntries() throws IOException {
+        try (TieredCache cache = new TieredCache(GenericConcurrentCache.<String, String>builder().maximumSize(2),
+                DiskStore.builder(directory).open(), TieredCache.WritePolicy.SPILL_ON_EVICTION)) {
+            cache.put("a", "1");
+            cache.put("b", "2");
+            assertEquals(0, cache.disk().size());
+            cache.put("c", "3");
+            assertEquals("1", cache.disk().get("a"));
+            cache.invalidate("a");
+            assertNull(cache.get("a"));
+        }
+        try (DiskStore disk = DiskStore.builder(directory).open()) {
+            assertEquals("2", disk.get("b"), "L1 content is spilled on close");
+        }
+    }
+
+    @Test
+    void spillOnEviction_shouldDropTheDiskCopyOfARewrittenKey() throws Exception {
+        try (TieredCache cache = new TieredCache(GenericConcurrentCache.<String, String>builder().maximumSize(2),
+                DiskStore.builder(directory).open(), TieredCache.WritePolicy.SPILL_ON_EVICTION)) {
+            cache.put("a", "v1");
+            cache.put("b", "2");
+            cache.put("c", "3");
+            assertEquals("v1", cache.disk().get("a"), "a spilled");
+
+            cache.put("a", "v2", Duration.ofMillis(20));
+            assertFalse(cache.disk().containsKey("a"), "stale disk copy removed");
+            Thread.sleep(50);
+            assertNull(cache.get("a"), "expired v2 must not resurrect v1");
+
+            // Remontée depuis le disque : la copie disque disparaît aussi
+            cache.put("d", "4");
+            cache.put("e", "5");
+            assertEquals("3", cache.disk().get("c"));
+            assertEquals("3", cache.get("c"));
+            assertFalse(cache.disk().containsKey("c"));
+        }
+    }
+
+    private List<Path> logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.cache.eviction;
+
+import org.example.cache.Cache;
+import org.example.cache.GenericConcurrentCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClockEvictionStrategyTest {
+
+    @Test
+    void ringShouldStayBoundedUnderChurnBelowCapacity() {
+        ClockEvictionStrategy<String> clock = new ClockEvictionStrategy<>();
+        Cache<String, String> cache = new GenericConcurrentCache<>(1_000, 0, clock);
+
+        // 100 clés vivantes, invalidées et réinsérées sans jamais atteindre la capacité
+        for (int round = 0; round < 1_000; round++) {
+            for (int i = 0; i < 100; i++) {
+                String key = "k" + i;
+                cache.put(key, "v" + round);
+                if (round % 2 == 0) {
+                    cache.invalidate(key);
+                }
+            }
+        }
+
+        assertTrue(clock.ringSize() <= 100 + 100 / 2 + 16, "ring size " + clock.ringSize());
+        assertEquals(100, clock.hottestKeys(1_000).size());
+    }
+}
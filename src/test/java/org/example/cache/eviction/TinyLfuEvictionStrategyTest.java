@@ -0,0 +1,139 @@
+package org.example.cache.eviction;
+
+import com.example.cache.eviction.FifoEvictionStrategy;
+import org.example.cache.Cache;
+import org.example.cache.GenericConcurrentCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TinyLfuEvictionStrategyTest {
+
+    private static final int MAX_SIZE = 500;
+
+    @Test
+    void sketchShouldEstimateAndAgeFrequencies() {
+        FrequencySketch<String> sketch = new FrequencySketch<>(100);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("cold");
+
+        assertTrue(sketch.frequency("hot") >= 10);
+        assertTrue(sketch.frequency("cold") >= 1);
+        assertTrue(sketch.frequency("hot") > sketch.frequency("cold"));
+
+        // 10 × maximumSize incréments déclenchent la division par deux
+        for (int i = 0; i < 1_000; i++) {
+            sketch.increment("filler-" + i);
+        }
+        assertTrue(sketch.frequency("hot") < 10, "counters should have been halved");
+    }
+
+    @Test
+    void hottestKeysShouldBeRankedByFrequency() {
+        TinyLfuEvictionStrategy<String> strategy = new TinyLfuEvictionStrategy<>(100);
+        strategy.onPut("rare");
+        strategy.onPut("hot");
+        strategy.onPut("warm");
+        for (int i = 0; i < 5; i++) {
+            strategy.onGet("hot");
+        }
+        strategy.onGet("warm");
+
+        assertEquals(List.of("hot", "warm", "rare"), strategy.hottestKeys(10));
+        assertEquals(List.of("hot"), strategy.hottestKeys(1));
+    }
+
+    @Test
+    void oneOffKeysShouldNotDisplaceHotKeys() {
+        int maxSize = 100;
+        Cache<String, String> cache =
+                new GenericConcurrentCache<>(maxSize, 0, new TinyLfuEvictionStrategy<>(maxSize));
+
+        for (int i = 0; i < maxSize; i++) {
+            cache.put("hot-" + i, "v");
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < maxSize; i++) {
+                cache.get("hot-" + i);
+            }
+        }
+
+        // Scan de termes vus une seule fois : seule la fenêtre d'admission (1 entrée) les accueille
+        for (int i = 0; i < 50; i++) {
+            cache.put("one-off-" + i, "v");
+        }
+
+        int hot = 0;
+        for (int i = 0; i < maxSize; i++) {
+            if (cache.get("hot-" + i) != null) {
+                hot++;
+            }
+        }
+        assertEquals(maxSize - 1, hot);
+        assertNotNull(cache.get("one-off-49"), "the most recent key stays in the window");
+    }
+
+    @Test
+    void zipfTraceWithScansShouldHaveHigherHitRateThanLruAndFifo() {
+        double tinyLfu = replay(() -> new TinyLfuEvictionStrategy<>(MAX_SIZE));
+        double lru = replay(LruEvictionStrategy::new);
+        double fifo = replay(FifoEvictionStrategy::new);
+
+        String hitRates = String.format("Zipf + scans, maxSize=%d: TinyLFU=%.3f LRU=%.3f FIFO=%.3f",
+                MAX_SIZE, tinyLfu, lru, fifo);
+        assertTrue(tinyLfu > lru + 0.05, hitRates);
+        assertTrue(tinyLfu > fifo + 0.05, hitRates);
+    }
+
+    /**
+     * Rejoue une trace déterministe : 70% de requêtes Zipf (s = 1) sur 50 000 termes,
+     * 30% de termes vus une seule fois. Renvoie le taux de hit (get puis put sur miss).
+     */
+    private static double replay(Supplier<EvictionStrategy<Integer>> strategy) {
+        Cache<Integer, Integer> cache = new GenericConcurrentCache<>(MAX_SIZE, 0, strategy.get());
+        ZipfGenerator zipf = new ZipfGenerator(50_000, 1.0, new Random(42));
+        Random random = new Random(7);
+        int oneOff = 1_000_000;
+        int requests = 200_000;
+
+        for (int i = 0; i < requests; i++) {
+            int key = random.nextInt(10) < 7 ? zipf.next() : oneOff++;
+            if (cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        return cache.getStats().hitRate();
+    }
+
+    /**
+     * Tirage Zipf par inversion de la fonction de répartition (table précalculée).
+     */
+    private static final class ZipfGenerator {
+        private final double[] cumulative;
+        private final Random random;
+
+        ZipfGenerator(int n, double exponent, Random random) {
+            this.random = random;
+            this.cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1.0 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int next() {
+            int index = java.util.Arrays.binarySearch(cumulative, random.nextDouble());
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
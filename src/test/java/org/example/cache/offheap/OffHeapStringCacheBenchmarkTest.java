@@ -0,0 +1,96 @@
+package org.example.cache.offheap;
+
+import org.example.cache.Cache;
+import org.example.cache.GenericConcurrentCache;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+public class OffHeapStringCacheBenchmarkTest {
+
+    private static final int ENTRIES = 50_000;
+    private static final int CHURN_OPS = 500_000;
+
+    /**
+     * Tas occupé et temps de GC : valeurs sur le tas vs hors tas (compressées ou non).
+     */
+    @Test
+    @Disabled("Benchmark manuel — ne pas exécuter automatiquement")
+    void benchmarkHeapAndGcPauses() {
+        String[] payloads = new String[64];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = json(i, 40 + i);
+        }
+        measure("on-heap", () -> GenericConcurrentCache.<Integer, String>builder().maximumSize(ENTRIES).build(),
+                payloads);
+        measure("off-heap", () -> OffHeapStringCache.<Integer>builder()
+                .maximumSize(ENTRIES).maximumBytes(1L << 30).build(), payloads);
+        measure("off-heap+deflate", () -> OffHeapStringCache.<Integer>builder()
+                .maximumSize(ENTRIES).maximumBytes(1L << 30).compressAbove(512).build(), payloads);
+    }
+
+    private static void measure(String label, Supplier<Cache<Integer, String>> factory, String[] payloads) {
+        Cache<Integer, String> cache = factory.get();
+        long heapBefore = usedHeapAfterGc();
+        for (int i = 0; i < ENTRIES; i++) {
+            // Copie : chaque entrée a sa propre chaîne, comme une réponse HTTP
+            cache.put(i, new String(payloads[i % payloads.length].toCharArray()));
+        }
+        long heap = usedHeapAfterGc() - heapBefore;
+
+        long gcTimeBefore = gcTimeMillis();
+        long gcCountBefore = gcCount();
+        long start = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < CHURN_OPS; i++) {
+            int key = random.nextInt(ENTRIES * 2);
+            if (cache.get(key) == null) {
+                cache.put(key, new String(payloads[key % payloads.length].toCharArray()));
+            }
+        }
+        long churnMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%-17s heap=%6.1f MiB  churn=%5d ms  gc=%d collections / %d ms%n",
+                label, heap / (1024.0 * 1024.0), churnMillis, gcCount() - gcCountBefore, gcTimeMillis() - gcTimeBefore);
+        cache.clear();
+    }
+
+    private static String json(int term, int relations) {
+        StringBuilder sb = new StringBuilder("{\"id\":").append(term).append(",\"relations\":[");
+        for (int i = 0; i < relations; i++) {
+            sb.append(i == 0 ? "" : ",")
+                    .append("{\"id\":").append(term * 1000 + i)
+                    .append(",\"type\":").append(i % 30)
+                    .append(",\"node2\":").append(100_000 + i * 7)
+                    .append(",\"w\":").append(i * 13 % 200).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.cache.offheap;
+
+import org.example.cache.RemovalCause;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStringCacheTest {
+
+    private static String json(String term, int relations) {
+        StringBuilder sb = new StringBuilder("{\"term\":\"").append(term).append("\",\"relations\":[");
+        for (int i = 0; i < relations; i++) {
+            sb.append(i == 0 ? "" : ",").append("{\"type\":\"r_associated\",\"node\":\"élément ").append(i).append("\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    @Test
+    void valuesShouldRoundTripCompressedOrNot() {
+        OffHeapStringCache<String> cache = OffHeapStringCache.<String>builder()
+                .maximumBytes(1 << 20)
+                .compressAbove(512)
+                .build();
+        String small = json("chat", 1);
+        String large = json("chien", 200);
+
+        cache.put("small", small);
+        cache.put("large", large);
+
+        assertEquals(small, cache.get("small"));
+        assertEquals(large, cache.get("large"));
+        assertFalse(cache.index().get("small").isCompressed());
+        OffHeapValue handle = cache.index().get("large");
+        assertTrue(handle.isCompressed());
+        assertTrue(handle.length() < large.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertEquals("loaded", cache.get("other", k -> "loaded"));
+        assertEquals("loaded", cache.get("other"));
+    }
+
+    @Test
+    void evictedAndReplacedSlotsShouldBeReused() {
+        OffHeapStringCache<Integer> cache = OffHeapStringCache.<Integer>builder()
+                .maximumBytes(64 * 1024)
+                .slabBytes(16 * 1024)
+                .build();
+        String value = "x".repeat(1000); // case de 1 Kio
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, value + i);
+        }
+        assertTrue(cache.weight() <= 64 * 1024);
+        assertEquals(64, cache.size());
+        // Les cases libérées par l'éviction sont réutilisées. La nouvelle valeur est écrite avant
+        // l'éviction qu'elle provoque : au plus une slab de plus que le budget
+        assertTrue(cache.reservedBytes() <= (64 + 16) * 1024, "reserved " + cache.reservedBytes());
+        assertEquals(value + 999, cache.get(999));
+        assertTrue(cache.getStats().evictions() >= 936);
+
+        cache.put(999, "y");
+        assertEquals(1, cache.getStats().removals(RemovalCause.REPLACED));
+        assertTrue(cache.invalidate(999, "y"));
+        assertNull(cache.get(999));
+    }
+
+    @Test
+    void staleHandleShouldNotReadAnotherValue() {
+        SlabStore slabs = new SlabStore(4096);
+        byte[] first = "first".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "other".getBytes(StandardCharsets.UTF_8);
+
+        OffHeapValue handle = slabs.store(first, first.length, first.length, false);
+        slabs.free(handle);
+        slabs.free(handle); // double libération ignorée
+        OffHeapValue reused = slabs.store(second, second.length, second.length, false);
+
+        assertNull(slabs.read(handle));
+        assertArrayEquals(second, slabs.read(reused));
+        assertEquals(64, slabs.usedBytes());
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.jdm;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void limitShouldIncreaseAdditivelyAndDecreaseMultiplicatively() {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                .initialLimit(4).minLimit(2).maxLimit(6).latencyTolerance(0).build();
+
+        // Une vague de 4 appels réussis à pleine charge : +1/limit chacun, soit environ +1
+        for (int round = 0; round < 10; round++) {
+            long[] starts = new long[limiter.limit()];
+            for (int i = 0; i < starts.length; i++) {
+                starts[i] = limiter.tryAcquire();
+            }
+            for (long start : starts) {
+                limiter.release(start, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+            }
+        }
+        assertEquals(6, limiter.limit(), "capped at maxLimit");
+
+        long first = limiter.tryAcquire();
+        long second = limiter.tryAcquire();
+        limiter.release(first, AdaptiveConcurrencyLimiter.Outcome.OVERLOAD);
+        limiter.release(second, AdaptiveConcurrencyLimiter.Outcome.OVERLOAD);
+        assertEquals(3, limiter.limit(), "one decrease per wave of errors");
+        assertEquals(1, limiter.decreases());
+
+        limiter.release(limiter.tryAcquire(), AdaptiveConcurrencyLimiter.Outcome.IGNORE);
+        assertEquals(3, limiter.limit());
+        limiter.release(limiter.tryAcquire(), AdaptiveConcurrencyLimiter.Outcome.OVERLOAD);
+        assertEquals(2, limiter.limit(), "floored at minLimit");
+    }
+
+    @Test
+    void acquireShouldBlockAtTheLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                .initialLimit(1).maxLimit(1).build();
+        long start = limiter.acquire();
+        assertEquals(-1L, limiter.tryAcquire());
+
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(waiting.isDone());
+        limiter.release(start, AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        limiter.release(waiting.get(5, TimeUnit.SECONDS), AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+        assertEquals(0, limiter.inFlight());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> AdaptiveConcurrencyLimiter.builder().initialLimit(10).maxLimit(5).build());
+    }
+}
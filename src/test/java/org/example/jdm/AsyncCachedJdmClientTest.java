@@ -0,0 +1,121 @@
+package org.example.jdm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cache.GenericConcurrentCache;
+import org.example.cache.eviction.LruEvictionStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncCachedJdmClientTest {
+
+    private JdmStubServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = new JdmStubServer();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void asyncClient_shouldReturnBodyAndFailOnErrorStatus() {
+        JdmClient client = server.client();
+        server.respond("/term/inconnu", 404, "{}", 0);
+
+        assertEquals("{\"path\":\"/term/chat\"}", client.getTermRawAsync("chat").join());
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> client.getTermRawAsync("inconnu").join());
+        assertInstanceOf(JdmApiException.class, e.getCause());
+    }
+
+    @Test
+    void concurrentCallers_shouldShareOneRequest() throws Exception {
+        server.respond("/term/chat/relations", 200, "{\"relations\":[]}", 200);
+        ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+        JdmClient client = new JdmClient(
+                HttpClient.newBuilder().executor(virtualThreads).build(), new ObjectMapper(), server.baseUrl());
+        AsyncCachedJdmClient cached = new AsyncCachedJdmClient(client,
+                new GenericConcurrentCache<>(100, 0, new LruEvictionStrategy<>()));
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(cached.getRelationsRaw("chat"));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        for (CompletableFuture<String> future : futures) {
+            assertEquals("{\"relations\":[]}", future.join());
+        }
+        assertEquals(1, server.hits("/term/chat/relations"));
+        virtualThreads.shutdown();
+    }
+
+    @Test
+    void failedFuture_shouldNotStayCached() throws Exception {
+        server.respond("/term/chien", 503, "{}", 0);
+        GenericConcurrentCache<String, CompletableFuture<String>> cache =
+                new GenericConcurrentCache<>(100, 0, new LruEvictionStrategy<>());
+        AsyncCachedJdmClient cached = new AsyncCachedJdmClient(server.client(), cache);
+
+        assertThrows(CompletionException.class, () -> cached.getTermRaw("chien").join());
+        // L'invalidation est asynchrone : on attend qu'elle ait eu lieu
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        server.respond("/term/chien", 200, "{\"term\":\"chien\"}", 0);
+        assertEquals("{\"term\":\"chien\"}", cached.getTermRaw("chien").join());
+        assertEquals(2, server.hits("/term/chien"));
+    }
+
+    @Test
+    void alreadyFailedFuture_shouldBeRemovedEvenWithADirectExecutor() {
+        AtomicInteger calls = new AtomicInteger();
+        JdmClient failing = new JdmClient() {
+            @Override
+            public CompletableFuture<String> getTermRawAsync(String term) {
+                calls.incrementAndGet();
+                return CompletableFuture.failedFuture(new JdmApiException("JDM down"));
+            }
+        };
+        GenericConcurrentCache<String, CompletableFuture<String>> cache =
+                new GenericConcurrentCache<>(100, 0, new LruEvictionStrategy<>());
+        // Exécuteur direct : le nettoyage s'exécute tout de suite, sur le thread appelant
+        AsyncCachedJdmClient cached = new AsyncCachedJdmClient(failing, cache, Runnable::run);
+
+        assertThrows(CompletionException.class, () -> cached.getTermRaw("chien").join());
+        assertEquals(0, cache.size());
+        assertThrows(CompletionException.class, () -> cached.getTermRaw("chien").join());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void callers_shouldNotAffectEachOthersFuture() {
+        server.respond("/term/chat", 200, "{\"term\":\"chat\"}", 100);
+        // Pas de nettoyage : un futur partagé annulé resterait en cache
+        AsyncCachedJdmClient cached = new AsyncCachedJdmClient(server.client(),
+                new GenericConcurrentCache<>(100, 0, new LruEvictionStrategy<>()), task -> { });
+
+        cached.getTermRaw("chat").cancel(true);
+        assertEquals("{\"term\":\"chat\"}", cached.getTermRaw("chat").join());
+        assertEquals(1, server.hits("/term/chat"));
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.jdm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdmClientHedgingTest {
+
+    private static final String PATH = "/term/chat/relations";
+    private static final int REQUESTS = 200;
+
+    // Les gains de latence (p99) sont mesurés par JdmHedgingBenchmarkTest : ici, seuls les compteurs
+    @Test
+    void hedgesShouldAnswerSlowCallsWithinTheirBudget() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.respond(PATH, 200, "{}", 0);
+            // 1 appel sur 25 (4 %) reste bloqué 300 ms
+            server.slowEvery(PATH, 25, 300);
+            RequestHedger hedger = RequestHedger.builder()
+                    .percentile(90)
+                    .minDelay(Duration.ofMillis(5))
+                    .maxDelay(Duration.ofMillis(50))
+                    .window(20)
+                    .build();
+            JdmClient client = new JdmClient(server.config().hedger(hedger).build());
+
+            for (int i = 0; i < REQUESTS; i++) {
+                assertEquals("{}", client.getRelationsRaw("chat"));
+            }
+
+            assertTrue(hedger.hedgeWinCount() > 0, "slow calls are answered by the duplicate: " + hedger);
+            // Budget : 10 % de requêtes en plus au plus (plus la rafale initiale)
+            assertTrue(hedger.hedgeCount() <= REQUESTS / 10 + 10, "hedges=" + hedger.hedgeCount());
+            int hits = server.hits(PATH);
+            assertTrue(hits >= REQUESTS && hits <= REQUESTS + hedger.hedgeCount(),
+                    "hits=" + hits + ", hedges=" + hedger.hedgeCount());
+        }
+    }
+
+    @Test
+    void hedgesShouldStopWhenTheBudgetIsSpent() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.respond(PATH, 200, "{}", 30);
+            RequestHedger hedger = RequestHedger.builder()
+                    .minDelay(Duration.ZERO)
+                    .maxDelay(Duration.ofMillis(1))
+                    .burst(2)
+                    .build();
+            JdmClient client = new JdmClient(server.config().hedger(hedger).build());
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals("{}", client.getRelationsRaw("chat"));
+            }
+            assertEquals(2, hedger.hedgeCount(), "every call is slow: only the burst is hedged");
+            assertEquals(3, hedger.deniedCount());
+            assertEquals(7, server.hits(PATH));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.jdm;
+
+import org.example.cache.GenericConcurrentCache;
+import org.example.metrics.SimpleMetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdmClientManagementTest {
+
+    private final MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+    private JdmStubServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = new JdmStubServer();
+    }
+
+    @AfterEach
+    void stopServer() {
+        JdmClientManagement.unregister("test-client");
+        server.close();
+    }
+
+    @Test
+    void mbeans_shouldExposeLatencyPerEndpoint() {
+        server.respond("/term/chat/r_syn", 200, "{}", 20);
+        CachedJdmClient client = new CachedJdmClient(server.client(),
+                GenericConcurrentCache.<String, String>builder().maximumSize(100).build());
+        assertEquals(6, JdmClientManagement.register("test-client", client).size());
+
+        client.getSynonymsRaw("chat");
+        client.getSynonymsRaw("chat");
+        client.getTermRaw("chat");
+
+        JdmEndpointMXBean synonyms = JMX.newMXBeanProxy(mbeanServer,
+                JdmClientManagement.endpointObjectName("test-client", JdmEndpoint.SYNONYMS), JdmEndpointMXBean.class);
+        assertEquals("/r_syn", synonyms.getPath());
+        assertEquals(1, synonyms.getRequestCount());
+        assertTrue(synonyms.getP99Nanos() >= 20_000_000L, "stub delay is measured");
+
+        JdmClientMXBean mbean = JMX.newMXBeanProxy(mbeanServer,
+                JdmClientManagement.clientObjectName("test-client"), JdmClientMXBean.class);
+        assertEquals(2, mbean.getLoadCount());
+        assertEquals(0, mbean.getInFlightCount());
+
+        mbean.setTracingEnabled(false);
+        mbean.setSlowLookupThresholdMillis(250);
+        assertFalse(client.getTracer().isEnabled());
+        assertEquals(250, mbean.getSlowLookupThresholdMillis());
+    }
+
+    @Test
+    void bindTo_shouldPublishInFlightAndPercentiles() {
+        CachedJdmClient client = new CachedJdmClient(server.client(),
+                GenericConcurrentCache.<String, String>builder().maximumSize(100).build());
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        JdmClientManagement.bindTo(registry, "jdm", client);
+
+        client.getRelationsRaw("chat");
+
+        assertEquals(0.0, registry.value("jdm.inflight", Map.of("client", "jdm")));
+        assertEquals(1.0, registry.value("jdm.http.requests", Map.of("client", "jdm", "endpoint", "/relations")));
+        assertTrue(registry.value("jdm.http.latency",
+                Map.of("percentile", "99", "endpoint", "/relations", "client", "jdm")) > 0);
+    }
+}
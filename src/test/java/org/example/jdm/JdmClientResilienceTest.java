@@ -0,0 +1,110 @@
+package org.example.jdm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdmClientResilienceTest {
+
+    private static final String PATH = "/term/chat/relations";
+
+    private static JdmTransportConfig.Builder fastRetries(JdmStubServer server, int attempts) {
+        return server.config().retryPolicy(RetryPolicy.of(attempts, Duration.ofMillis(1), Duration.ofMillis(20)));
+    }
+
+    @Test
+    void throttledAndFailingCallsShouldBeRetriedWithBackoff() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.respond(PATH, 200, "{}", 0);
+            server.failNext(PATH, 2, 429, "0");
+            JdmClient client = new JdmClient(fastRetries(server, 3).build());
+
+            assertEquals("{}", client.getRelationsRaw("chat"));
+            assertEquals(3, server.hits(PATH));
+            assertEquals(2, client.getRetryCount());
+            assertEquals(2, client.getThrottledCount());
+
+            server.failNext(PATH, 1, 503, null);
+            assertEquals("{}", client.getRelationsRawAsync("chat").join());
+            assertEquals(3, client.getRetryCount());
+
+            server.failNext(PATH, 1, 502, null);
+            assertEquals(0, client.getTermRelations("chat").size(), "streamed call retried too");
+            assertEquals(4, client.getRetryCount());
+        }
+    }
+
+    @Test
+    void exhaustedRetriesAndClientErrorsShouldFail() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.failNext(PATH, 10, 503, "1");
+            JdmClient client = new JdmClient(fastRetries(server, 3).build());
+
+            JdmApiException error = assertThrows(JdmApiException.class, () -> client.getRelationsRaw("chat"));
+            assertEquals(503, error.statusCode());
+            assertEquals(Duration.ofSeconds(1), error.retryAfter());
+            assertEquals(3, server.hits(PATH));
+
+            server.respond("/term/inconnu", 404, "{}", 0);
+            error = assertThrows(JdmApiException.class, () -> client.getTermRaw("inconnu"));
+            assertEquals(404, error.statusCode());
+            assertEquals(1, server.hits("/term/inconnu"), "4xx not retried");
+
+            CompletionException async = assertThrows(CompletionException.class,
+                    () -> client.getTermRawAsync("inconnu").join());
+            assertEquals(404, ((JdmApiException) async.getCause()).statusCode());
+            assertEquals(2, server.hits("/term/inconnu"));
+        }
+    }
+
+    @Test
+    void overloadShouldShrinkTheConcurrencyLimit() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                    .initialLimit(8).latencyTolerance(0).build();
+            JdmClient client = new JdmClient(fastRetries(server, 2)
+                    .concurrencyLimiter(limiter)
+                    .rateLimiter(new RateLimiter(1_000, 100))
+                    .build());
+            server.failNext(PATH, 1, 429, null);
+
+            assertEquals("{\"path\":\"" + PATH + "\"}", client.getRelationsRaw("chat"));
+            assertEquals(4, limiter.limit());
+            assertEquals(0, limiter.inFlight());
+            assertSame(limiter, client.getConcurrencyLimiter());
+        }
+    }
+
+    @Test
+    void mixedSmallAndLargeResponsesShouldNotCollapseTheDefaultLimit() throws Exception {
+        String large = JdmClientStreamingTest.relationsJson(20_000);
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.respond(PATH, 200, large, 0);
+            JdmClient client = new JdmClient(server.config().build());
+            AdaptiveConcurrencyLimiter limiter = client.getConcurrencyLimiter();
+            int initial = limiter.limit();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<String>> calls = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    String term = "t" + i;
+                    boolean relations = i % 4 == 0;
+                    calls.add(executor.submit(() -> relations ? client.getRelationsRaw("chat") : client.getTermRaw(term)));
+                }
+                for (Future<String> call : calls) {
+                    call.get();
+                }
+            }
+            assertTrue(limiter.limit() >= initial, "limit collapsed: " + limiter);
+            assertEquals(0, limiter.decreases(), limiter.toString());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.jdm;
+
+import org.example.jdm.relation.RelationFilter;
+import org.example.jdm.relation.RelationHandler;
+import org.example.jdm.relation.TermRelations;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdmClientStreamingTest {
+
+    private static final String PATH = "/term/chat/relations";
+
+    static String relationsJson(int relations) {
+        StringBuilder sb = new StringBuilder("{\"nodes\":[{\"id\":0,\"name\":\"chat\",\"w\":100}");
+        for (int i = 1; i <= relations; i++) {
+            sb.append(",{\"id\":").append(i).append(",\"name\":\"cible").append(i)
+                    .append("\",\"type\":1,\"w\":50,\"creationdate\":\"2021-03-04\"}");
+        }
+        sb.append("],\"relations\":[");
+        for (int i = 1; i <= relations; i++) {
+            if (i > 1) sb.append(',');
+            sb.append("{\"id\":").append(100_000 + i).append(",\"node1\":0,\"node2\":").append(i)
+                    .append(",\"type\":").append(i % 10).append(",\"w\":").append(i % 50 - 10)
+                    .append(",\"touchdate\":\"2024-01-02\"}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    @Test
+    void streamedRelationsShouldMatchBufferedParsingAndHonourFilters() throws Exception {
+        String json = relationsJson(5_000);
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.respond(PATH, 200, json, 0);
+            JdmClient client = server.client();
+
+            TermRelations streamed = client.getTermRelations("chat");
+            assertEquals(client.parseRelations("chat", json).relations(), streamed.relations());
+            assertEquals(5_000, streamed.size());
+
+            TermRelations filtered = client.getTermRelations(JdmEndpoint.RELATIONS, "chat",
+                    RelationFilter.types(5).and(RelationFilter.minWeight(0)));
+            assertTrue(filtered.size() > 0);
+            for (int i = 0; i < filtered.size(); i++) {
+                assertEquals(5, filtered.type(i));
+                assertTrue(filtered.weight(i) >= 0);
+                assertEquals("cible" + filtered.targetId(i), filtered.target(i));
+            }
+            // Seuls le terme et les cibles gardées restent dans la table des nœuds
+            assertEquals(filtered.size() + 1, filtered.nodeCount());
+        }
+    }
+
+    @Test
+    void handlerShouldReceiveRelationsAsTheyArriveAndStopEarly() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.respond(PATH, 200, relationsJson(5_000), 0);
+            JdmClient client = server.client();
+            Map<Integer, String> names = new HashMap<>();
+            List<String> targets = new ArrayList<>();
+
+            boolean completed = client.streamRelations(JdmEndpoint.RELATIONS, "chat", RelationFilter.ALL,
+                    new RelationHandler() {
+                        @Override
+                        public void onNode(int id, String name) {
+                            names.put(id, name);
+                        }
+
+                        @Override
+                        public boolean onRelation(int source, int target, int type, float weight) {
+                            targets.add(names.get(target));
+                            return targets.size() < 10;
+                        }
+                    });
+
+            assertFalse(completed);
+            assertEquals(10, targets.size());
+            assertEquals("cible1", targets.get(0));
+
+            server.respond(PATH, 503, "unavailable", 0);
+            assertThrows(JdmApiException.class, () -> client.getTermRelations("chat"));
+        }
+    }
+
+    @Test
+    void streamedCallShouldHoldItsConcurrencySlotUntilTheBodyIsClosed() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.respond(PATH, 200, relationsJson(1_000), 0);
+            AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder().build();
+            JdmClient client = new JdmClient(server.config().concurrencyLimiter(limiter).build());
+            List<Integer> inFlight = new ArrayList<>();
+
+            client.streamRelations(JdmEndpoint.RELATIONS, "chat", RelationFilter.ALL, (source, target, type, weight) -> {
+                inFlight.add(limiter.inFlight());
+                return inFlight.size() < 10;
+            });
+
+            assertEquals(List.of(1, 1, 1, 1, 1, 1, 1, 1, 1, 1), inFlight, "the slot is held while the body is read");
+            assertEquals(0, limiter.inFlight(), "closing the body releases it");
+            client.getTermRelations("chat");
+            assertEquals(0, limiter.inFlight());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.jdm;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdmClientTransportTest {
+
+    private static final String PATH = "/term/chat/relations";
+
+    @Test
+    void gzipShouldBeNegotiatedAndDecompressedTransparently() throws Exception {
+        String json = JdmClientStreamingTest.relationsJson(2_000);
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.respond(PATH, 200, json, 0);
+            JdmClient gzip = new JdmClient(server.config().build());
+            JdmClient plain = new JdmClient(server.config().gzip(false).version(HttpClient.Version.HTTP_1_1).build());
+
+            assertEquals(json, gzip.getRelationsRaw("chat"));
+            assertEquals(json, gzip.getRelationsRawAsync("chat").join());
+            assertEquals(2_000, gzip.getTermRelations("chat").size());
+            assertEquals(json, plain.getRelationsRaw("chat"));
+
+            assertEquals(json.length(), plain.getBytesReceived(), "plain body counted as is");
+            assertTrue(gzip.getBytesReceived() < plain.getBytesReceived(),
+                    "gzip=" + gzip.getBytesReceived() + " plain=" + plain.getBytesReceived());
+        }
+    }
+
+    @Test
+    void requestTimeoutAndBaseUrlShouldBeApplied() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.respond(PATH, 200, "{}", 2_000);
+            JdmClient client = new JdmClient(JdmTransportConfig.builder()
+                    .baseUrl(server.baseUrl() + "/")
+                    .requestTimeout(Duration.ofMillis(100))
+                    .executorThreads(2)
+                    .build());
+
+            JdmApiException error = assertThrows(JdmApiException.class, () -> client.getRelationsRaw("chat"));
+            assertInstanceOf(HttpTimeoutException.class, error.getCause());
+            assertEquals("{\"path\":\"/term/chien\"}", client.getTermRaw("chien"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> JdmTransportConfig.builder().baseUrl("localhost:8080"));
+        assertThrows(IllegalArgumentException.class, () -> JdmTransportConfig.builder().connectTimeout(Duration.ZERO));
+    }
+}
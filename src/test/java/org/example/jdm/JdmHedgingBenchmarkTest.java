@@ -0,0 +1,52 @@
+package org.example.jdm;
+
+import org.example.cache.LatencyHistogram;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class JdmHedgingBenchmarkTest {
+
+    private static final String PATH = "/term/chat/relations";
+    private static final int REQUESTS = 2_000;
+
+    /**
+     * Latences p50/p99 avec et sans requêtes dupliquées, quand 1 appel sur 25 reste bloqué 300 ms.
+     */
+    @Test
+    @Disabled("Benchmark manuel — ne pas exécuter automatiquement")
+    void benchmarkHedgingTailLatency() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            server.slowEvery(PATH, 25, 300);
+            JdmClient plain = new JdmClient(server.config().build());
+            RequestHedger hedger = RequestHedger.builder()
+                    .percentile(90)
+                    .minDelay(Duration.ofMillis(5))
+                    .maxDelay(Duration.ofMillis(50))
+                    .build();
+            JdmClient hedged = new JdmClient(server.config().hedger(hedger).build());
+
+            LatencyHistogram.Snapshot withoutHedging = run(plain);
+            LatencyHistogram.Snapshot withHedging = run(hedged);
+
+            System.out.printf("p50 %d -> %d ms, p99 %d -> %d ms, hedges=%d (wins=%d, denied=%d) for %d requests%n",
+                    TimeUnit.NANOSECONDS.toMillis(withoutHedging.percentileNanos(50)),
+                    TimeUnit.NANOSECONDS.toMillis(withHedging.percentileNanos(50)),
+                    TimeUnit.NANOSECONDS.toMillis(withoutHedging.percentileNanos(99)),
+                    TimeUnit.NANOSECONDS.toMillis(withHedging.percentileNanos(99)),
+                    hedger.hedgeCount(), hedger.hedgeWinCount(), hedger.deniedCount(), REQUESTS);
+        }
+    }
+
+    private static LatencyHistogram.Snapshot run(JdmClient client) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < REQUESTS; i++) {
+            long start = System.nanoTime();
+            client.getRelationsRaw("chat");
+            histogram.record(System.nanoTime() - start);
+        }
+        return histogram.snapshot();
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.jdm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serveur HTTP local (JDK HttpServer) simulant l'API JDM pour les tests.
+ *
+ * <p>Par défaut chaque chemin renvoie {@code {"path":"<chemin>"}} ; un chemin peut être
+ * configuré avec un corps, un code HTTP ou une latence, et ses premiers appels peuvent échouer
+ * ({@link #failNext}) ou, un sur n, répondre lentement ({@link #slowEvery}). Les corps sont compressés en gzip si la
+ * requête l'accepte ; {@link #bytesSent()} compte les octets de corps envoyés.
+ */
+final class JdmStubServer implements AutoCloseable {
+
+    static {
+        // Sans TCP_NODELAY, Nagle et l'ACK retardé ajoutent ~40 ms à chaque réponse en séquence
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<String, Response> responses = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Failure> failures = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Slowness> slowness = new ConcurrentHashMap<>();
+    private final AtomicInteger totalHits = new AtomicInteger();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    JdmStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    JdmClient client() {
+        return new JdmClient(HttpClient.newHttpClient(), new ObjectMapper(), baseUrl());
+    }
+
+    /**
+     * Transport configuration pointing at this server, to be completed by the test.
+     */
+    JdmTransportConfig.Builder config() {
+        return JdmTransportConfig.builder().baseUrl(baseUrl());
+    }
+
+    void respond(String path, int status, String body, long delayMillis) {
+        responses.put(path, new Response(status, body, delayMillis));
+    }
+
+    /**
+     * The next times calls to path get status (with a Retry-After header if retryAfter is not null).
+     */
+    void failNext(String path, int times, int status, String retryAfter) {
+        failures.put(path, new Failure(new AtomicInteger(times), status, retryAfter));
+    }
+
+    /**
+     * Every n-th call to path (n, 2n…) is delayed by delayMillis, on top of its usual latency.
+     */
+    void slowEvery(String path, int n, long delayMillis) {
+        slowness.put(path, new Slowness(n, delayMillis));
+    }
+
+    int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    int totalHits() {
+        return totalHits.get();
+    }
+
+    long bytesSent() {
+        return bytesSent.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getRawPath();
+        int hit = hits.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+        totalHits.incrementAndGet();
+        Response response = responses.getOrDefault(path, new Response(200, "{\"path\":\"" + path + "\"}", 0));
+        Failure failure = failures.get(path);
+        if (failure != null && failure.remaining().getAndDecrement() > 0) {
+            if (failure.retryAfter() != null) {
+                exchange.getResponseHeaders().set("Retry-After", failure.retryAfter());
+            }
+            response = new Response(failure.status(), "{\"error\":" + failure.status() + "}", response.delayMillis());
+        }
+        try {
+            if (response.delayMillis() > 0) {
+                Thread.sleep(response.delayMillis());
+            }
+            Slowness slow = slowness.get(path);
+            if (slow != null && hit % slow.every() == 0) {
+                Thread.sleep(slow.delayMillis());
+            }
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                body = gzip(body);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            bytesSent.addAndGet(body.length);
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private record Response(int status, String body, long delayMillis) {
+    }
+
+    private record Slowness(int every, long delayMillis) {
+    }
+
+    private record Failure(AtomicInteger remaining, int status, String retryAfter) {
+    }
+}
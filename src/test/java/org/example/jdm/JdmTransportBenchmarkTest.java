@@ -0,0 +1,69 @@
+package org.example.jdm;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class JdmTransportBenchmarkTest {
+
+    private static final int REQUESTS = 2_000;
+    private static final int CONCURRENCY = 32;
+
+    /**
+     * Débit et octets transférés contre le serveur local pour chaque configuration de transport.
+     * Le serveur JDK ne parle que HTTP/1.1 en clair : la préférence HTTP/2 y retombe sur 1.1.
+     */
+    @Test
+    @Disabled("Benchmark manuel — ne pas exécuter automatiquement")
+    void benchmarkTransportConfigurations() throws Exception {
+        try (JdmStubServer server = new JdmStubServer()) {
+            for (int i = 0; i < 64; i++) {
+                server.respond("/term/t" + i + "/relations", 200, JdmClientStreamingTest.relationsJson(500), 0);
+            }
+            run(server, "http/1.1", server.config().version(HttpClient.Version.HTTP_1_1).gzip(false));
+            run(server, "http/2 preferred", server.config().gzip(false));
+            run(server, "http/1.1 + gzip", server.config().version(HttpClient.Version.HTTP_1_1));
+            run(server, "http/2 + gzip + 4 threads", server.config().executorThreads(4));
+        }
+    }
+
+    private static void run(JdmStubServer server, String label, JdmTransportConfig.Builder config) throws Exception {
+        JdmClient client = new JdmClient(config.build());
+        for (int i = 0; i < 200; i++) {
+            client.getRelationsRaw("t" + (i % 64)); // chauffe : connexions, JIT
+        }
+        long clientBefore = client.getBytesReceived();
+        long serverBefore = server.bytesSent();
+        long start = System.nanoTime();
+        List<Future<Integer>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                int offset = worker;
+                futures.add(executor.submit(() -> {
+                    int chars = 0;
+                    for (int i = 0; i < REQUESTS / CONCURRENCY; i++) {
+                        chars += client.getRelationsRaw("t" + ((offset + i) % 64)).length();
+                    }
+                    return chars;
+                }));
+            }
+        }
+        long chars = 0;
+        for (Future<Integer> future : futures) {
+            chars += future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int requests = REQUESTS / CONCURRENCY * CONCURRENCY;
+        System.out.printf("%-26s %7.0f req/s  wire=%7.1f KiB/req  decoded=%7.1f KiB/req  server=%7.1f MiB%n",
+                label, requests / seconds,
+                (client.getBytesReceived() - clientBefore) / 1024.0 / requests,
+                chars / 1024.0 / requests,
+                (server.bytesSent() - serverBefore) / (1024.0 * 1024.0));
+    }
+}
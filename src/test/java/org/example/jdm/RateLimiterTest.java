@@ -0,0 +1,32 @@
+package org.example.jdm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void shouldAllowBurstThenPaceAtTheConfiguredRate() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(100, 5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(), "burst permit " + i);
+        }
+        assertFalse(limiter.tryAcquire());
+
+        // 10 permis à 100/s après épuisement du burst : ~100 ms
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis >= 80, "elapsed=" + elapsedMillis);
+        assertTrue(elapsedMillis < 1_000, "elapsed=" + elapsedMillis);
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(10, 0));
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.jdm.graph;
+
+import org.example.cache.GenericConcurrentCache;
+import org.example.jdm.CachedJdmClient;
+import org.example.jdm.JdmApiException;
+import org.example.jdm.JdmClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphExplorerTest {
+
+    /**
+     * Arbre ternaire n0 → n1..n3, n1 → n4..n6… (poids 30, 20, 10), plus une relation réfutée,
+     * une relation entrante et un retour vers le parent qui ne doivent pas être suivis.
+     */
+    private static final class TreeJdmClient extends JdmClient {
+        final ConcurrentHashMap<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public String getAssociationsRaw(String term) {
+            calls.computeIfAbsent(term, t -> new AtomicInteger()).incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (term.equals("n2")) {
+                throw new IllegalStateException("JDM down");
+            }
+            int n = Integer.parseInt(term.substring(1));
+            StringBuilder json = new StringBuilder("{\"nodes\":[{\"id\":").append(n).append(",\"name\":\"").append(term)
+                    .append("\"},{\"id\":-1,\"name\":\"refute\"},{\"id\":-2,\"name\":\"entrant\"}");
+            for (int c = 1; c <= 3; c++) {
+                json.append(",{\"id\":").append(n * 3 + c).append(",\"name\":\"n").append(n * 3 + c).append("\"}");
+            }
+            json.append("],\"relations\":[");
+            for (int c = 1; c <= 3; c++) {
+                json.append("{\"node1\":").append(n).append(",\"node2\":").append(n * 3 + c)
+                        .append(",\"type\":0,\"w\":").append(40 - c * 10).append("},");
+            }
+            json.append("{\"node1\":").append(n).append(",\"node2\":-1,\"type\":0,\"w\":-5},");
+            json.append("{\"node1\":-2,\"node2\":").append(n).append(",\"type\":0,\"w\":99}]}");
+            return json.toString();
+        }
+    }
+
+    private static CachedJdmClient cachedClient(JdmClient jdmClient) {
+        return new CachedJdmClient(jdmClient, GenericConcurrentCache.<String, String>builder().maximumSize(1_000).build());
+    }
+
+    @Test
+    void shouldExpandLevelsInParallelWithoutRevisitingAndSkipFailures() {
+        TreeJdmClient jdmClient = new TreeJdmClient();
+        CachedJdmClient client = cachedClient(jdmClient);
+        GraphExplorer explorer = GraphExplorer.builder(client).maxDepth(3).parallelism(4).build();
+
+        ExplorationResult result = explorer.explore("n0");
+
+        // 3 + 9 + 27 termes, moins les 3 enfants de n2 (en échec) et leurs 9 descendants jamais atteints
+        assertEquals(3 + 6 + 18, result.terms().size());
+        assertEquals(3, result.depth());
+        assertEquals(1, result.failed());
+        assertFalse(result.stoppedEarly());
+        assertEquals(new RelatedTerm("n1", 1, 30f, "n0"), result.terms().get(0));
+        assertTrue(result.terms().stream().noneMatch(t -> t.term().equals("refute") || t.term().equals("entrant")));
+        assertTrue(jdmClient.calls.values().stream().allMatch(c -> c.get() == 1), "each node fetched once");
+        assertTrue(jdmClient.maxInFlight.get() <= 4);
+        assertTrue(jdmClient.maxInFlight.get() > 1, "levels are expanded in parallel");
+
+        // Deuxième exploration : tout vient du cache (n2, en échec, est redemandé)
+        int callsBefore = jdmClient.calls.values().stream().mapToInt(AtomicInteger::get).sum();
+        explorer.explore("n0");
+        int callsAfter = jdmClient.calls.values().stream().mapToInt(AtomicInteger::get).sum();
+        assertEquals(callsBefore + 1, callsAfter);
+    }
+
+    @Test
+    void shouldPruneByWeightAndFanoutAndStopEarlyOnLimit() {
+        TreeJdmClient jdmClient = new TreeJdmClient();
+        CachedJdmClient client = cachedClient(jdmClient);
+
+        ExplorationResult pruned = GraphExplorer.builder(client).maxDepth(2).minWeight(15).fanout(1).build()
+                .explore("n0");
+        assertEquals(List.of(new RelatedTerm("n1", 1, 30f, "n0"), new RelatedTerm("n4", 2, 30f, "n1")), pruned.terms());
+
+        ExplorationResult limited = GraphExplorer.builder(client).maxDepth(3).limit(5).build().explore("n0");
+        assertEquals(5, limited.terms().size());
+        assertEquals(2, limited.depth());
+        assertTrue(limited.stoppedEarly());
+        // Niveau 2 tronqué : ses termes les plus lourds sont gardés
+        assertEquals(30f, limited.terms().get(3).weight());
+        assertEquals(30f, limited.terms().get(4).weight());
+        assertNull(jdmClient.calls.get("n13"), "level 3 never expanded");
+    }
+
+    @Test
+    void shouldFailWhenTheSeedCannotBeRead() {
+        GraphExplorer explorer = GraphExplorer.builder(cachedClient(new TreeJdmClient())).build();
+        assertThrows(JdmApiException.class, () -> explorer.explore("n2"));
+    }
+}
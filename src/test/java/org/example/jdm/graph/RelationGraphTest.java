@@ -0,0 +1,105 @@
+package org.example.jdm.graph;
+
+import org.example.jdm.relation.RelationParser;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelationGraphTest {
+
+    private static final int SYN = 5;
+    private static final int ASSOC = 0;
+
+    @Test
+    void dictionaryShouldInternTermsToDenseStableIds() {
+        TermDictionary dictionary = new TermDictionary(0);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, dictionary.intern("terme" + i));
+        }
+        assertEquals(42, dictionary.intern("terme42"));
+        assertEquals(999, dictionary.id("terme999"));
+        assertEquals(-1, dictionary.id("absent"));
+        assertEquals("terme7", dictionary.name(7));
+
+        TermDictionary copy = dictionary.copy();
+        dictionary.intern("nouveau");
+        assertEquals(-1, copy.id("nouveau"));
+        assertEquals(1_000, copy.size());
+    }
+
+    @Test
+    void builderShouldProduceWeightSortedCsrAndDeduplicateEdges() {
+        RelationGraph.Builder builder = RelationGraph.builder();
+        String json = """
+                {"nodes": [{"id": 1, "name": "chat"}, {"id": 2, "name": "félin"},
+                           {"id": 3, "name": "matou"}, {"id": 4, "name": "souris"}],
+                 "relations": [{"node1": 1, "node2": 2, "type": 5, "w": 40},
+                               {"node1": 1, "node2": 3, "type": 5, "w": 90},
+                               {"node1": 1, "node2": 4, "type": 0, "w": 70},
+                               {"node1": 1, "node2": 99, "type": 0, "w": 10}]}
+                """;
+        assertEquals(3, builder.add(new RelationParser().parse("chat", json)));
+        builder.add("chat", SYN, "félin", 95f); // mise à jour du poids
+        builder.add("félin", SYN, "chat", 80f);
+        RelationGraph graph = builder.build();
+
+        int chat = graph.terms().id("chat");
+        RelationGraph.Adjacency syn = graph.adjacency(SYN);
+        assertEquals(2, syn.degree(chat));
+        assertEquals("félin", graph.terms().name(syn.target(syn.start(chat))));
+        assertEquals(95f, syn.weight(syn.start(chat)));
+        assertEquals("matou", graph.terms().name(syn.target(syn.start(chat) + 1)));
+        assertEquals(1, graph.degree(chat, ASSOC));
+        assertEquals(0, graph.degree(chat, 666));
+        assertArrayEquals(new int[]{ASSOC, SYN}, graph.types());
+        assertEquals(4, graph.edgeCount());
+
+        int[] top = new int[8];
+        assertEquals(1, graph.topK(chat, SYN, 1, top));
+        assertEquals(graph.terms().id("félin"), top[0]);
+
+        // Le builder continue sans modifier le graphe déjà construit
+        builder.add("matou", SYN, "greffier", 30f);
+        assertEquals(4, graph.nodeCount());
+        assertEquals(5, builder.build().nodeCount());
+    }
+
+    @Test
+    void kHopShouldWalkBreadthFirstWithinWeightAndDepthWithoutAllocating() {
+        RelationGraph.Builder builder = RelationGraph.builder();
+        // Chaîne t0 → t1 → … → t99 plus un raccourci faible t0 → t50
+        for (int i = 0; i < 99; i++) {
+            builder.add("t" + i, SYN, "t" + (i + 1), 50f);
+        }
+        builder.add("t0", SYN, "t50", 5f);
+        RelationGraph graph = builder.build();
+        GraphTraversal traversal = graph.traversal();
+        int t0 = graph.terms().id("t0");
+
+        assertEquals(4, traversal.kHop(t0, SYN, 2, 0f)); // t1, t50 puis t2, t51
+        assertEquals("t1", graph.terms().name(traversal.node(0)));
+        assertEquals(1, traversal.depth(0));
+        assertEquals(2, traversal.depth(2));
+        assertEquals(2, traversal.kHop(t0, SYN, 2, 10f), "weak shortcut filtered out");
+        assertEquals(99, traversal.kHop(t0, SYN, 1_000, 0f));
+        assertEquals(0, traversal.kHop(t0, ASSOC, 3, 0f));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int[] top = new int[4];
+        long total = 0;
+        for (int round = 0; round < 3; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 1_000; i++) {
+                total += traversal.kHop(t0, SYN, 50, 0f);
+                total += graph.topK(i % 100, SYN, 4, top);
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            if (round == 2) {
+                assertTrue(allocated < 4_096, "allocated " + allocated + " bytes");
+            }
+        }
+        assertTrue(total > 0);
+    }
+}
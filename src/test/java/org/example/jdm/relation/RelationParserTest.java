@@ -0,0 +1,57 @@
+package org.example.jdm.relation;
+
+import org.example.jdm.JdmApiException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelationParserTest {
+
+    private static final String CHAT = """
+            {"nodes": [
+               {"id": 30, "name": "félin", "type": 1, "w": 50},
+               {"id": 10, "name": "chat", "type": 1, "w": 120, "extra": {"nested": [1, 2, {"x": 3}]}},
+               {"id": 20, "name": "chien", "type": 1, "w": 80}
+             ],
+             "meta": {"count": 3, "tags": ["a", "b"]},
+             "relations": [
+               {"id": 1, "node1": 10, "node2": 30, "type": 6, "w": 95, "creationdate": "2020-01-01"},
+               {"id": 2, "node1": 10, "node2": 20, "type": 0, "w": -12.5},
+               {"id": 3, "node1": 10, "node2": 99, "type": 5, "w": 7}
+             ]}
+            """;
+
+    private final RelationParser parser = new RelationParser();
+
+    @Test
+    void shouldParseRelationsIntoCompactArraysAndResolveNodeNames() {
+        TermRelations relations = parser.parse("chat", CHAT);
+
+        assertEquals("chat", relations.term());
+        assertEquals(3, relations.size());
+        assertEquals(3, relations.nodeCount());
+        assertEquals(10, relations.sourceId(0));
+        assertEquals(30, relations.targetId(0));
+        assertEquals(6, relations.type(0));
+        assertEquals(95f, relations.weight(0));
+        assertEquals(-12.5f, relations.weight(1));
+        assertEquals("félin", relations.target(0));
+        assertNull(relations.target(2), "node 99 is not described");
+        assertEquals(List.of(
+                new Relation("chat", 6, "félin", 95f),
+                new Relation("chat", 0, "chien", -12.5f),
+                new Relation("chat", 5, null, 7f)), relations.relations());
+    }
+
+    @Test
+    void shouldAcceptMissingSectionsAndRejectMalformedJson() {
+        TermRelations empty = parser.parse("rien", "{\"relations\": [], \"other\": null}");
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.nodeCount());
+
+        assertThrows(JdmApiException.class, () -> parser.parse("x", "[1, 2]"));
+        assertThrows(JdmApiException.class, () -> parser.parse("x", "{\"relations\": [{\"node1\": 1,"));
+    }
+}